@@ -0,0 +1,80 @@
+package com.aashiqumar.blucandy;
+
+//BOT PILOT FOR SOAK TESTS: SIDESTEPS ENEMY LASERS HEADING FOR THE SHIP,
+//OTHERWISE LINES UP UNDER THE LOWEST ENEMY AND KEEPS FIRING
+
+public class AutoPilot implements Pilot {
+
+    private static final float DODGE_LOOKAHEAD = 30f; //WORLD UNITS ABOVE THE SHIP
+    private static final float DODGE_MARGIN = 2f;
+    private static final float AIM_TOLERANCE = 1f;
+    private static final float CRUISE_HEIGHT = GameWorld.WORLD_HEIGHT / 6;
+
+    @Override
+    public void fly(GameWorld world, GameInput input)
+    {
+        input.clear();
+
+        PlayerShip playerShip = world.playerShip;
+        float left = playerShip.boundingBox.x - DODGE_MARGIN;
+        float right = playerShip.boundingBox.x + playerShip.boundingBox.width + DODGE_MARGIN;
+        float bottom = playerShip.boundingBox.y;
+        float centerX = world.getPlayerX();
+
+        //DODGE: FIND THE CLOSEST ENEMY LASER ABOUT TO HIT US
+
+        float threatX = 0;
+        float threatDistance = Float.MAX_VALUE;
+
+        for (int i = 0; i < world.enemylaserlist.size; i++)
+        {
+            Lasers laser = world.enemylaserlist.get(i);
+            float laserCenterX = laser.boundingBox.x + laser.boundingBox.width / 2;
+            float distance = laser.boundingBox.y - bottom;
+
+            if (laserCenterX > left && laserCenterX < right && distance > -playerShip.boundingBox.height
+                    && distance < DODGE_LOOKAHEAD && distance < threatDistance)
+            {
+                threatDistance = distance;
+                threatX = laserCenterX;
+            }
+        }
+
+        if (threatDistance != Float.MAX_VALUE)
+        {
+            boolean dodgeRight = threatX < centerX;
+            if (dodgeRight && right >= GameWorld.WORLD_WIDTH) dodgeRight = false;
+            else if (!dodgeRight && left <= 0) dodgeRight = true;
+
+            input.keys |= dodgeRight ? GameInput.KEY_RIGHT : GameInput.KEY_LEFT;
+        }
+        else
+        {
+            //TARGET: LINE UP UNDER THE LOWEST ENEMY
+
+            EnemyShip target = null;
+            for (int i = 0; i < world.enemyShipList.size; i++)
+            {
+                EnemyShip enemyShip = world.enemyShipList.get(i);
+                if (target == null || enemyShip.boundingBox.y < target.boundingBox.y)
+                {
+                    target = enemyShip;
+                }
+            }
+
+            if (target != null)
+            {
+                float targetX = target.boundingBox.x + target.boundingBox.width / 2;
+
+                if (targetX > centerX + AIM_TOLERANCE) input.keys |= GameInput.KEY_RIGHT;
+                else if (targetX < centerX - AIM_TOLERANCE) input.keys |= GameInput.KEY_LEFT;
+            }
+        }
+
+        //HOLD A LOW CRUISING ALTITUDE TO LEAVE ROOM FOR DODGING
+
+        float centerY = world.getPlayerY();
+        if (centerY > CRUISE_HEIGHT + AIM_TOLERANCE) input.keys |= GameInput.KEY_DOWN;
+        else if (centerY < CRUISE_HEIGHT - AIM_TOLERANCE) input.keys |= GameInput.KEY_UP;
+    }
+}
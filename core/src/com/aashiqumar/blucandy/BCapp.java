@@ -1,17 +1,40 @@
 package com.aashiqumar.blucandy;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
-import java.util.Random;
+import com.badlogic.gdx.Gdx;
 
 public class BCapp extends Game {
 
     GameScreen gameScreen;
 
-    public static Random random = new Random();
+    //GPU RESOURCES OF EVERY SCREEN; NOTHING MAY BE LEFT IN IT ONCE THE APP IS DISPOSED
+
+    final ResourceRegistry resources = new ResourceRegistry();
+
+    private final boolean autopilot;
+    private final boolean debug;
+
+    public BCapp() {
+        this(false, false);
+    }
+
+    //WITH AUTOPILOT THE BOT FLIES THE SHIP INSTEAD OF THE KEYBOARD/TOUCH INPUT. DEBUG LOGS AT
+    //DEBUG LEVEL AND TURNS ON THE DEBUG TOOLS (REWIND).
+
+    public BCapp(boolean autopilot, boolean debug) {
+        this.autopilot = autopilot;
+        this.debug = debug;
+    }
+
+    public ResourceRegistry getResources() {
+        return resources;
+    }
 
     @Override
     public void create() {
-        gameScreen = new GameScreen();
+        if (debug) Gdx.app.setLogLevel(Application.LOG_DEBUG);
+        gameScreen = new GameScreen(resources, autopilot);
         setScreen(gameScreen);
     }
 
@@ -19,6 +42,15 @@ public class BCapp extends Game {
     public void dispose() {
         super.dispose();
         gameScreen.dispose();
+
+        if (resources.getLiveCount() > 0)
+        {
+            Gdx.app.error("BCapp", "Resources left after dispose:\n" + resources.report());
+        }
+        else
+        {
+            Gdx.app.debug("BCapp", resources.report());
+        }
     }
 
     @Override
@@ -0,0 +1,129 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+//LARGE ENEMY MADE OF PARTS, EACH WITH ITS OWN HITBOX AND SHIELD. A LASER IS TESTED AGAINST
+//THE SHIP'S BOUNDING BOX FIRST (THE ROOT OF ITS HITBOX HIERARCHY) AND ONLY THEN AGAINST THE
+//PARTS. THE TURRETS FIRE WHILE THEY LAST; THE CORE IS THE WEAK POINT, BUT IT TAKES NO DAMAGE
+//WHILE A SHIELD GENERATOR IS LEFT. THE SHIP IS DESTROYED WITH ITS CORE.
+
+class BossShip extends Ship {
+
+    //LAYOUT, RELATIVE TO THE BOUNDING BOX. PARTS ARE LISTED IN THE ORDER THEY TAKE A HIT THAT
+    //TOUCHES SEVERAL OF THEM: TURRETS AND GENERATORS BEFORE THE ARMOUR, THE CORE LAST.
+
+    static final float WIDTH = 36, HEIGHT = 18;
+
+    static final int PART_LEFT_TURRET = 0;
+    static final int PART_RIGHT_TURRET = 1;
+    static final int PART_LEFT_GENERATOR = 2;
+    static final int PART_RIGHT_GENERATOR = 3;
+    static final int PART_LEFT_WING = 4;
+    static final int PART_RIGHT_WING = 5;
+    static final int PART_CORE = 6;
+
+    static final HitboxHierarchy HITBOXES = new HitboxHierarchy(new float[] {
+            0, 0, 6, 6,
+            30, 0, 6, 6,
+            4, 7, 7, 6,
+            25, 7, 7, 6,
+            4, 13, 12, 5,
+            20, 13, 12, 5,
+            13, 3, 10, 10
+    });
+
+    private static final int[] PART_SHIELDS = {3, 3, 4, 4, 6, 6, 8};
+
+    private static final long GENERATORS = 1L << PART_LEFT_GENERATOR | 1L << PART_RIGHT_GENERATOR;
+
+    final int[] partShields = new int[PART_SHIELDS.length];
+    long liveParts;
+    float directionX; //-1 OR 1, IT SLIDES FROM SIDE TO SIDE
+
+    private final Rectangle part = new Rectangle();
+
+    public BossShip(float movementSpeed, float laserWidth, float laserHeight, float laserMovementSpeed, float timeBetweenShots,
+                    TextureRegion shipTextureRegion, TextureRegion shieldTextureRegion, TextureRegion laserTextureRegion)
+    {
+        super(movementSpeed, 0, WIDTH, HEIGHT, 0, 0,
+                laserMovementSpeed, laserWidth, laserHeight, timeBetweenShots, shipTextureRegion, shieldTextureRegion, laserTextureRegion);
+    }
+
+    public void spawn(float xCenter, float y, int serial)
+    {
+        boundingBox.setPosition(xCenter - WIDTH / 2, y);
+        this.serial = serial;
+        System.arraycopy(PART_SHIELDS, 0, partShields, 0, PART_SHIELDS.length);
+        liveParts = HITBOXES.allParts();
+        directionX = 1;
+    }
+
+    //PART HIT BY THE RECTANGLE, OR -1
+
+    int hitPart(Rectangle other)
+    {
+        if (!boundingBox.overlaps(other)) return -1;
+
+        return HITBOXES.firstHit(boundingBox.x, boundingBox.y, other, liveParts);
+    }
+
+    @Override
+    public boolean intersects(Rectangle otherRectangle)
+    {
+        return hitPart(otherRectangle) >= 0;
+    }
+
+    //RETURNS TRUE WHEN THE HIT DESTROYS THE WHOLE SHIP
+
+    boolean hitPartAndCheckDestroy(int part)
+    {
+        if (part == PART_CORE && (liveParts & GENERATORS) != 0) return false;
+
+        if (partShields[part] > 0)
+        {
+            partShields[part]--;
+            return false;
+        }
+
+        liveParts &= ~(1L << part);
+        return part == PART_CORE;
+    }
+
+    @Override
+    public boolean hitAndCheckDestroy()
+    {
+        return hitPartAndCheckDestroy(PART_CORE);
+    }
+
+    @Override
+    public void fireLasers(Array<Lasers> lasers, Pool<Lasers> laserPool)
+    {
+        for (int turret = PART_LEFT_TURRET; turret <= PART_RIGHT_TURRET; turret++)
+        {
+            if ((liveParts & 1L << turret) == 0) continue;
+
+            HITBOXES.getPart(turret, boundingBox.x, boundingBox.y, part);
+            lasers.add(laserPool.obtain().set(part.x + part.width / 2, part.y - laserHeight, laserWidth, laserHeight,
+                    laserMovementSpeed, laserTextureRegion));
+        }
+    }
+
+    @Override
+    public void draw(RenderQueue renderQueue)
+    {
+        int depth = RenderQueue.depthOf(boundingBox.y);
+
+        for (int i = 0; i < HITBOXES.getPartCount(); i++)
+        {
+            if ((liveParts & 1L << i) == 0) continue;
+
+            HITBOXES.getPart(i, boundingBox.x, boundingBox.y, part);
+            boolean generator = i == PART_LEFT_GENERATOR || i == PART_RIGHT_GENERATOR;
+            renderQueue.submit(generator ? RenderQueue.LAYER_SHIELDS : RenderQueue.LAYER_SHIPS, depth,
+                    generator ? shieldTextureRegion : shipTextureRegion, part.x, part.y, part.width, part.height);
+        }
+    }
+}
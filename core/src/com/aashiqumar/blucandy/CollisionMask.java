@@ -0,0 +1,59 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.math.Rectangle;
+
+//SHAPE OF A SPRITE AS A 64x64 BITMAP STRETCHED OVER THE SHIP'S BOUNDING BOX, ONE long PER
+//ROW (ROW 0 AT THE BOTTOM, BIT 0 AT THE LEFT). A CELL IS SET IF ANY OPAQUE PIXEL OF THE
+//SPRITE FALLS IN IT. THE MASKS ARE GENERATED FROM THE ATLAS ALPHA BY CollisionMaskGenerator
+//INTO CollisionMaskData, SO HEADLESS WORLDS COLLIDE EXACTLY LIKE THE GAME.
+
+public class CollisionMask {
+
+    public static final int SIZE = 64;
+
+    private final long[] rows;
+
+    public CollisionMask(long[] rows)
+    {
+        if (rows.length != SIZE)
+        {
+            throw new IllegalArgumentException("A collision mask has " + SIZE + " rows, not " + rows.length);
+        }
+        this.rows = rows;
+    }
+
+    //NARROW PHASE, FOR A RECTANGLE ALREADY KNOWN TO OVERLAP THE BOX: AND EVERY ROW THE
+    //RECTANGLE COVERS WITH THE BITS OF THE COLUMNS IT COVERS. CELLS THE RECTANGLE ONLY
+    //PARTLY COVERS COUNT, SO A HIT IS NEVER MISSED BY ROUNDING.
+
+    public boolean overlaps(Rectangle box, Rectangle other)
+    {
+        float scaleX = SIZE / box.width, scaleY = SIZE / box.height;
+
+        int firstColumn = Math.max((int) Math.floor((other.x - box.x) * scaleX), 0);
+        int lastColumn = Math.min((int) Math.ceil((other.x + other.width - box.x) * scaleX) - 1, SIZE - 1);
+        int firstRow = Math.max((int) Math.floor((other.y - box.y) * scaleY), 0);
+        int lastRow = Math.min((int) Math.ceil((other.y + other.height - box.y) * scaleY) - 1, SIZE - 1);
+
+        if (firstColumn > lastColumn || firstRow > lastRow) return false;
+
+        long columns = (-1L >>> (SIZE - 1 - (lastColumn - firstColumn))) << firstColumn;
+        for (int r = firstRow; r <= lastRow; r++)
+        {
+            if ((rows[r] & columns) != 0) return true;
+        }
+        return false;
+    }
+
+    //FRACTION OF THE BOX THE SHAPE COVERS
+
+    public float coverage()
+    {
+        int cells = 0;
+        for (long row : rows)
+        {
+            cells += Long.bitCount(row);
+        }
+        return (float) cells / (SIZE * SIZE);
+    }
+}
@@ -0,0 +1,44 @@
+package com.aashiqumar.blucandy;
+
+//GENERATED BY CollisionMaskGenerator FROM THE ALPHA OF images.atlas, DO NOT EDIT
+
+public class CollisionMaskData {
+
+    public static final CollisionMask PLAYER_SHIP = new CollisionMask(new long[] {
+            0x0000007FFF000000L, 0x0000007FFF000000L, 0x003000FFFF000C00L, 0x003E00FFFF803E00L,
+            0x003F81FFFF81FE00L, 0x007FFDFFFFDFFF00L, 0x007FFFFFFFFFFF00L, 0x00FFFFFFFFFFFF00L,
+            0x01FFFFFFFFFFFF80L, 0x01FFFFFFFFFFFF80L, 0x01FFFFFFFFFFFFC0L, 0x03FFFFFFFFFFFFC0L,
+            0x03FFFFFFFFFFFFE0L, 0x03FFFFFFFFFFFFE0L, 0x07FFFFFFFFFFFFE0L, 0x07FFFFFFFFFFFFF0L,
+            0x07FFFFFFFFFFFFF0L, 0x1FFFFFFFFFFFFFF8L, 0x1FFFFFFFFFFFFFFCL, 0x1FFFFFFFFFFFFFFCL,
+            0x1FFFFFFFFFFFFFFCL, 0x3FFFFFFFFFFFFFFEL, 0x3FFFFFFFFFFFFFFEL, 0x7FFFFFFFFFFFFFFEL,
+            0x7FFFFFFFFFFFFFFFL, 0x7FFFFFFFFFFFFFFFL, 0x7FFFFFFFFFFFFFFFL, 0x7FFFFFFFFFFFFFFFL,
+            0x7FFFFFFFFFFFFFFFL, 0x3FFFFFFFFFFFFFFEL, 0x07FFFFFFFFFFFFF0L, 0x01FFFFFFFFFFFF80L,
+            0x007FFFFFFFFFFF00L, 0x003FFFFFFFFFFE00L, 0x001FFFFFFFFFFC00L, 0x0007FFFFFFFFE000L,
+            0x0003FFFFFFFFE000L, 0x0001FFFFFFFFC000L, 0x0000FFFFFFFF0000L, 0x00007FFFFFFE0000L,
+            0x00003FFFFFFC0000L, 0x000007FFFFF00000L, 0x000003FFFFE00000L, 0x000001FFFFC00000L,
+            0x000001FFFF800000L, 0x000000FFFF800000L, 0x000000FFFF000000L, 0x0000003FFE000000L,
+            0x0000003FFC000000L, 0x0000001FFC000000L, 0x0000001FFC000000L, 0x0000001FFC000000L,
+            0x0000001FFC000000L, 0x0000001FF8000000L, 0x0000000FF8000000L, 0x0000000FF0000000L,
+            0x00000007F0000000L, 0x00000007F0000000L, 0x00000007F0000000L, 0x00000007E0000000L,
+            0x00000007E0000000L, 0x00000003E0000000L, 0x00000003E0000000L, 0x00000003C0000000L
+    }); //playerShip2_orange
+
+    public static final CollisionMask ENEMY_SHIP = new CollisionMask(new long[] {
+            0x0001E0000003C000L, 0x0001F800000FE000L, 0x0003FE00003FE000L, 0x0003FF8000FFE000L,
+            0x0007FF8000FFE000L, 0x0007FF8000FFE000L, 0x0007FF8000FFF000L, 0x0007FF00007FF800L,
+            0x000FFF00007FF800L, 0x000FFF00007FF800L, 0x001FFE00007FF800L, 0x001FFE00007FF800L,
+            0x001FFE00007FFC00L, 0x001FFE00003FFE00L, 0x003FFE00003FFE00L, 0x003FFE00001FFE00L,
+            0x007FFC00001FFF00L, 0x007FFC00001FFF00L, 0x00FFFC00000FFF00L, 0x00FFF8FFFF8FFF80L,
+            0x00FFF8FFFF8FFF80L, 0x00FFF0FFFFCFFF80L, 0x01FFF1FFFFCFFFC0L, 0x01FFF3FFFFCFFFC0L,
+            0x03FFFFFFFFFFFFC0L, 0x03FFFFFFFFFFFFE0L, 0x03FFFFFFFFFFFFE0L, 0x03FFFFFFFFFFFFE0L,
+            0x07FFFFFFFFFFFFF0L, 0x07FFFFFFFFFFFFF0L, 0x0FFFFFFFFFFFFFF0L, 0x0FFFFFFFFFFFFFF0L,
+            0x0FFFFFFFFFFFFFF8L, 0x0FFFFFFFFFFFFFF8L, 0x0FFFFFFFFFFFFFFCL, 0x1FFFFFFFFFFFFFFCL,
+            0x3FFFFFFFFFFFFFFCL, 0x3FFFFFFFFFFFFFFCL, 0x3FFFFFFFFFFFFFFEL, 0x3FFFFFFFFFFFFFFEL,
+            0x3FFFFFFFFFFFFFFFL, 0x7FFFFFFFFFFFFFFFL, 0xFFFFFFFFFFFFFFFFL, 0xFFFFFFFFFFFFFFFFL,
+            0xFFFFFFFFFFFFFFFFL, 0x3FFFFFFFFFFFFFFFL, 0x3FFFFFFFFFFFFFFEL, 0x3FFFFFFFFFFFFFFCL,
+            0x1FFFFFFFFFFFFFFCL, 0x0FFFFFE003FFFFF8L, 0x0FFFFFE001FFFFF8L, 0x0FFFFFE001FFFFF0L,
+            0x03FFFFC001FFFFF0L, 0x03FFFFC001FFFFE0L, 0x03FFFFC001FFFFC0L, 0x01FFFF8001FFFFC0L,
+            0x00FFFF8001FFFF80L, 0x00FFFF8000FFFF80L, 0x007FFC00001FFF00L, 0x003FF000000FFE00L,
+            0x003FE0000003FE00L, 0x001F000000007800L, 0x000C000000003800L, 0x0000000000000000L
+    }); //enemyRed1
+}
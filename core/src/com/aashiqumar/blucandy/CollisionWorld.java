@@ -0,0 +1,260 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+//COLLIDERS REGISTERED FOR ONE TICK, EACH WITH A CATEGORY BIT AND A MASK OF THE CATEGORIES IT
+//COLLIDES WITH; TWO COLLIDERS TOUCH ONLY IF EACH ONE'S CATEGORY IS IN THE OTHER'S MASK.
+//computeContacts FINDS EVERY TOUCHING PAIR IN ONE PASS OVER A UNIFORM GRID (REBUILT WITH A
+//COUNTING SORT, A PAIR IS ONLY REPORTED IN THE CELL HOLDING THE CORNER WHERE THEIR OVERLAP
+//STARTS, SO NEVER TWICE) AND STORES THEM IN A PREALLOCATED BATCH THAT GAMEPLAY CONSUMES
+//AFTERWARDS. CONTACTS ARE SORTED BY THE ORDER THE COLLIDERS WERE ADDED, THE EARLIER ONE
+//FIRST, SO THE RESULT NEVER DEPENDS ON THE GRID.
+
+class CollisionWorld {
+
+    private final float inverseCellSize;
+    private final int columns, rows;
+
+    //COLLIDERS, IN THE ORDER THEY WERE ADDED. BOXES ARE THE OWNERS' OWN RECTANGLES, THEY
+    //MUST NOT MOVE BETWEEN add AND THE END OF THE TICK'S CONTACT PROCESSING.
+
+    private Object[] owners;
+    private Rectangle[] boxes;
+    private CollisionMask[] shapes;
+    private int[] categories, masks;
+    private boolean[] removed;
+    private int[] cellRanges; //FIRST COLUMN, LAST COLUMN, FIRST ROW, LAST ROW
+    private int size = 0;
+
+    //CELL CONTENTS: COLLIDERS OF CELL c ARE members[cellStarts[c] .. cellStarts[c + 1])
+
+    private final int[] cellStarts;
+    private int[] members;
+
+    //CONTACT BATCH: EARLIER COLLIDER << 32 | LATER COLLIDER
+
+    private long[] contacts;
+    private int contactCount = 0;
+
+    CollisionWorld(float cellSize, float worldWidth, float worldHeight, int capacity)
+    {
+        inverseCellSize = 1 / cellSize;
+        columns = (int) Math.ceil(worldWidth / cellSize);
+        rows = (int) Math.ceil(worldHeight / cellSize);
+        cellStarts = new int[columns * rows + 1];
+
+        owners = new Object[capacity];
+        boxes = new Rectangle[capacity];
+        shapes = new CollisionMask[capacity];
+        categories = new int[capacity];
+        masks = new int[capacity];
+        removed = new boolean[capacity];
+        cellRanges = new int[capacity * 4];
+        members = new int[capacity * 2];
+        contacts = new long[capacity];
+    }
+
+    void clear()
+    {
+        Arrays.fill(owners, 0, size, null);
+        Arrays.fill(boxes, 0, size, null);
+        Arrays.fill(shapes, 0, size, null);
+        size = 0;
+        contactCount = 0;
+    }
+
+    //RETURNS THE COLLIDER. shape IS AN OPTIONAL NARROW PHASE OVER THE BOX, NULL FOR THE WHOLE BOX.
+
+    int add(Object owner, Rectangle box, CollisionMask shape, int category, int mask)
+    {
+        if (size == owners.length)
+        {
+            int capacity = size * 2;
+            owners = Arrays.copyOf(owners, capacity);
+            boxes = Arrays.copyOf(boxes, capacity);
+            shapes = Arrays.copyOf(shapes, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            masks = Arrays.copyOf(masks, capacity);
+            removed = Arrays.copyOf(removed, capacity);
+            cellRanges = Arrays.copyOf(cellRanges, capacity * 4);
+        }
+        owners[size] = owner;
+        boxes[size] = box;
+        shapes[size] = shape;
+        categories[size] = category;
+        masks[size] = mask;
+        removed[size] = false;
+        return size++;
+    }
+
+    void computeContacts()
+    {
+        //COUNT, THEN PREFIX SUM, THEN PLACE
+
+        Arrays.fill(cellStarts, 0);
+        int entries = 0;
+        for (int i = 0; i < size; i++)
+        {
+            Rectangle box = boxes[i];
+            int firstColumn = column(box.x), lastColumn = column(box.x + box.width);
+            int firstRow = row(box.y), lastRow = row(box.y + box.height);
+            cellRanges[i * 4] = firstColumn;
+            cellRanges[i * 4 + 1] = lastColumn;
+            cellRanges[i * 4 + 2] = firstRow;
+            cellRanges[i * 4 + 3] = lastRow;
+
+            for (int r = firstRow; r <= lastRow; r++)
+            {
+                for (int c = firstColumn; c <= lastColumn; c++)
+                {
+                    cellStarts[r * columns + c + 1]++;
+                }
+            }
+            entries += (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1);
+        }
+        for (int c = 1; c < cellStarts.length; c++)
+        {
+            cellStarts[c] += cellStarts[c - 1];
+        }
+
+        if (members.length < entries)
+        {
+            members = new int[entries * 2];
+        }
+        for (int i = 0; i < size; i++)
+        {
+            for (int r = cellRanges[i * 4 + 2]; r <= cellRanges[i * 4 + 3]; r++)
+            {
+                for (int c = cellRanges[i * 4]; c <= cellRanges[i * 4 + 1]; c++)
+                {
+                    members[cellStarts[r * columns + c]++] = i;
+                }
+            }
+        }
+        for (int c = cellStarts.length - 1; c > 0; c--)
+        {
+            cellStarts[c] = cellStarts[c - 1];
+        }
+        cellStarts[0] = 0;
+
+        //PAIRS WITHIN EACH CELL
+
+        contactCount = 0;
+        for (int cell = 0; cell < cellStarts.length - 1; cell++)
+        {
+            int end = cellStarts[cell + 1];
+            for (int m = cellStarts[cell]; m < end; m++)
+            {
+                int a = members[m];
+                int categoryA = categories[a], maskA = masks[a];
+                if (maskA == 0) continue;
+
+                for (int n = m + 1; n < end; n++)
+                {
+                    int b = members[n];
+                    if ((categoryA & masks[b]) == 0 || (categories[b] & maskA) == 0) continue;
+
+                    Rectangle boxA = boxes[a], boxB = boxes[b];
+                    if (!boxA.overlaps(boxB)) continue;
+
+                    //ONLY IN THE CELL OF THE OVERLAP'S LOWER LEFT CORNER
+
+                    int cornerCell = row(Math.max(boxA.y, boxB.y)) * columns + column(Math.max(boxA.x, boxB.x));
+                    if (cornerCell != cell) continue;
+
+                    if (shapes[a] != null && !shapes[a].overlaps(boxA, boxB)) continue;
+                    if (shapes[b] != null && !shapes[b].overlaps(boxB, boxA)) continue;
+
+                    addContact(a, b);
+                }
+            }
+        }
+
+        sortContacts();
+    }
+
+    private void addContact(int a, int b)
+    {
+        if (contactCount == contacts.length)
+        {
+            contacts = Arrays.copyOf(contacts, contactCount * 2);
+        }
+        contacts[contactCount++] = (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+
+    private void sortContacts()
+    {
+        //INSERTION SORT, ONLY A HANDFUL OF CONTACTS HAPPEN ON ANY TICK
+
+        for (int i = 1; i < contactCount; i++)
+        {
+            long contact = contacts[i];
+            int j = i - 1;
+            while (j >= 0 && contacts[j] > contact)
+            {
+                contacts[j + 1] = contacts[j];
+                j--;
+            }
+            contacts[j + 1] = contact;
+        }
+    }
+
+    int getContactCount()
+    {
+        return contactCount;
+    }
+
+    //THE COLLIDER ADDED FIRST / LAST OF CONTACT i
+
+    int getFirst(int contact)
+    {
+        return (int) (contacts[contact] >>> 32);
+    }
+
+    int getSecond(int contact)
+    {
+        return (int) contacts[contact];
+    }
+
+    Object getOwner(int collider)
+    {
+        return owners[collider];
+    }
+
+    Rectangle getBox(int collider)
+    {
+        return boxes[collider];
+    }
+
+    //A REMOVED COLLIDER (E.G. A LASER THAT ALREADY HIT SOMETHING) STAYS IN THE BATCH, SO
+    //CONSUMERS SKIP ITS LATER CONTACTS
+
+    void remove(int collider)
+    {
+        removed[collider] = true;
+    }
+
+    boolean isRemoved(int collider)
+    {
+        return removed[collider];
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    //(int) ROUNDS TOWARDS ZERO, WHICH ONLY DIFFERS FROM floor BELOW 0 WHERE BOTH ARE CLAMPED
+
+    private int column(float x)
+    {
+        return Math.min(Math.max((int) (x * inverseCellSize), 0), columns - 1);
+    }
+
+    private int row(float y)
+    {
+        return Math.min(Math.max((int) (y * inverseCellSize), 0), rows - 1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.ai.steer.Steerable;
+import com.badlogic.gdx.ai.steer.SteeringAcceleration;
+import com.badlogic.gdx.ai.steer.SteeringBehavior;
+import com.badlogic.gdx.ai.steer.behaviors.BlendedSteering;
+import com.badlogic.gdx.ai.steer.behaviors.Cohesion;
+import com.badlogic.gdx.ai.steer.behaviors.Pursue;
+import com.badlogic.gdx.ai.steer.behaviors.Separation;
+import com.badlogic.gdx.math.Vector2;
+
+//GROUP STEERING FOR ENEMIES THAT ARE NOT ON A FORMATION PATH: KEEP APART FROM NEIGHBOURS,
+//STAY WITH THE GROUP, HUNT A POINT ABOVE THE PLAYER AND DRIFT ALONG THE SHIP'S RANDOM
+//HEADING, WHICH THE DIRECTION TIMER STILL CHANGES. NEIGHBOURS COME FROM A ProximityGrid.
+
+class EnemyFlocking {
+
+    static final float NEIGHBOUR_RADIUS = 14;
+    static final float HOVER_HEIGHT = 48; //ABOVE THE PLAYER
+    static final float MAX_ACCELERATION = 60;
+
+    private static final float SEPARATION_WEIGHT = 3;
+    private static final float COHESION_WEIGHT = 0.5f;
+    private static final float PURSUE_WEIGHT = 1;
+    private static final float DRIFT_WEIGHT = 1;
+    private static final float MAX_PREDICTION_TIME = 0.5f;
+
+    private final SteeringBehavior<Vector2> behaviour;
+    private final SteeringAcceleration<Vector2> acceleration = new SteeringAcceleration<>(new Vector2());
+
+    EnemyFlocking(EnemyShip enemyShip, ProximityGrid grid, Steerable<Vector2> target)
+    {
+        ShipSteerable steerable = enemyShip.steerable;
+        ProximityGrid.Query neighbours = grid.new Query(steerable);
+
+        behaviour = new BlendedSteering<>(steerable)
+                .add(new Separation<>(steerable, neighbours), SEPARATION_WEIGHT)
+                .add(new Cohesion<>(steerable, neighbours), COHESION_WEIGHT)
+                .add(new Pursue<>(steerable, target, MAX_PREDICTION_TIME), PURSUE_WEIGHT)
+                .add(new Drift(steerable, enemyShip.directionVector), DRIFT_WEIGHT);
+    }
+
+    //ACCELERATES THE SHIP'S VELOCITY FOR delta SECONDS AND RETURNS IT
+
+    Vector2 steer(ShipSteerable steerable, float delta)
+    {
+        behaviour.calculateSteering(acceleration);
+
+        return steerable.linearVelocity.mulAdd(acceleration.linear, delta).limit(steerable.getMaxLinearSpeed());
+    }
+
+    //FULL ACCELERATION ALONG A HEADING
+
+    private static class Drift extends SteeringBehavior<Vector2> {
+
+        private final Vector2 heading;
+
+        Drift(Steerable<Vector2> owner, Vector2 heading)
+        {
+            super(owner);
+            this.heading = heading;
+        }
+
+        @Override
+        protected SteeringAcceleration<Vector2> calculateRealSteering(SteeringAcceleration<Vector2> steering) {
+            steering.linear.set(heading).scl(getActualLimiter().getMaxLinearAcceleration());
+            steering.angular = 0;
+            return steering;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.math.CatmullRomSpline;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+
+//FORMATION FLIGHT PATH, COMPILED ONCE INTO A TABLE OF POINTS EVENLY SPACED ALONG ITS
+//LENGTH. AN ENEMY ONLY ADVANCES ITS DISTANCE ALONG THE PATH (SPEED * TIME) AND SAMPLES THE
+//TABLE WITH A LINEAR INTERPOLATION, SO FOLLOWING A PATH COSTS NO TRIGONOMETRY AND THE
+//SPEED IS THE SAME ON EVERY PART OF THE CURVE. POINTS ARE OFFSETS FROM THE SPAWN POINT.
+
+class EnemyPath {
+
+    private static final float SAMPLE_SPACING = 0.5f; //WORLD UNITS
+    private static final int CURVE_STEPS = 1024;
+
+    //FORMATIONS, COMPILED WHEN THE FIRST WORLD IS CREATED AND SHARED BY ALL WORLDS
+
+    static final EnemyPath[] FORMATIONS = {
+            sweep(), dive(), loop(), zigzag()
+    };
+
+    abstract static class Curve {
+        abstract void valueAt(Vector2 out, float t);
+    }
+
+    private final float[] xs, ys;
+    private final float length;
+    private float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+
+    EnemyPath(Curve curve)
+    {
+        //MEASURE THE CURVE WITH A FINE POLYLINE
+
+        float[] curveXs = new float[CURVE_STEPS + 1];
+        float[] curveYs = new float[CURVE_STEPS + 1];
+        float[] distances = new float[CURVE_STEPS + 1];
+        Vector2 point = new Vector2();
+
+        for (int i = 0; i <= CURVE_STEPS; i++)
+        {
+            curve.valueAt(point, (float) i / CURVE_STEPS);
+            curveXs[i] = point.x;
+            curveYs[i] = point.y;
+            if (i > 0)
+            {
+                distances[i] = distances[i - 1] + Vector2.dst(curveXs[i - 1], curveYs[i - 1], point.x, point.y);
+            }
+        }
+        length = distances[CURVE_STEPS];
+
+        //RESAMPLE IT AT EVEN ARC LENGTH
+
+        int samples = (int) (length / SAMPLE_SPACING) + 2;
+        xs = new float[samples];
+        ys = new float[samples];
+
+        int segment = 0;
+        for (int i = 0; i < samples; i++)
+        {
+            float distance = Math.min(i * SAMPLE_SPACING, length);
+            while (segment < CURVE_STEPS - 1 && distances[segment + 1] < distance)
+            {
+                segment++;
+            }
+
+            float segmentLength = distances[segment + 1] - distances[segment];
+            float alpha = segmentLength > 0 ? (distance - distances[segment]) / segmentLength : 0;
+            xs[i] = curveXs[segment] + (curveXs[segment + 1] - curveXs[segment]) * alpha;
+            ys[i] = curveYs[segment] + (curveYs[segment + 1] - curveYs[segment]) * alpha;
+
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+        }
+    }
+
+    float getLength()
+    {
+        return length;
+    }
+
+    boolean isFinished(float distance)
+    {
+        return distance >= length;
+    }
+
+    //LOWEST AND HIGHEST SPAWN X THAT KEEPS THE WHOLE PATH (MIRRORED OR NOT) IN THE WORLD
+
+    float minOriginX(float margin)
+    {
+        return Math.max(-minX, maxX) + margin;
+    }
+
+    float maxOriginX(float worldWidth, float margin)
+    {
+        return worldWidth - Math.max(-minX, maxX) - margin;
+    }
+
+    void sample(float distance, Vector2 out)
+    {
+        float index = MathUtils.clamp(distance, 0, length) / SAMPLE_SPACING;
+        int i = Math.min((int) index, xs.length - 2);
+        float alpha = index - i;
+
+        out.x = xs[i] + (xs[i + 1] - xs[i]) * alpha;
+        out.y = ys[i] + (ys[i + 1] - ys[i]) * alpha;
+    }
+
+    //UNIT DIRECTION OF THE LAST STRETCH, SO A SHIP CAN KEEP GOING WHEN THE PATH ENDS
+
+    void endDirection(Vector2 out)
+    {
+        int last = xs.length - 1;
+        int before = Math.max(0, last - 4);
+        out.set(xs[last] - xs[before], ys[last] - ys[before]).nor();
+        if (out.isZero())
+        {
+            out.set(0, -1);
+        }
+    }
+
+    //SINE SWEEP DOWN TO THE MIDDLE OF THE UPPER HALF
+
+    private static EnemyPath sweep()
+    {
+        return new EnemyPath(new Curve() {
+            @Override
+            void valueAt(Vector2 out, float t) {
+                out.set(16 * MathUtils.sin(3 * MathUtils.PI * t), -56 * t);
+            }
+        });
+    }
+
+    //DIVE TOWARDS THE PLAYER'S HALF AND PULL BACK UP TO THE SIDE
+
+    private static EnemyPath dive()
+    {
+        final CatmullRomSpline<Vector2> spline = new CatmullRomSpline<>(new Vector2[] {
+                new Vector2(0, 10), new Vector2(0, 0), new Vector2(0, -24), new Vector2(6, -52),
+                new Vector2(16, -58), new Vector2(26, -40), new Vector2(26, -18), new Vector2(26, -8)
+        }, false);
+
+        return new EnemyPath(new Curve() {
+            @Override
+            void valueAt(Vector2 out, float t) {
+                spline.valueAt(out, t);
+            }
+        });
+    }
+
+    //SHORT DROP, THEN A FULL LOOP
+
+    private static EnemyPath loop()
+    {
+        return new EnemyPath(new Curve() {
+            @Override
+            void valueAt(Vector2 out, float t) {
+                if (t < 0.25f)
+                {
+                    out.set(0, -24 * t / 0.25f);
+                }
+                else
+                {
+                    float angle = (t - 0.25f) / 0.75f * MathUtils.PI2;
+                    out.set(-12 + 12 * MathUtils.cos(angle), -24 - 12 * MathUtils.sin(angle));
+                }
+            }
+        });
+    }
+
+    //STRAIGHT ZIGZAG LEGS
+
+    private static EnemyPath zigzag()
+    {
+        final float[] corners = {0, 0, 14, -14, -14, -28, 14, -42, 0, -56};
+
+        return new EnemyPath(new Curve() {
+            @Override
+            void valueAt(Vector2 out, float t) {
+                int legs = corners.length / 2 - 1;
+                int leg = Math.min((int) (t * legs), legs - 1);
+                float alpha = t * legs - leg;
+                out.set(corners[leg * 2] + (corners[leg * 2 + 2] - corners[leg * 2]) * alpha,
+                        corners[leg * 2 + 1] + (corners[leg * 2 + 3] - corners[leg * 2 + 1]) * alpha);
+            }
+        });
+    }
+}
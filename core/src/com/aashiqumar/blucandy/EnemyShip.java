@@ -1,15 +1,43 @@
 package com.aashiqumar.blucandy;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Random;
 
 class EnemyShip extends Ship {
 
     Vector2 directionVector;
-    float timeSinceLastDChange = 0;
     float directionCFrequency= 0.75f;
 
+    //NEXT DIRECTION CHANGE, SCHEDULED ON THE WORLD'S TIMER WHEEL
+
+    long nextDirectionChangeTick;
+    int directionTimer = TimerWheel.NONE;
+
+    int lodPendingTicks; //TICKS NOT YET MOVED, SEE SimulationLod
+
+    boolean destroyed; //SET WHEN KILLED, SO QUERIES ON THIS TICK'S SPATIAL INDEX SKIP IT
+
+    //FORMATION PATH BEING FOLLOWED (INDEX INTO EnemyPath.FORMATIONS), NONE WHEN WANDERING
+
+    static final int NO_PATH = -1;
+
+    int path = NO_PATH;
+    boolean pathMirrored;
+    float pathDistance;
+    float pathOriginX, pathOriginY;
+
+    //GROUP STEERING WHEN NOT ON A PATH, SET UP BY THE WORLD THAT POOLS THE SHIP
+
+    ShipSteerable steerable;
+    EnemyFlocking flocking;
+
+    private Random random;
+
     public EnemyShip(float movementSpeed,
                      int shield,
                      float laserWidth,
@@ -20,12 +48,27 @@ class EnemyShip extends Ship {
                      float height,
                      float xCenter,
                      float yCenter,
-                      TextureRegion shipTextureRegion, TextureRegion shieldTextureRegion, TextureRegion laserTextureRegion) {
+                      TextureRegion shipTextureRegion, TextureRegion shieldTextureRegion, TextureRegion laserTextureRegion,
+                     Random random) {
         super(movementSpeed, shield, width, height, xCenter, yCenter,
                 laserMovementSpeed, laserWidth, laserHeight, timeBetweenShots, shipTextureRegion, shieldTextureRegion, laserTextureRegion);
 
         directionVector = new Vector2(0, -1);
+        this.random = random;
+
+    }
+
+    //REUSE A POOLED SHIP FOR A NEW SPAWN
 
+    public void spawn(float xCenter, float yCenter, int shield, int serial)
+    {
+        boundingBox.setPosition(xCenter - boundingBox.width/2, yCenter - boundingBox.width/2);
+        this.shield = shield;
+        this.serial = serial;
+        lodPendingTicks = 0;
+        destroyed = false;
+        path = NO_PATH;
+        directionVector.set(0, -1);
     }
 
     public Vector2 getDirectionVector()
@@ -33,49 +76,42 @@ class EnemyShip extends Ship {
         return directionVector;
     }
 
-    private void randomizeDirectionVector()
+    public void followPath(int path, boolean mirrored)
     {
-        double bearing = BCapp.random.nextDouble() * 6.283185; // 0 to 2*pi (22/7)
-
-        directionVector.x = (float)Math.sin(bearing);
-        directionVector.y = (float)Math.cos(bearing);
+        this.path = path;
+        pathMirrored = mirrored;
+        pathDistance = 0;
+        pathOriginX = boundingBox.x + boundingBox.width / 2;
+        pathOriginY = boundingBox.y + boundingBox.height / 2;
     }
 
-    @Override
-    public void update(float delta) {
-        super.update(delta);
-        timeSinceLastDChange += delta;
+    public void randomizeDirectionVector()
+    {
+        float bearing = random.nextFloat() * MathUtils.PI2;
 
-        if(timeSinceLastDChange > directionCFrequency)
-        {
-            randomizeDirectionVector();
-            timeSinceLastDChange -= directionCFrequency;
-        }
+        directionVector.x = MathUtils.sin(bearing);
+        directionVector.y = MathUtils.cos(bearing);
     }
 
     @Override
-    public Lasers[] fireLasers()
+    public void fireLasers(Array<Lasers> lasers, Pool<Lasers> laserPool)
     {
-        Lasers[] laser = new Lasers[2];
-
-        laser[0] = new Lasers(boundingBox.x + boundingBox.width * 0.25f, boundingBox.y - laserHeight, laserWidth, laserHeight,
-                laserMovementSpeed, laserTextureRegion);
+        lasers.add(laserPool.obtain().set(boundingBox.x + boundingBox.width * 0.25f, boundingBox.y - laserHeight, laserWidth, laserHeight,
+                laserMovementSpeed, laserTextureRegion));
 
-        laser[1] = new Lasers(boundingBox.x + boundingBox.width * 0.70f, boundingBox.y - laserHeight, laserWidth,laserHeight,
-                laserMovementSpeed, laserTextureRegion);
-
-        timeSinceLastShot = 0;
-
-        return laser;
+        lasers.add(laserPool.obtain().set(boundingBox.x + boundingBox.width * 0.70f, boundingBox.y - laserHeight, laserWidth,laserHeight,
+                laserMovementSpeed, laserTextureRegion));
     }
 
     @Override
-    public void draw(Batch batch)
+    public void draw(RenderQueue renderQueue)
     {
-        batch.draw(shipTextureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+        int depth = RenderQueue.depthOf(boundingBox.y);
+
+        renderQueue.submit(RenderQueue.LAYER_SHIPS, depth, shipTextureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
         if(shield > 0)
         {
-            batch.draw(shieldTextureRegion, boundingBox.x, boundingBox.y - boundingBox.height * 0.2f, boundingBox.width, boundingBox.height);
+            renderQueue.submit(RenderQueue.LAYER_SHIELDS, depth, shieldTextureRegion, boundingBox.x, boundingBox.y - boundingBox.height * 0.2f, boundingBox.width, boundingBox.height);
         }
     }
 }
@@ -1,22 +1,40 @@
 package com.aashiqumar.blucandy;
 
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
 
-class Explosion {
+class Explosion implements Pool.Poolable {
 
-    private Animation<TextureRegion> explosionAnimation;
-    private float explosionTimer;
+    private TextureRegion[] explosionFrames;
+    float totalAnimationTime;
+    float explosionTimer;
 
-    private com.badlogic.gdx.math.Rectangle boundingBox;
+    final Rectangle boundingBox = new Rectangle();
 
-    Explosion (Texture texture, Rectangle boundingBox, float totalAnimationTime)
+    Explosion ()
     {
-        this.boundingBox = boundingBox;
+    }
+
+    //COPIES THE BOUNDING BOX, SO THE SHIP CAN BE REUSED
+
+    void set (TextureRegion[] explosionFrames, Rectangle boundingBox, float totalAnimationTime)
+    {
+        this.explosionFrames = explosionFrames;
+        this.boundingBox.set(boundingBox);
+        this.totalAnimationTime = totalAnimationTime;
+        explosionTimer = 0;
+    }
 
+    @Override
+    public void reset()
+    {
+        explosionFrames = null;
+    }
+
+    static TextureRegion[] splitFrames(Texture texture)
+    {
         //SPLIT TEXTURE
 
         TextureRegion[][] textureRegion2D = TextureRegion.split(texture, 64, 64);
@@ -35,9 +53,7 @@ class Explosion {
             }
         }
 
-        explosionAnimation = new Animation<TextureRegion>(totalAnimationTime/16, textureRegion1D);
-        explosionTimer = 0;
-
+        return textureRegion1D;
     }
 
     public void update (float delta)
@@ -45,13 +61,15 @@ class Explosion {
         explosionTimer += delta;
     }
 
-    public void draw (SpriteBatch batch)
+    public void draw (RenderQueue renderQueue)
     {
-        batch.draw(explosionAnimation.getKeyFrame(explosionTimer), boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+        int frame = Math.min((int)(explosionTimer / totalAnimationTime * explosionFrames.length), explosionFrames.length - 1);
+        renderQueue.submit(RenderQueue.LAYER_EFFECTS, RenderQueue.depthOf(boundingBox.y), explosionFrames[frame],
+                boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
     }
 
     public boolean isFinished()
     {
-        return explosionAnimation.isAnimationFinished(explosionTimer);
+        return explosionTimer >= totalAnimationTime;
     }
 }
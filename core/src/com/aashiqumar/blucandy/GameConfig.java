@@ -0,0 +1,141 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+//GAMEPLAY STATS, KEPT IN ONE PLACE SO THEY CAN BE SWEPT BY THE BALANCING FARM
+
+public class GameConfig {
+
+    //PLAYER
+
+    public float playerMovementSpeed = 48;
+    public int playerShield = 10;
+    public float playerLaserWidth = 0.4f;
+    public float playerLaserHeight = 4;
+    public float playerLaserMovementSpeed = 45;
+    public float playerTimeBetweenShots = 0.4f;
+
+    //PLAYER HOMING MISSILES: FIRED ON THEIR OWN, SO OFF UNLESS ASKED FOR
+
+    public boolean playerMissiles = false;
+    public float playerTimeBetweenMissiles = 1.5f;
+    public float missileMovementSpeed = 40;
+    public float missileTurnRate = 4; //RADIANS PER SECOND
+    public float missileLifetime = 3;
+
+    //PLAYER BEAM: HITS THE FIRST ENEMY STRAIGHT AHEAD ONCE PER INTERVAL, ALSO OFF UNLESS ASKED FOR
+
+    public boolean playerBeam = false;
+    public float playerTimeBetweenBeamHits = 0.5f;
+    public float beamRange = 80;
+
+    //ENEMY
+
+    public float enemyMovementSpeed = 30;
+    public int enemyShield = 1;
+    public float enemyLaserWidth = 0.9f;
+    public float enemyLaserHeight = 4;
+    public float enemyLaserMovementSpeed = 30;
+    public float enemyTimeBetweenShots = 0.9f;
+
+    //BOSS: ARRIVES WITH EVERY wavesPerBoss-TH WAVE WHEN NONE IS LEFT, 0 TURNS IT OFF
+
+    public int wavesPerBoss = 6;
+    public float bossMovementSpeed = 8;
+    public float bossTimeBetweenShots = 1.2f;
+
+    //SPAWNING
+
+    public float timeBetweenEnemySpawns = 1f;
+
+    //ENTITY BUDGETS: SPAWNS AND ENEMY SHOTS OVER THEM ARE DROPPED (AND COUNTED)
+
+    public int maxEnemies = 40;
+    public int maxEnemyLasers = 300;
+
+    //SIMULATION LEVEL OF DETAIL: MOST TICKS AN OFF-SCREEN ENTITY MAY GO WITHOUT AN UPDATE, 1 TURNS
+    //IT OFF. OFF BY DEFAULT: AT 40 ENEMIES AND 300 LASERS A TICK MEASURED NO FASTER WITH IT ON
+
+    public int lodMaxInterval = 1;
+
+    //BY NAME, FOR THE BALANCING FARM'S COMMAND LINE: A NEW FIELD GOES INTO NAMES, set AND copy
+
+    public static final String[] NAMES = {
+            "playerMovementSpeed", "playerShield", "playerLaserWidth", "playerLaserHeight",
+            "playerLaserMovementSpeed", "playerTimeBetweenShots",
+            "playerMissiles", "playerTimeBetweenMissiles", "missileMovementSpeed", "missileTurnRate", "missileLifetime",
+            "playerBeam", "playerTimeBetweenBeamHits", "beamRange",
+            "enemyMovementSpeed", "enemyShield", "enemyLaserWidth", "enemyLaserHeight",
+            "enemyLaserMovementSpeed", "enemyTimeBetweenShots",
+            "wavesPerBoss", "bossMovementSpeed", "bossTimeBetweenShots",
+            "timeBetweenEnemySpawns", "maxEnemies", "maxEnemyLasers", "lodMaxInterval"
+    };
+
+    public void set(String name, float value)
+    {
+        switch (name)
+        {
+            case "playerMovementSpeed": playerMovementSpeed = value; break;
+            case "playerShield": playerShield = (int) value; break;
+            case "playerLaserWidth": playerLaserWidth = value; break;
+            case "playerLaserHeight": playerLaserHeight = value; break;
+            case "playerLaserMovementSpeed": playerLaserMovementSpeed = value; break;
+            case "playerTimeBetweenShots": playerTimeBetweenShots = value; break;
+            case "playerMissiles": playerMissiles = value != 0; break;
+            case "playerTimeBetweenMissiles": playerTimeBetweenMissiles = value; break;
+            case "missileMovementSpeed": missileMovementSpeed = value; break;
+            case "missileTurnRate": missileTurnRate = value; break;
+            case "missileLifetime": missileLifetime = value; break;
+            case "playerBeam": playerBeam = value != 0; break;
+            case "playerTimeBetweenBeamHits": playerTimeBetweenBeamHits = value; break;
+            case "beamRange": beamRange = value; break;
+            case "enemyMovementSpeed": enemyMovementSpeed = value; break;
+            case "enemyShield": enemyShield = (int) value; break;
+            case "enemyLaserWidth": enemyLaserWidth = value; break;
+            case "enemyLaserHeight": enemyLaserHeight = value; break;
+            case "enemyLaserMovementSpeed": enemyLaserMovementSpeed = value; break;
+            case "enemyTimeBetweenShots": enemyTimeBetweenShots = value; break;
+            case "wavesPerBoss": wavesPerBoss = (int) value; break;
+            case "bossMovementSpeed": bossMovementSpeed = value; break;
+            case "bossTimeBetweenShots": bossTimeBetweenShots = value; break;
+            case "timeBetweenEnemySpawns": timeBetweenEnemySpawns = value; break;
+            case "maxEnemies": maxEnemies = (int) value; break;
+            case "maxEnemyLasers": maxEnemyLasers = (int) value; break;
+            case "lodMaxInterval": lodMaxInterval = (int) value; break;
+            default: throw new GdxRuntimeException("Unknown game parameter: " + name);
+        }
+    }
+
+    public GameConfig copy()
+    {
+        GameConfig copy = new GameConfig();
+        copy.playerMovementSpeed = playerMovementSpeed;
+        copy.playerShield = playerShield;
+        copy.playerLaserWidth = playerLaserWidth;
+        copy.playerLaserHeight = playerLaserHeight;
+        copy.playerLaserMovementSpeed = playerLaserMovementSpeed;
+        copy.playerTimeBetweenShots = playerTimeBetweenShots;
+        copy.playerMissiles = playerMissiles;
+        copy.playerTimeBetweenMissiles = playerTimeBetweenMissiles;
+        copy.missileMovementSpeed = missileMovementSpeed;
+        copy.missileTurnRate = missileTurnRate;
+        copy.missileLifetime = missileLifetime;
+        copy.playerBeam = playerBeam;
+        copy.playerTimeBetweenBeamHits = playerTimeBetweenBeamHits;
+        copy.beamRange = beamRange;
+        copy.enemyMovementSpeed = enemyMovementSpeed;
+        copy.enemyShield = enemyShield;
+        copy.enemyLaserWidth = enemyLaserWidth;
+        copy.enemyLaserHeight = enemyLaserHeight;
+        copy.enemyLaserMovementSpeed = enemyLaserMovementSpeed;
+        copy.enemyTimeBetweenShots = enemyTimeBetweenShots;
+        copy.wavesPerBoss = wavesPerBoss;
+        copy.bossMovementSpeed = bossMovementSpeed;
+        copy.bossTimeBetweenShots = bossTimeBetweenShots;
+        copy.timeBetweenEnemySpawns = timeBetweenEnemySpawns;
+        copy.maxEnemies = maxEnemies;
+        copy.maxEnemyLasers = maxEnemyLasers;
+        copy.lodMaxInterval = lodMaxInterval;
+        return copy;
+    }
+}
@@ -0,0 +1,187 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+//EVENTS PUBLISHED BY THE SIMULATION DURING A TICK (A SHIP WAS HIT, DESTROYED, FIRED OR
+//SPAWNED) AND DELIVERED TO THE SUBSCRIBED LISTENERS WHEN THE WORLD DRAINS THEM, SO EFFECTS,
+//SCORE, HUD, AUDIO AND TELEMETRY REACT WITHOUT LIVING INSIDE THE COLLISION CODE. EVENTS ARE
+//PRIMITIVE RECORDS IN A PREALLOCATED RING (ONE ARRAY PER FIELD), NOTHING IS ALLOCATED PER
+//EVENT. A FULL RING IS DRAINED BEFORE THE NEXT PUBLISH, SO NO EVENT IS EVER LOST AND THE
+//LISTENERS ALWAYS SEE THEM IN THE ORDER THEY HAPPENED.
+
+public class GameEvents {
+
+    //EVENT TYPES, ONE BIT EACH SO LISTENERS SUBSCRIBE TO A SET OF THEM
+
+    public static final int HIT = 1;
+    public static final int DESTROYED = 1 << 1;
+    public static final int FIRED = 1 << 2;
+    public static final int SPAWNED = 1 << 3;
+    public static final int ALL = HIT | DESTROYED | FIRED | SPAWNED;
+
+    //WHAT THE EVENT HAPPENED TO
+
+    public static final int SUBJECT_PLAYER = 0;
+    public static final int SUBJECT_ENEMY = 1;
+    public static final int SUBJECT_BOSS = 2;
+
+    //CALLED ONCE PER EVENT WHILE DRAINING. THE EVENT IS ONLY VALID DURING THE CALL, READ ITS
+    //FIELDS THROUGH THE GETTERS. LISTENERS MUST NOT PUBLISH.
+
+    public interface Listener {
+        void onEvent(GameEvents events, int event);
+    }
+
+    //RING: EVENT i IS AT i & (capacity - 1), LIVE EVENTS ARE [tail, head)
+
+    private final int[] types, subjects, serials, values;
+    private final float[] xs, ys, widths, heights;
+    private final long[] ticks;
+    private final int mask;
+    private long head = 0, tail = 0;
+
+    private final Array<Listener> listeners = new Array<>(false, 4);
+    private final IntArray listenerTypes = new IntArray(false, 4);
+    private boolean draining = false;
+
+    //STATISTICS
+
+    public long published = 0;
+    public long earlyDrains = 0; //THE RING FILLED UP BEFORE THE END OF THE TICK
+
+    public GameEvents(int capacity)
+    {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        types = new int[size];
+        subjects = new int[size];
+        serials = new int[size];
+        values = new int[size];
+        xs = new float[size];
+        ys = new float[size];
+        widths = new float[size];
+        heights = new float[size];
+        ticks = new long[size];
+        mask = size - 1;
+    }
+
+    public void subscribe(Listener listener, int eventTypes)
+    {
+        listeners.add(listener);
+        listenerTypes.add(eventTypes);
+    }
+
+    public void unsubscribe(Listener listener)
+    {
+        int index = listeners.indexOf(listener, true);
+        if (index < 0) return;
+
+        listeners.removeIndex(index);
+        listenerTypes.removeIndex(index);
+    }
+
+    //value IS TYPE SPECIFIC: THE SHIELD LEFT (OR THE BOSS PART) FOR A HIT, THE LASERS FIRED,
+    //THE SCORE FOR A DESTROYED SHIP. THE BOX IS COPIED, THE SHIP CAN BE REUSED RIGHT AWAY.
+
+    void publish(int type, int subject, int serial, int value, long tick, float x, float y, float width, float height)
+    {
+        if (draining)
+        {
+            throw new IllegalStateException("Listeners must not publish events");
+        }
+        if (head - tail > mask)
+        {
+            earlyDrains++;
+            drain();
+        }
+
+        int i = (int) head & mask;
+        types[i] = type;
+        subjects[i] = subject;
+        serials[i] = serial;
+        values[i] = value;
+        ticks[i] = tick;
+        xs[i] = x;
+        ys[i] = y;
+        widths[i] = width;
+        heights[i] = height;
+        head++;
+        published++;
+    }
+
+    //DELIVERS EVERY PENDING EVENT, OLDEST FIRST, TO THE LISTENERS SUBSCRIBED TO ITS TYPE
+
+    void drain()
+    {
+        draining = true;
+        while (tail < head)
+        {
+            int i = (int) tail & mask;
+            int type = types[i];
+            for (int l = 0; l < listeners.size; l++)
+            {
+                if ((listenerTypes.get(l) & type) != 0)
+                {
+                    listeners.get(l).onEvent(this, i);
+                }
+            }
+            tail++;
+        }
+        draining = false;
+    }
+
+    public int getPending()
+    {
+        return (int) (head - tail);
+    }
+
+    public int getCapacity()
+    {
+        return mask + 1;
+    }
+
+    public int getType(int event)
+    {
+        return types[event];
+    }
+
+    public int getSubject(int event)
+    {
+        return subjects[event];
+    }
+
+    public int getSerial(int event)
+    {
+        return serials[event];
+    }
+
+    public int getValue(int event)
+    {
+        return values[event];
+    }
+
+    public long getTick(int event)
+    {
+        return ticks[event];
+    }
+
+    public float getX(int event)
+    {
+        return xs[event];
+    }
+
+    public float getY(int event)
+    {
+        return ys[event];
+    }
+
+    public float getWidth(int event)
+    {
+        return widths[event];
+    }
+
+    public float getHeight(int event)
+    {
+        return heights[event];
+    }
+}
@@ -0,0 +1,51 @@
+package com.aashiqumar.blucandy;
+
+public class GameInput {
+
+    //KEY BITS
+
+    public static final int KEY_LEFT = 1;
+    public static final int KEY_RIGHT = 1 << 1;
+    public static final int KEY_UP = 1 << 2;
+    public static final int KEY_DOWN = 1 << 3;
+
+    //STATE FOR ONE SIMULATION TICK
+
+    public int keys;
+    public boolean touched;
+    public float touchX, touchY; //WORLD UNITS
+    public int quality; //0 FOR FULL QUALITY, HIGHER LEVELS TRADE SIMULATION DETAIL FOR TIME (SEE QualityGovernor)
+    public boolean holdSpawns; //SPAWN BACK-PRESSURE, WHILE THE HOST'S TICKS ARE OVER BUDGET (SEE TickBudget)
+
+    //HOST REQUEST TO STEP THE WORLD BACK ONE TICK INSTEAD OF SIMULATING IT (DEBUG BUILDS ONLY).
+    //NOT SEEN BY THE WORLD AND NOT RECORDED, THE HOST ENDS THE RECORDING WHEN IT REWINDS.
+
+    public boolean rewind;
+
+    public boolean isKeyPressed(int key)
+    {
+        return (keys & key) != 0;
+    }
+
+    public void set(GameInput other)
+    {
+        keys = other.keys;
+        touched = other.touched;
+        touchX = other.touchX;
+        touchY = other.touchY;
+        quality = other.quality;
+        holdSpawns = other.holdSpawns;
+        rewind = other.rewind;
+    }
+
+    public void clear()
+    {
+        keys = 0;
+        touched = false;
+        touchX = 0;
+        touchY = 0;
+        quality = 0;
+        holdSpawns = false;
+        rewind = false;
+    }
+}
@@ -1,27 +1,30 @@
 package com.aashiqumar.blucandy;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 
-import java.util.LinkedList;
-import java.util.ListIterator;
-import java.util.Locale;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 
 class GameScreen implements Screen {
@@ -32,43 +35,78 @@ class GameScreen implements Screen {
     private Viewport viewport;
 
 
-    //GRAPHICS
+    //GRAPHICS, ALL HELD THROUGH THE APP'S RESOURCE REGISTRY AND RELEASED TOGETHER ON dispose
 
+    private final ResourceRegistry resources;
     private SpriteBatch batch;
+    private RenderQueue renderQueue = new RenderQueue(256);
     private TextureAtlas textureAtlas;
     private Texture explosionTexture;
+    private Texture starFieldTexture;
 
-    private TextureRegion[] backgrounds;
-    private float backgroundHeight;
+    private StarscapeBackground background;
 
+    //PARTICLES: DEBRIS AND SPARKS FROM THE WORLD'S EVENTS, THRUSTERS FROM THE SHIPS. FRAMES
+    //WHOSE WORK TAKES LONGER THAN FRAME_BUDGET SHRINK THE PARTICLE BUDGET.
 
-    private TextureRegion playerShipTextureRegion, playerShieldTextureRegion, enemyShipTextureRegion, enemyShieldTextureRegion,
-            playerLaserTextureRegion, enemyLaserTextureRegion;
+    private ParticleEngine particles;
+    private static final float FRAME_BUDGET = 0.012f; //LEAVES ROOM FOR THE GPU AND THE SWAP AT 60 FPS
+
+    //QUALITY: BACKGROUND LAYERS, EFFECT DENSITY AND (THROUGH THE INPUT) SIMULATION COST,
+    //LOWERED WHILE THE AVERAGE FRAME IS OVER FRAME_BUDGET
+
+    private QualityGovernor qualityGovernor = new QualityGovernor(FRAME_BUDGET);
+
+    //SPAWNS ARE HELD BACK WHILE THE SIMULATION TICKS TAKE LONGER THAN TICK_BUDGET
+
+    private TickBudget tickBudget = new TickBudget(TICK_BUDGET);
+    private static final float TICK_BUDGET = GameWorld.TICK_DURATION / 4;
 
 
     //TIMING
 
-    private float[] backgroundOffset = {0, 0, 0, 0};
     private float backgroundMaxScrollingSpeed;
-    private float timeBetweenEnemySpawns = 1f;
-    private float enemySpawnTimer = 0;
+    private static final long STAR_FIELD_SEED = 1080;
+    private float simulationAccumulator = 0;
+    private static final float MAX_FRAME_DELTA = 0.25f;
+
+    //LIFECYCLE: WHILE PAUSED OR HIDDEN NOTHING IS SIMULATED OR ANIMATED AND FRAMES ARE ONLY
+    //DRAWN WHEN THE BACKEND ASKS (NON-CONTINUOUS RENDERING). THE FIRST FRAME BACK IS CLAMPED
+    //TO ONE TICK, ITS DELTA WOULD OTHERWISE COVER THE WHOLE PAUSE.
+
+    private boolean suspended = false;
+    private boolean resuming = false;
 
 
     //WORLD PARAMETERS
 
-    private final float WORLD_WIDTH = 72;
-    private final float WORLD_HEIGHT = 128;
-    private final float TOUCH_MOVEMENT_THRESHOLD = 5F;
+    private final float WORLD_WIDTH = GameWorld.WORLD_WIDTH;
+    private final float WORLD_HEIGHT = GameWorld.WORLD_HEIGHT;
 
     //GAME OBJECTS
 
-    private PlayerShip playerShip;
-    private LinkedList<EnemyShip> enemyShipList;
-    private LinkedList<Lasers> playerlaserlist;
-    private LinkedList<Lasers> enemylaserlist;
-    private LinkedList<Explosion> explosionList;
+    private GameWorld gameWorld;
+
+    //INPUT
+
+    private Pilot pilot;
+    private InputPilot inputPilot; //NULL UNDER AUTOPILOT
+    private GameInput gameInput = new GameInput();
+    private ReplayRecorder replayRecorder;
+    static final String REPLAY_FILE = "last_session.replay";
 
-    private int Score = 0;
+    //SNAPSHOT FOR RESUMING AFTER THE PROCESS IS KILLED
+
+    private ByteBuffer snapshotBuffer = ByteBuffer.allocate(16 * 1024);
+    static final String SNAPSHOT_FILE = "world.snapshot";
+
+    //REWIND HISTORY, SCRUBBED BACKWARDS WHILE BACKSPACE IS HELD
+
+    private RewindBuffer rewindBuffer = new RewindBuffer(REWIND_SECONDS, REWIND_KEYFRAME_INTERVAL, REWIND_ARENA_BYTES);
+    private static final float REWIND_SECONDS = 30;
+    private static final int REWIND_KEYFRAME_INTERVAL = 30;
+    private static final int REWIND_ARENA_BYTES = 1024 * 1024;
+    private boolean rewinding = false;
 
     //HUD
 
@@ -77,81 +115,161 @@ class GameScreen implements Screen {
     float hudLeftX, hudRightX, hudCenterX, hudRow1Y, hudRow2Y;
     float hudSectionWidth;
 
+    //HUD TEXT IS ONLY REBUILT WHEN THE VALUE CHANGES, INTO REUSED BUILDERS
+
+    private final StringBuilder scoreText = new StringBuilder(8);
+    private final StringBuilder shieldText = new StringBuilder(4);
+    private int hudScore = -1, hudShield = -1;
 
 
 
 
-    GameScreen() {
+
+    GameScreen(ResourceRegistry resources, boolean autopilot) {
+
+        this.resources = resources;
 
         camera = new OrthographicCamera();
         viewport = new StretchViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);
 
+        if (autopilot)
+        {
+            pilot = new AutoPilot();
+        }
+        else
+        {
+            //REWIND IS A DEBUG TOOL: IT ENDS THE REPLAY RECORDING OF THE SESSION
+
+            inputPilot = new InputPilot(viewport, Gdx.app.getLogLevel() >= Application.LOG_DEBUG);
+            pilot = inputPilot;
+        }
+
         //SETUP THE TEXTURE ATLAS
 
-        textureAtlas = new TextureAtlas("images.atlas");
+        textureAtlas = resources.atlas(this, "images.atlas");
 
         //SETTING UP THE BACKGROUND
 
-        backgrounds = new TextureRegion[5];
+        Pixmap starFieldPixmap = StarField.generate(STAR_FIELD_SEED);
+        starFieldTexture = resources.add(this, "starField", new Texture(starFieldPixmap));
+        starFieldPixmap.dispose();
 
-        backgrounds[0] = textureAtlas.findRegion("Starscape00");
-        backgrounds[1] = textureAtlas.findRegion("Starscape01");
-        backgrounds[2] = textureAtlas.findRegion("Starscape02");
-        backgrounds[3] = textureAtlas.findRegion("Starscape03");
+        TextureRegion[] backgrounds = StarField.split(starFieldTexture);
 
+        backgroundMaxScrollingSpeed = WORLD_HEIGHT / 4;
 
+        background = resources.add(this, "starscapeBackground", new StarscapeBackground(backgrounds, new float[] {
+                backgroundMaxScrollingSpeed / 8, backgroundMaxScrollingSpeed / 4,
+                backgroundMaxScrollingSpeed / 2, backgroundMaxScrollingSpeed},
+                WORLD_WIDTH, WORLD_HEIGHT));
 
-        backgroundHeight = WORLD_HEIGHT * 2;
-        backgroundMaxScrollingSpeed = (float) (WORLD_HEIGHT) / 4;
+        //EXPLOSION TEXTURE
 
-        //INITIALIZE TEXTURE REGIONS
+        explosionTexture = resources.texture(this, "explosion.png");
 
-        //PLAYER
+        //PARTICLES, FROM THE SHIP ATLAS SO THEY SHARE ITS BATCH
 
-        playerShipTextureRegion = textureAtlas.findRegion("playerShip2_orange");
-        playerShieldTextureRegion = textureAtlas.findRegion("shield1");
-        playerLaserTextureRegion = textureAtlas.findRegion("laserGreen03");
+        particles = new ParticleEngine(TimeUtils.nanoTime(), ParticleEngine.DEFAULT_CAPACITIES);
+        particles.setRegion(ParticleEngine.DEBRIS, textureAtlas.findRegion("laserRed13"));
+        particles.setRegion(ParticleEngine.THRUSTER, textureAtlas.findRegion("laserRed13"));
+        particles.setRegion(ParticleEngine.SPARK, textureAtlas.findRegion("laserGreen03"));
 
+        //SETUP GAME OBJECTS
 
+        //A RESUMED RUN DID NOT START FROM ITS SEED, SO IT CANNOT BE RECORDED AS A REPLAY
 
-        //ENEMY
+        if (!restoreSnapshot())
+        {
+            gameWorld = new GameWorld(TimeUtils.nanoTime(), textureAtlas, explosionTexture);
+            startRecording();
+        }
+        rewindBuffer.record(gameWorld);
 
+        gameWorld.getEvents().subscribe(new GameEvents.Listener() {
+            @Override
+            public void onEvent(GameEvents events, int event) {
+                emitEffects(events, event);
+            }
+        }, GameEvents.HIT | GameEvents.DESTROYED);
 
-        enemyShipTextureRegion = textureAtlas.findRegion("enemyRed1");
-        enemyShieldTextureRegion = textureAtlas.findRegion("shield2");
-        enemyLaserTextureRegion = textureAtlas.findRegion("laserRed13");
-        enemyShieldTextureRegion.flip(false, true);
 
-        //EXPLOSION TEXTURE
+        batch = resources.add(this, "batch", new SpriteBatch());
 
-        explosionTexture = new Texture("explosion.png");
+        prepareHUD();
 
-        //SETUP GAME OBJECTS
 
-        playerShip = new PlayerShip(48, 10, 0.4f, 4, 45,
-                0.4f, 10, 10,
-                WORLD_WIDTH / 2, WORLD_HEIGHT / 4, playerShipTextureRegion, playerShieldTextureRegion, playerLaserTextureRegion);
+    }
 
-        enemyShipList = new LinkedList<>();
+    private boolean restoreSnapshot()
+    {
+        FileHandle snapshotFile = Gdx.files.local(SNAPSHOT_FILE);
+        if (!snapshotFile.exists()) return false;
 
+        try
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshotFile.readBytes());
+            gameWorld = new GameWorld(WorldSnapshot.peekSeed(buffer), textureAtlas, explosionTexture);
+            WorldSnapshot.read(gameWorld, buffer);
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            Gdx.app.error("GameScreen", "Discarding unreadable world snapshot", e);
+            gameWorld = null;
+            return false;
+        }
+        finally
+        {
+            snapshotFile.delete();
+        }
+    }
 
-        playerlaserlist = new LinkedList<Lasers>();
-        enemylaserlist = new LinkedList<>();
-        explosionList = new LinkedList<>();
+    private void saveSnapshot()
+    {
+        long start = TimeUtils.nanoTime();
 
+        snapshotBuffer.clear();
+        if (!WorldSnapshot.write(gameWorld, snapshotBuffer))
+        {
+            snapshotBuffer = ByteBuffer.allocate(WorldSnapshot.sizeOf(gameWorld) * 2);
+            WorldSnapshot.write(gameWorld, snapshotBuffer);
+        }
 
-        batch = new SpriteBatch();
+        long encoded = TimeUtils.nanoTime();
 
-        prepareHUD();
+        try
+        {
+            Gdx.files.local(SNAPSHOT_FILE).writeBytes(snapshotBuffer.array(), 0, snapshotBuffer.position(), false);
+        }
+        catch (GdxRuntimeException e)
+        {
+            Gdx.app.error("GameScreen", "Could not save world snapshot", e);
+            return;
+        }
 
+        Gdx.app.debug("GameScreen", "World snapshot: " + snapshotBuffer.position() + " bytes, encoded in "
+                + (encoded - start) / 1000 + " us, written in " + (TimeUtils.nanoTime() - encoded) / 1000 + " us");
+    }
 
+    private void startRecording()
+    {
+        try
+        {
+            replayRecorder = new ReplayRecorder(Gdx.files.local(REPLAY_FILE).write(false), gameWorld.getSeed());
+        }
+        catch (IOException | GdxRuntimeException e)
+        {
+            Gdx.app.error("GameScreen", "Replay recording disabled", e);
+            replayRecorder = null;
+        }
     }
 
     private void prepareHUD()
     {
         //CREATE A BITMAP FONT FORM OUR FONT FILE
 
-        FreeTypeFontGenerator fontGenerator = new FreeTypeFontGenerator(Gdx.files.internal("EdgeOfTheGalaxyRegular-OVEa6.otf"));
+        FreeTypeFontGenerator fontGenerator = resources.add(this, "hudFontGenerator",
+                new FreeTypeFontGenerator(Gdx.files.internal("EdgeOfTheGalaxyRegular-OVEa6.otf")));
         FreeTypeFontGenerator.FreeTypeFontParameter fontParameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
 
         fontParameter.size = 85;
@@ -159,7 +277,11 @@ class GameScreen implements Screen {
         fontParameter.color = new Color(1, 1, 1, 0.3f);
         fontParameter.borderColor = new Color(0,0,0,0.3f);
 
-        font = fontGenerator.generateFont(fontParameter);
+        font = resources.add(this, "hudFont", fontGenerator.generateFont(fontParameter));
+
+        //THE GENERATOR IS ONLY NEEDED TO BUILD THE FONT
+
+        resources.release(this, "hudFontGenerator");
 
         //SCALE THE FONT TO FIT WORLD
 
@@ -179,46 +301,89 @@ class GameScreen implements Screen {
     }
 
 
-    @Override
-    public void render (float delta) {
+    //DEBRIS FOR A DESTROYED SHIP, SPARKS WHERE A SHOT LANDED (BELOW AN ENEMY, ABOVE THE PLAYER)
 
-        batch.begin();
+    private void emitEffects(GameEvents events, int event)
+    {
+        float x = events.getX(event) + events.getWidth(event) / 2;
+        float y = events.getY(event);
+        boolean player = events.getSubject(event) == GameEvents.SUBJECT_PLAYER;
 
-        //SCROLLING BACKGROUND
+        if (events.getType(event) == GameEvents.DESTROYED)
+        {
+            int debris = events.getSubject(event) == GameEvents.SUBJECT_BOSS ? 96 : player ? 48 : 24;
+            particles.emit(ParticleEngine.DEBRIS, x, y + events.getHeight(event) / 2, 0, 1, MathUtils.PI, debris);
+        }
+        else if (player)
+        {
+            particles.emit(ParticleEngine.SPARK, x, y + events.getHeight(event), 0, 1, 0.8f, 6);
+        }
+        else
+        {
+            particles.emit(ParticleEngine.SPARK, x, y, 0, -1, 0.8f, 6);
+        }
+    }
 
-        renderBackground(delta);
+    @Override
+    public void render (float delta) {
 
-        detectInput(delta);
-        playerShip.update(delta);
+        long frameStart = TimeUtils.nanoTime();
 
-        spawnEnemyShips(delta);
+        boolean measured = !suspended && !resuming;
+        if (suspended)
+        {
+            delta = 0;
+        }
+        else if (resuming)
+        {
+            delta = Math.min(delta, GameWorld.TICK_DURATION);
+            resuming = false;
+        }
 
-        ListIterator<EnemyShip> enemyShipListIterator = enemyShipList.listIterator();
+        //FIXED STEP SIMULATION, SO A RECORDED SESSION REPLAYS THE SAME WAY
 
-        while (enemyShipListIterator.hasNext()) {
+        simulationAccumulator += Math.min(delta, MAX_FRAME_DELTA);
 
-            EnemyShip enemyShip = enemyShipListIterator.next();
+        while (simulationAccumulator >= GameWorld.TICK_DURATION)
+        {
+            pilot.fly(gameWorld, gameInput);
+            if (gameInput.rewind)
+            {
+                rewindOneTick();
+            }
+            else
+            {
+                rewinding = false;
+                gameInput.quality = qualityGovernor.getLevel();
+                gameInput.holdSpawns = tickBudget.isHolding();
+                recordInput();
+
+                long tickStart = TimeUtils.nanoTime();
+                gameWorld.update(gameInput);
+                tickBudget.update((TimeUtils.nanoTime() - tickStart) / 1e9f);
+                rewindBuffer.record(gameWorld);
+            }
 
-            moveEnemies(enemyShip, delta);
-            enemyShip.update(delta);
-            enemyShip.draw(batch);
+            simulationAccumulator -= GameWorld.TICK_DURATION;
         }
 
-        //ENEMY SHIP
-
-        playerShip.draw(batch);
+        batch.begin();
 
-        //LASERS
+        //SCROLLING BACKGROUND
 
-        renderLasers(delta);
+        renderBackground(delta);
 
-        //DETECT COLLISIONS BETWEEN LASERS AND SHIPS
+        //PARTICLES, UNDER THE SHIPS AND ON THE SAME ATLAS AS THEM
 
-        detectCollisions();
+        float frameDelta = Math.min(delta, MAX_FRAME_DELTA);
+        gameWorld.emitThrusters(particles, frameDelta);
+        particles.update(frameDelta);
+        particles.draw(batch);
 
-        //EXPLOSIONS
+        //SHIPS, LASERS & EXPLOSIONS, SORTED BY LAYER AND TEXTURE
 
-        renderExplosions(delta);
+        gameWorld.draw(renderQueue);
+        renderQueue.flush(batch);
 
         //HUD RENDERING
 
@@ -227,6 +392,23 @@ class GameScreen implements Screen {
 
         batch.end();
 
+        if (inputPilot != null)
+        {
+            inputPilot.presented();
+        }
+
+        //A FROZEN FRAME OR THE FIRST ONE BACK (RELOADED TEXTURES, COLD CACHES) SAYS NOTHING ABOUT THE LOAD
+
+        if (!measured) return;
+
+        float frameSeconds = (TimeUtils.nanoTime() - frameStart) / 1e9f;
+        particles.updateBudget(frameSeconds, FRAME_BUDGET);
+        if (qualityGovernor.update(frameSeconds))
+        {
+            background.setLayerCount(qualityGovernor.getBackgroundLayers());
+            particles.setMaxBudget(qualityGovernor.getEffectDensity());
+            Gdx.app.log("QualityGovernor", qualityGovernor.getLastAdjustment());
+        }
     }
 
     private void updateAndRenderExplosionsHUD()
@@ -239,346 +421,163 @@ class GameScreen implements Screen {
 
         //RENDER SECOND ROW
 
-        font.draw(batch, String.format(Locale.getDefault(), "%06d ", Score), hudLeftX, hudRow2Y, hudSectionWidth, Align.left, false);
-        font.draw(batch, String.format(Locale.getDefault(), "%02d", playerShip.shield ), hudRightX, hudRow2Y, hudSectionWidth, Align.right, false);
-        //font.draw(batch, String.format(Locale.getDefault(), "%02d", playerShip.lives), hudRightX, hudRow2Y, hudSectionWidth, Align.right, false);
-
-
-    }
-
-    private void spawnEnemyShips(float delta)
-    {
-        enemySpawnTimer += delta;
-
-        if(enemySpawnTimer > timeBetweenEnemySpawns) {
-            enemyShipList.add(new EnemyShip(30, 1, 0.9f, 4, 30,
-                    0.9f, 10, 10,
-                    BCapp.random.nextFloat() * (WORLD_WIDTH - 10) + 5, WORLD_HEIGHT - 1,
-                    enemyShipTextureRegion, enemyShieldTextureRegion, enemyLaserTextureRegion));
-
-            enemySpawnTimer -= timeBetweenEnemySpawns;
-        }
-    }
-
-    private void detectInput(float delta) {
-
-        //KEYBOARD INPUT
-
-        //STRATEGY : DETERMINE THE MAX DISTANCE THE SHIP CAN MOVE
-
-        //CHECK EACH KEY THAT MATTERS AND MOVE ACCORDINGLY
-
-        float leftLimit, rightLimit, upLimit, downLimit;
-
-        leftLimit = -playerShip.boundingBox.x;
-        downLimit = -playerShip.boundingBox.y;
-        rightLimit = WORLD_WIDTH - playerShip.boundingBox.x - playerShip.boundingBox.width;
-        upLimit = (float)WORLD_HEIGHT / 2 - playerShip.boundingBox.y - playerShip.boundingBox.height;
-
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) && rightLimit > 0)
-        {
-            playerShip.translate(Math.min(playerShip.movementSpeed * delta, rightLimit), 0f);
-        }
-
-        if (Gdx.input.isKeyPressed(Input.Keys.UP) && upLimit > 0)
-        {
-            playerShip.translate(0f, Math.min(playerShip.movementSpeed * delta, upLimit));
-        }
-
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT) && leftLimit < 0)
+        if (hudScore != gameWorld.getScore())
         {
-            playerShip.translate(Math.max(-playerShip.movementSpeed * delta, leftLimit), 0f);
+            hudScore = gameWorld.getScore();
+            scoreText.setLength(0);
+            scoreText.append(hudScore, 6).append(' ');
         }
 
-        if (Gdx.input.isKeyPressed(Input.Keys.DOWN) && downLimit < 0)
+        if (hudShield != gameWorld.getPlayerShield())
         {
-            playerShip.translate(0f, Math.max(-playerShip.movementSpeed * delta, downLimit));
-        }
-
-        //TOUCH INPUT (AND ALSO MOUSE)
-
-        if (Gdx.input.isTouched())
-        {
-            //GET THE SCREEN POSITION OF THE TOUCH
-
-            float xTouchPixels = Gdx.input.getX();
-            float yTouchPixels = Gdx.input.getY();
-
-            //CONVERT TO WORLD POSITION
-
-            Vector2 touchPoint = new Vector2(xTouchPixels, yTouchPixels);
-            touchPoint = viewport.unproject(touchPoint);
-
-            //CALCULATE THE X AND Y DIFFERENCES
-
-            Vector2 playerShipCenter = new Vector2(playerShip.boundingBox.x + playerShip.boundingBox.width/2,
-                    playerShip.boundingBox.y + playerShip.boundingBox.height/2);
-
-            float touchDistance = touchPoint.dst(playerShipCenter);
-
-            if (touchDistance > TOUCH_MOVEMENT_THRESHOLD)
-            {
-                float xTouchDifference = touchPoint.x - playerShipCenter.x;
-                float yTouchDifference = touchPoint.y - playerShipCenter.y;
-
-                float xMove = xTouchDifference / touchDistance * playerShip.movementSpeed * delta;
-                float yMove = yTouchDifference / touchDistance * playerShip.movementSpeed * delta;
-
-                if (xMove > 2) xMove = Math.min(xMove, rightLimit);
-                else xMove = Math.max(xMove, leftLimit);
-
-                if (yMove > 2) yMove = Math.min(yMove, upLimit);
-                else yMove = Math.max(yMove, downLimit);
-
-                playerShip.translate(xMove, yMove);
-
-
-
-            }
-
-
-            //SCALE TO THE MAXIMUM SPEED OF THE SHIP
-
-
+            hudShield = gameWorld.getPlayerShield();
+            shieldText.setLength(0);
+            shieldText.append(hudShield, 2);
         }
 
+        font.draw(batch, scoreText, hudLeftX, hudRow2Y, hudSectionWidth, Align.left, false);
+        font.draw(batch, shieldText, hudRightX, hudRow2Y, hudSectionWidth, Align.right, false);
+        //font.draw(batch, String.format(Locale.getDefault(), "%02d", playerShip.lives), hudRightX, hudRow2Y, hudSectionWidth, Align.right, false);
 
 
     }
 
-    private void moveEnemies(EnemyShip enemyShip, float delta)
+    private void rewindOneTick()
     {
-        //CHECK EACH KEY THAT MATTERS AND MOVE ACCORDINGLY
-
-        float leftLimit, rightLimit, upLimit, downLimit;
-
-        leftLimit = -enemyShip.boundingBox.x;
-        downLimit = (float)WORLD_HEIGHT/2 - enemyShip.boundingBox.y;
-        rightLimit = WORLD_WIDTH - enemyShip.boundingBox.x - enemyShip.boundingBox.width;
-        upLimit = WORLD_HEIGHT / 2 - enemyShip.boundingBox.y - enemyShip.boundingBox.height;
-
-
-        float xMove = enemyShip.getDirectionVector().x * enemyShip.movementSpeed * delta;
-        float yMove = enemyShip.getDirectionVector().y * enemyShip.movementSpeed* delta;
-
-        if (xMove > 0) xMove = Math.min(xMove, rightLimit);
-        else xMove = Math.max(xMove, leftLimit);
-
-        if (yMove > 0) yMove = Math.min(yMove, upLimit);
-        else yMove = Math.max(yMove, downLimit);
-
-        enemyShip.translate(xMove, yMove);
-
+        if (!rewinding)
+        {
+            rewinding = true;
+            Gdx.app.debug("GameScreen", rewindBuffer.report());
 
+            //THE REWOUND SESSION NO LONGER MATCHES ITS SEED AND INPUTS
 
+            stopRecording();
+        }
 
+        rewindBuffer.restore(gameWorld, gameWorld.getTick() - 1);
     }
 
-
-    private void detectCollisions()
+    private void recordInput()
     {
-        //FOR EACH PLAYER LASER, CHECK WHETHER IT INTERSECTS AN ENEMY SHIP
+        if (replayRecorder == null) return;
 
-        ListIterator<Lasers> laserListIterator = playerlaserlist.listIterator();
-        while(laserListIterator.hasNext())
+        try
         {
-            Lasers laser = laserListIterator.next();
-
-            ListIterator<EnemyShip> enemyShipListIterator = enemyShipList.listIterator();
-            while (enemyShipListIterator.hasNext())
-            {
-                EnemyShip enemyShip = enemyShipListIterator.next();
-
-                if (enemyShip.intersects(laser.boundingBox)) {
-                    if (enemyShip.hitAndCheckDestroy(laser))
-                    {
-                        enemyShipListIterator.remove();
-                        explosionList.add(
-                                new Explosion(explosionTexture, new Rectangle(enemyShip.boundingBox), 07f));
-
-                        Score += 10;
-                        playerShip.lives = 3;
-
-                        if (playerShip.shield < 0)
-                        {
-
-                                playerShip.lives = 2;
-
-
-                        }
-
-                    }
-                    laserListIterator.remove();
-                    break;
-                }
-            }
+            replayRecorder.record(gameInput);
         }
-
-        //FOR EACH PLAYER LASER, CHECK WHETHER IT INTERSECTS AN PLAYER SHIP
-
-        laserListIterator = enemylaserlist.listIterator();
-        while(laserListIterator.hasNext())
+        catch (IOException e)
         {
-            Lasers laser = laserListIterator.next();
-
-            if (playerShip.intersects(laser.boundingBox))
-            {
-                //CONTACT WITH PLAYER SHIP
-
-                if (playerShip.hitAndCheckDestroy(laser))
-                {
-                    explosionList.add(
-                            new Explosion(explosionTexture, new Rectangle(playerShip.boundingBox), 1.6f));
-
-                    playerShip.shield = 10;
-                }
-
-                laserListIterator.remove();
-
-                break;
-            }
+            Gdx.app.error("GameScreen", "Replay recording stopped", e);
+            replayRecorder = null;
         }
-
     }
 
-    private void renderExplosions(float delta)
+    private void renderBackground(float delta)
     {
-        ListIterator<Explosion> explosionListIterator = explosionList.listIterator();
-        while (explosionListIterator.hasNext())
-        {
-            Explosion explosion = explosionListIterator.next();
-            explosion.update(delta);
-
-            if (explosion.isFinished())
-            {
-                explosionListIterator.remove();
-            }
-
-            else
-            {
-                explosion.draw(batch);
-            }
-        }
+        background.update(delta);
+        background.draw(batch);
     }
 
-    private void renderLasers(float delta)
-    {
-
-        //CREATE NEW LASERS
-
-        //PLAYER LASER
-
-        if (playerShip.canFireLaser())
-        {
-            Lasers[] lasers = playerShip.fireLasers();
-            for (Lasers laser: lasers)
-            {
-                playerlaserlist.add(laser);
-            }
-        }
+    @Override
+    public void resize(int width, int height) {
 
-        //ENEMY LASER
+        viewport.update(width, height, true);
+        batch.setProjectionMatrix(camera.combined);
 
-        ListIterator<EnemyShip> enemyShipListIterator = enemyShipList.listIterator();
-        while (enemyShipListIterator.hasNext())
-        {
-            EnemyShip enemyShip = enemyShipListIterator.next();
 
-            if (enemyShip.canFireLaser()) {
-                Lasers[] lasers = enemyShip.fireLasers();
-                for (Lasers laser : lasers) {
-                    enemylaserlist.add(laser);
-                }
-            }
-        }
+    }
 
+    @Override
+    public void pause() {
 
-        //DRAW LASERs & REMOVE OLD LASERS
+        //THE PROCESS MAY BE KILLED WHILE PAUSED, SO SAVE THE WORLD AND KEEP THE RECORDING USABLE
 
-        //PLayer
+        saveSnapshot();
 
-        ListIterator<Lasers> iterator = playerlaserlist.listIterator();
-        while(iterator.hasNext())
+        if (replayRecorder != null)
         {
-            Lasers laser = iterator.next();
-            laser.draw(batch);
-            laser.boundingBox.y += laser.movementSpeed* delta;
-
-            if(laser.boundingBox.y + WORLD_HEIGHT < 0)
+            try
             {
-                iterator.remove();
+                replayRecorder.flush(gameWorld.stateHash());
             }
-        }
-
-        //Enemy
-
-        ListIterator<Lasers> iterator1 = enemylaserlist.listIterator();
-        while(iterator1.hasNext())
-        {
-            Lasers laser = iterator1.next();
-            laser.draw(batch);
-            laser.boundingBox.y -= laser.movementSpeed* delta;
-
-            if(laser.boundingBox.y + WORLD_HEIGHT < 0)
+            catch (IOException e)
             {
-                iterator1.remove();
+                Gdx.app.error("GameScreen", "Replay recording stopped", e);
+                replayRecorder = null;
             }
         }
 
+        suspend();
     }
 
-    private void renderBackground(float delta)
-    {
-        backgroundOffset[0] += delta * backgroundMaxScrollingSpeed / 8;
-        backgroundOffset[1] += delta * backgroundMaxScrollingSpeed / 4;
-        backgroundOffset[2] += delta * backgroundMaxScrollingSpeed / 2;
-        backgroundOffset[3] += delta * backgroundMaxScrollingSpeed;
-
-        for (int layer = 0; layer < backgroundOffset.length; layer++)
-        {
-            if (backgroundOffset[layer] > WORLD_HEIGHT)
-            {
-                backgroundOffset[layer] = 0;
-            }
+    @Override
+    public void resume() {
 
-            batch.draw(backgrounds[layer], 0, -backgroundOffset[layer], WORLD_WIDTH, WORLD_HEIGHT);
+        //STILL ALIVE, SO THE SNAPSHOT IS NOT NEEDED
 
-            batch.draw(backgrounds[layer], 0, -backgroundOffset[layer] + WORLD_HEIGHT, WORLD_WIDTH, WORLD_HEIGHT);
-        }
+        Gdx.files.local(SNAPSHOT_FILE).delete();
 
+        wake();
     }
 
-    @Override
-    public void resize(int width, int height) {
+    private void suspend()
+    {
+        if (inputPilot != null)
+        {
+            inputPilot.reset();
+        }
 
-        viewport.update(width, height, true);
-        batch.setProjectionMatrix(camera.combined);
+        suspended = true;
+        Gdx.graphics.setContinuousRendering(false);
+    }
 
+    private void wake()
+    {
+        if (!suspended) return;
 
+        suspended = false;
+        resuming = true;
+        simulationAccumulator = 0;
+        Gdx.graphics.setContinuousRendering(true);
     }
 
     @Override
-    public void pause() {
+    public void hide() {
 
+        Gdx.input.setInputProcessor(null);
+        suspend();
     }
 
     @Override
-    public void resume() {
+    public void dispose() {
 
-    }
+        //A NORMAL EXIT PAUSES FIRST, WHICH SAVES THE WORLD; ONLY A KILLED PROCESS MAY RESUME FROM IT
 
-    @Override
-    public void hide() {
+        Gdx.files.local(SNAPSHOT_FILE).delete();
 
+        stopRecording();
+        resources.releaseAll(this);
     }
 
-    @Override
-    public void dispose() {
+    private void stopRecording()
+    {
+        if (replayRecorder == null) return;
 
+        try
+        {
+            replayRecorder.close(gameWorld.stateHash());
+        }
+        catch (IOException e)
+        {
+            Gdx.app.error("GameScreen", "Could not finish replay", e);
+        }
+        replayRecorder = null;
     }
 
     @Override
     public void show() {
 
+        Gdx.input.setInputProcessor(inputPilot);
+        wake();
     }
 }
@@ -0,0 +1,1239 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
+
+public class GameWorld {
+
+    //WORLD PARAMETERS
+
+    public static final float WORLD_WIDTH = 72;
+    public static final float WORLD_HEIGHT = 128;
+    public static final float TICK_DURATION = 1 / 60f;
+    private static final float TOUCH_MOVEMENT_THRESHOLD = 5F;
+
+    //RANDOMNESS & CONFIG
+
+    private final long seed;
+    final RandomXS128 random;
+    private final GameConfig config;
+
+    //GRAPHICS (NULL WHEN RUNNING HEADLESS)
+
+    private TextureRegion playerShipTextureRegion, playerShieldTextureRegion, enemyShipTextureRegion, enemyShieldTextureRegion;
+    TextureRegion playerLaserTextureRegion, enemyLaserTextureRegion;
+    TextureRegion[] explosionFrames;
+
+    //TIMING
+
+    long tick = 0;
+    long nextSpawnTick;
+
+    //FIRE, DIRECTION CHANGE AND SPAWN DEADLINES. EACH TICK ONLY THE DUE TIMERS ARE RUN,
+    //SORTED BY KIND AND THEN BY SHIP SERIAL SO THE ORDER DOES NOT DEPEND ON THE WHEEL.
+
+    static final int TIMER_SPAWN = 0;
+    static final int TIMER_DIRECTION = 1;
+    static final int TIMER_PLAYER_FIRE = 2;
+    static final int TIMER_ENEMY_FIRE = 3;
+    static final int TIMER_PLAYER_MISSILE = 4;
+    static final int TIMER_PLAYER_BEAM = 5;
+
+    private TimerWheel<Ship> timers;
+    private IntArray dueTimers;
+    private int dueTimerCursor;
+    private int spawnTimer;
+    private int missileTimer;
+    long nextMissileTick;
+    private int beamTimer;
+    long nextBeamTick;
+    int nextSerial = 1; //0 IS THE PLAYER
+
+    //FORMATION WAVES: CONSECUTIVE SPAWNS FOLLOW THE SAME PATH FROM THE SAME POINT
+
+    private static final int WAVE_SIZE = 5;
+    private static final float WAVE_MARGIN = 6;
+
+    int waveRemaining = 0;
+    int wavesStarted = 0;
+    int wavePath;
+    boolean waveMirrored;
+    float waveOriginX;
+    private final Vector2 pathPoint = new Vector2();
+
+    //BOSS: AT MOST ONE, CREATED WITH THE WORLD AND REUSED
+
+    private static final float BOSS_HOVER_HEIGHT = 30; //BELOW THE TOP EDGE
+    private static final int BOSS_SCORE = 100;
+
+    BossShip bossShip;
+    boolean bossActive = false;
+
+    //GROUP STEERING
+
+    private ProximityGrid proximityGrid;
+    private ShipSteerable pursuitTarget; //HOVERS ABOVE THE PLAYER
+
+    //UPDATE LEVEL OF DETAIL
+
+    private SimulationLod lod;
+
+    //WHAT EACH QUALITY LEVEL (GameInput.quality) CHANGES IN THE SIMULATION: HOW MUCH LONGER
+    //OFF-SCREEN ENTITIES MAY GO WITHOUT AN UPDATE (IF THE LEVEL OF DETAIL IS ON), AND HOW MUCH
+    //SLOWER ENEMIES SPAWN
+
+    static final int[] QUALITY_LOD_SCALE = {1, 1, 2, 2};
+    static final float[] QUALITY_SPAWN_SCALE = {1, 1, 1, 1.5f};
+    private int quality = 0;
+    private boolean holdSpawns = false; //GameInput.holdSpawns, FOR THIS TICK
+
+    //GAME OBJECTS
+
+    PlayerShip playerShip;
+    Array<EnemyShip> enemyShipList;
+    Array<Lasers> playerlaserlist;
+    Array<Lasers> enemylaserlist;
+    Array<Explosion> explosionList;
+    Array<Missile> missileList;
+
+    //HOMING MISSILES: ENEMIES ARE INDEXED ONCE PER TICK FOR TARGETING
+
+    private static final float MISSILE_WIDTH = 1, MISSILE_HEIGHT = 3;
+    private static final float MISSILE_RANGE = 64;
+    private static final float MISSILE_CONE_COS = 0.64f; //ABOUT 50 DEGREES EITHER SIDE OF THE HEADING
+
+    private KdTree<EnemyShip> enemyIndex;
+    private final MissileCone missileCone = new MissileCone();
+
+    //BEAM: A RAY UP FROM THE PLAYER, CAST THROUGH A GRID OF THE ENEMIES EVERY TICK
+
+    private static final float BEAM_WIDTH = 0.6f;
+    private static final float BEAM_CELL_SIZE = 8;
+
+    private RayGrid<EnemyShip> beamGrid;
+    private boolean beamHitDue = false;
+    float beamLength = 0; //TO THE FIRST ENEMY, OR THE BEAM'S RANGE
+
+    //COLLISIONS: EVERYTHING THAT CAN TOUCH IS REGISTERED EACH TICK WITH ITS CATEGORY AND THE
+    //CATEGORIES IT COLLIDES WITH, AND THE CONTACTS ARE HANDLED AFTERWARDS IN ONE BATCH
+
+    static final int CATEGORY_PLAYER = 1;
+    static final int CATEGORY_ENEMY = 1 << 1;
+    static final int CATEGORY_BOSS = 1 << 2;
+    static final int CATEGORY_PLAYER_LASER = 1 << 3;
+    static final int CATEGORY_ENEMY_LASER = 1 << 4;
+    static final int CATEGORY_MISSILE = 1 << 5;
+
+    private static final float COLLISION_CELL_SIZE = 16;
+
+    private CollisionWorld collisions;
+
+    //POOLS, SO THE STEADY-STATE TICK DOES NOT ALLOCATE
+
+    private static final int INITIAL_ENEMIES = 64;
+    private static final int INITIAL_LASERS = 512;
+    private static final int INITIAL_EXPLOSIONS = 32;
+    private static final int INITIAL_MISSILES = 16;
+
+    Pool<EnemyShip> enemyShipPool;
+    Pool<Lasers> laserPool;
+    Pool<Explosion> explosionPool;
+    Pool<Missile> missilePool;
+
+    int Score = 0;
+
+    //EVENTS: WHAT HAPPENED DURING THE TICK, DRAINED TO THE LISTENERS BEFORE IT ENDS. EXPLOSIONS,
+    //SCORE AND THE PLAYER'S RESPAWN ARE THE WORLD'S OWN LISTENER, NOT PART OF THE COLLISIONS.
+
+    private static final int INITIAL_EVENTS = 256;
+
+    private GameEvents events;
+    private final Rectangle eventBox = new Rectangle();
+
+    //STATISTICS
+
+    int playerDeaths = 0;
+    int enemiesDestroyed = 0;
+    int peakEnemies = 0;
+    int peakLasers = 0;
+    int droppedSpawns = 0; //OVER THE ENEMY BUDGET OR HELD BACK BY THE HOST
+    int droppedShots = 0; //OVER THE ENEMY LASER BUDGET
+
+    public GameWorld(long seed, TextureAtlas textureAtlas, Texture explosionTexture) {
+        this(seed, new GameConfig(), textureAtlas, explosionTexture);
+    }
+
+    public GameWorld(long seed, GameConfig config, TextureAtlas textureAtlas, Texture explosionTexture) {
+
+        this.seed = seed;
+        this.config = config;
+        random = new RandomXS128(seed);
+
+        //INITIALIZE TEXTURE REGIONS
+
+        if (textureAtlas != null)
+        {
+            playerShipTextureRegion = textureAtlas.findRegion("playerShip2_orange");
+            playerShieldTextureRegion = textureAtlas.findRegion("shield1");
+            playerLaserTextureRegion = textureAtlas.findRegion("laserGreen03");
+
+            enemyShipTextureRegion = textureAtlas.findRegion("enemyRed1");
+            enemyShieldTextureRegion = textureAtlas.findRegion("shield2");
+            enemyLaserTextureRegion = textureAtlas.findRegion("laserRed13");
+            if (!enemyShieldTextureRegion.isFlipY())
+            {
+                enemyShieldTextureRegion.flip(false, true);
+            }
+        }
+
+        if (explosionTexture != null)
+        {
+            explosionFrames = Explosion.splitFrames(explosionTexture);
+        }
+
+        //SETUP GAME OBJECTS
+
+        playerShip = new PlayerShip(config.playerMovementSpeed, config.playerShield,
+                config.playerLaserWidth, config.playerLaserHeight, config.playerLaserMovementSpeed,
+                config.playerTimeBetweenShots, 10, 10,
+                WORLD_WIDTH / 2, WORLD_HEIGHT / 4, playerShipTextureRegion, playerShieldTextureRegion, playerLaserTextureRegion);
+        playerShip.collisionMask = CollisionMaskData.PLAYER_SHIP;
+
+        enemyShipList = new Array<>(true, INITIAL_ENEMIES);
+
+        bossShip = new BossShip(config.bossMovementSpeed, config.enemyLaserWidth, config.enemyLaserHeight,
+                config.enemyLaserMovementSpeed, config.bossTimeBetweenShots,
+                enemyShipTextureRegion, enemyShieldTextureRegion, enemyLaserTextureRegion);
+
+        proximityGrid = new ProximityGrid(EnemyFlocking.NEIGHBOUR_RADIUS, WORLD_WIDTH, WORLD_HEIGHT, INITIAL_ENEMIES);
+        pursuitTarget = new ShipSteerable(playerShip, playerShip.movementSpeed, 0);
+
+        playerlaserlist = new Array<>(true, INITIAL_LASERS);
+        enemylaserlist = new Array<>(true, INITIAL_LASERS);
+        explosionList = new Array<>(true, INITIAL_EXPLOSIONS);
+        missileList = new Array<>(true, INITIAL_MISSILES);
+        enemyIndex = new KdTree<>(INITIAL_ENEMIES);
+        collisions = new CollisionWorld(COLLISION_CELL_SIZE, WORLD_WIDTH, WORLD_HEIGHT, INITIAL_LASERS * 2);
+        beamGrid = new RayGrid<>(BEAM_CELL_SIZE, WORLD_WIDTH, WORLD_HEIGHT, INITIAL_ENEMIES);
+
+        events = new GameEvents(INITIAL_EVENTS);
+        events.subscribe(new GameEvents.Listener() {
+            @Override
+            public void onEvent(GameEvents events, int event) {
+                applyDestroyed(events, event);
+            }
+        }, GameEvents.DESTROYED);
+
+        enemyShipPool = new Pool<EnemyShip>(INITIAL_ENEMIES) {
+            @Override
+            protected EnemyShip newObject() {
+                EnemyShip enemyShip = new EnemyShip(GameWorld.this.config.enemyMovementSpeed, GameWorld.this.config.enemyShield,
+                        GameWorld.this.config.enemyLaserWidth, GameWorld.this.config.enemyLaserHeight,
+                        GameWorld.this.config.enemyLaserMovementSpeed, GameWorld.this.config.enemyTimeBetweenShots,
+                        10, 10, 0, 0,
+                        enemyShipTextureRegion, enemyShieldTextureRegion, enemyLaserTextureRegion, random);
+                enemyShip.collisionMask = CollisionMaskData.ENEMY_SHIP;
+                enemyShip.steerable = new ShipSteerable(enemyShip, enemyShip.movementSpeed, EnemyFlocking.MAX_ACCELERATION);
+                enemyShip.flocking = new EnemyFlocking(enemyShip, proximityGrid, pursuitTarget);
+                return enemyShip;
+            }
+        };
+        laserPool = new Pool<Lasers>(INITIAL_LASERS * 2) {
+            @Override
+            protected Lasers newObject() {
+                return new Lasers();
+            }
+        };
+        explosionPool = new Pool<Explosion>(INITIAL_EXPLOSIONS) {
+            @Override
+            protected Explosion newObject() {
+                return new Explosion();
+            }
+        };
+
+        prefill(enemyShipPool, INITIAL_ENEMIES);
+        prefill(laserPool, INITIAL_LASERS * 2);
+        missilePool = new Pool<Missile>(INITIAL_MISSILES) {
+            @Override
+            protected Missile newObject() {
+                return new Missile();
+            }
+        };
+        prefill(explosionPool, INITIAL_EXPLOSIONS);
+        prefill(missilePool, INITIAL_MISSILES);
+
+        lod = new SimulationLod(config.lodMaxInterval, WORLD_WIDTH, WORLD_HEIGHT);
+
+        //FIRST DEADLINES
+
+        timers = new TimerWheel<>(INITIAL_ENEMIES * 2 + 2, tick);
+        dueTimers = new IntArray(INITIAL_ENEMIES * 2 + 2);
+
+        nextSpawnTick = tick + ticksFor(config.timeBetweenEnemySpawns);
+        playerShip.nextShotTick = tick + ticksFor(playerShip.timeBetweenShots);
+        nextMissileTick = tick + ticksFor(config.playerTimeBetweenMissiles);
+        nextBeamTick = tick + ticksFor(config.playerTimeBetweenBeamHits);
+        rebuildTimers();
+    }
+
+    static int ticksFor(float seconds)
+    {
+        return Math.max(1, Math.round(seconds / TICK_DURATION));
+    }
+
+    //RESCHEDULES EVERY TIMER FROM THE DEADLINES STORED ON THE WORLD AND THE SHIPS,
+    //AFTER THEY WERE SET DIRECTLY (E.G. BY RESTORING A SNAPSHOT)
+
+    void rebuildTimers()
+    {
+        timers.clear(tick);
+
+        spawnTimer = timers.schedule(nextSpawnTick, TIMER_SPAWN, null);
+        playerShip.shotTimer = timers.schedule(playerShip.nextShotTick, TIMER_PLAYER_FIRE, playerShip);
+        if (config.playerMissiles)
+        {
+            missileTimer = timers.schedule(nextMissileTick, TIMER_PLAYER_MISSILE, playerShip);
+        }
+        if (config.playerBeam)
+        {
+            beamTimer = timers.schedule(nextBeamTick, TIMER_PLAYER_BEAM, playerShip);
+        }
+
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            scheduleEnemy(enemyShipList.get(i));
+        }
+        if (bossActive)
+        {
+            bossShip.shotTimer = timers.schedule(bossShip.nextShotTick, TIMER_ENEMY_FIRE, bossShip);
+        }
+    }
+
+    private void scheduleEnemy(EnemyShip enemyShip)
+    {
+        enemyShip.shotTimer = timers.schedule(enemyShip.nextShotTick, TIMER_ENEMY_FIRE, enemyShip);
+        enemyShip.directionTimer = timers.schedule(enemyShip.nextDirectionChangeTick, TIMER_DIRECTION, enemyShip);
+    }
+
+    private static <T> void prefill(Pool<T> pool, int count)
+    {
+        Array<T> objects = new Array<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            objects.add(pool.obtain());
+        }
+        pool.freeAll(objects);
+    }
+
+    public GameEvents getEvents()
+    {
+        return events;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public long getTick()
+    {
+        return tick;
+    }
+
+    public int getScore()
+    {
+        return Score;
+    }
+
+    public int getPlayerShield()
+    {
+        return playerShip.shield;
+    }
+
+    public float getPlayerX()
+    {
+        return playerShip.boundingBox.x + playerShip.boundingBox.width / 2;
+    }
+
+    public float getPlayerY()
+    {
+        return playerShip.boundingBox.y + playerShip.boundingBox.height / 2;
+    }
+
+    public int getPlayerDeaths()
+    {
+        return playerDeaths;
+    }
+
+    public int getEnemiesDestroyed()
+    {
+        return enemiesDestroyed;
+    }
+
+    public int getEnemyCount()
+    {
+        return enemyShipList.size;
+    }
+
+    public int getLaserCount()
+    {
+        return playerlaserlist.size + enemylaserlist.size;
+    }
+
+    public int getMissileCount()
+    {
+        return missileList.size;
+    }
+
+    public int getExplosionCount()
+    {
+        return explosionList.size;
+    }
+
+    public int getPeakEnemies()
+    {
+        return peakEnemies;
+    }
+
+    public int getPeakLasers()
+    {
+        return peakLasers;
+    }
+
+    public int getDroppedSpawns()
+    {
+        return droppedSpawns;
+    }
+
+    public int getDroppedShots()
+    {
+        return droppedShots;
+    }
+
+    public long getLodUpdates()
+    {
+        return lod.updates;
+    }
+
+    public long getLodSkippedUpdates()
+    {
+        return lod.skippedUpdates;
+    }
+
+    public void update(GameInput input)
+    {
+        float delta = TICK_DURATION;
+
+        float playerX = getPlayerX(), playerY = getPlayerY();
+        applyInput(input, delta);
+
+        quality = Math.max(0, Math.min(input.quality, QUALITY_LOD_SCALE.length - 1));
+        lod.setIntervalScale(QUALITY_LOD_SCALE[quality]);
+        holdSpawns = input.holdSpawns;
+
+        //THE ENEMIES' PURSUIT TARGET FOLLOWS THE PLAYER AT A HEIGHT
+
+        pursuitTarget.position.set(getPlayerX(), getPlayerY() + EnemyFlocking.HOVER_HEIGHT);
+        pursuitTarget.linearVelocity.set(getPlayerX() - playerX, getPlayerY() - playerY).scl(1 / delta);
+
+        //COLLECT THE TIMERS DUE THIS TICK
+
+        timers.advance(tick, dueTimers);
+        sortDueTimers();
+        dueTimerCursor = 0;
+
+        runDueTimers(TIMER_SPAWN);
+
+        lod.prepare(playerShip, enemyShipList, playerlaserlist, config.enemyMovementSpeed, config.playerLaserMovementSpeed);
+        proximityGrid.rebuild(enemyShipList);
+
+        for (int i = 0; i < enemyShipList.size; i++) {
+
+            EnemyShip enemyShip = enemyShipList.get(i);
+
+            enemyShip.lodPendingTicks++;
+            int ticks = lod.step(enemyShip.lodPendingTicks, lod.enemyInterval(enemyShip));
+            if (ticks > 0)
+            {
+                moveEnemies(enemyShip, delta * ticks);
+                enemyShip.lodPendingTicks = 0;
+            }
+        }
+
+        runDueTimers(TIMER_DIRECTION);
+
+        if (bossActive)
+        {
+            moveBoss(delta);
+        }
+
+        //LASERS
+
+        updateLasers(delta);
+
+        //HOMING MISSILES
+
+        updateMissiles(delta);
+
+        //BEAM
+
+        updateBeam();
+
+        //DETECT COLLISIONS BETWEEN LASERS AND SHIPS
+
+        detectCollisions();
+
+        //EVENTS, BEFORE THE EXPLOSIONS SO THE NEW ONES START THIS TICK
+
+        events.drain();
+
+        //EXPLOSIONS
+
+        updateExplosions(delta);
+
+        peakEnemies = Math.max(peakEnemies, enemyShipList.size);
+        peakLasers = Math.max(peakLasers, playerlaserlist.size + enemylaserlist.size);
+
+        dueTimers.clear();
+        tick++;
+    }
+
+    private void sortDueTimers()
+    {
+        //INSERTION SORT, ONLY A HANDFUL OF TIMERS ARE DUE ON ANY TICK
+
+        int[] items = dueTimers.items;
+        for (int i = 1; i < dueTimers.size; i++)
+        {
+            int timer = items[i];
+            long key = timerOrder(timer);
+            int j = i - 1;
+            while (j >= 0 && timerOrder(items[j]) > key)
+            {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = timer;
+        }
+    }
+
+    private long timerOrder(int timer)
+    {
+        Ship ship = timers.getTarget(timer);
+        int serial = ship == null ? 0 : ship.serial;
+        return (long) timers.getKind(timer) << 32 | serial;
+    }
+
+    //RUNS THE DUE TIMERS UP TO AND INCLUDING THE GIVEN KIND
+
+    private void runDueTimers(int lastKind)
+    {
+        while (dueTimerCursor < dueTimers.size)
+        {
+            int timer = dueTimers.get(dueTimerCursor);
+            int kind = timers.getKind(timer);
+            if (kind > lastKind) return;
+            dueTimerCursor++;
+
+            switch (kind)
+            {
+                case TIMER_SPAWN:
+                    if (holdSpawns || enemyShipList.size >= config.maxEnemies)
+                    {
+                        droppedSpawns++;
+                    }
+                    else
+                    {
+                        spawnEnemyShip();
+                    }
+                    nextSpawnTick = tick + ticksFor(config.timeBetweenEnemySpawns * QUALITY_SPAWN_SCALE[quality]);
+                    timers.reschedule(timer, nextSpawnTick);
+                    break;
+
+                case TIMER_DIRECTION:
+                    EnemyShip enemyShip = (EnemyShip) timers.getTarget(timer);
+                    if (enemyShip.path == EnemyShip.NO_PATH)
+                    {
+                        enemyShip.randomizeDirectionVector();
+                    }
+                    enemyShip.nextDirectionChangeTick = tick + ticksFor(enemyShip.directionCFrequency);
+                    timers.reschedule(timer, enemyShip.nextDirectionChangeTick);
+                    break;
+
+                case TIMER_PLAYER_MISSILE:
+                    missileList.add(missilePool.obtain().set(getPlayerX(), playerShip.boundingBox.y + playerShip.boundingBox.height,
+                            MISSILE_WIDTH, MISSILE_HEIGHT, config.missileMovementSpeed, playerLaserTextureRegion));
+                    nextMissileTick = tick + ticksFor(config.playerTimeBetweenMissiles);
+                    timers.reschedule(timer, nextMissileTick);
+                    break;
+
+                case TIMER_PLAYER_BEAM:
+                    beamHitDue = true;
+                    nextBeamTick = tick + ticksFor(config.playerTimeBetweenBeamHits);
+                    timers.reschedule(timer, nextBeamTick);
+                    break;
+
+                case TIMER_PLAYER_FIRE:
+                case TIMER_ENEMY_FIRE:
+                    Ship ship = timers.getTarget(timer);
+                    if (kind == TIMER_ENEMY_FIRE && enemylaserlist.size >= config.maxEnemyLasers)
+                    {
+                        droppedShots++;
+                    }
+                    else
+                    {
+                        Array<Lasers> lasers = kind == TIMER_PLAYER_FIRE ? playerlaserlist : enemylaserlist;
+                        int fired = lasers.size;
+                        ship.fireLasers(lasers, laserPool);
+                        publish(GameEvents.FIRED, ship, lasers.size - fired);
+                    }
+                    ship.nextShotTick = tick + ticksFor(ship.timeBetweenShots);
+                    timers.reschedule(timer, ship.nextShotTick);
+                    break;
+            }
+        }
+    }
+
+    public void draw(RenderQueue renderQueue)
+    {
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            enemyShipList.get(i).draw(renderQueue);
+        }
+
+        if (bossActive)
+        {
+            bossShip.draw(renderQueue);
+        }
+
+        playerShip.draw(renderQueue);
+
+        if (beamLength > 0)
+        {
+            float beamY = playerShip.boundingBox.y + playerShip.boundingBox.height;
+            renderQueue.submit(RenderQueue.LAYER_LASERS, RenderQueue.depthOf(beamY), playerLaserTextureRegion,
+                    getPlayerX() - BEAM_WIDTH / 2, beamY, BEAM_WIDTH, beamLength);
+        }
+
+        for (int i = 0; i < playerlaserlist.size; i++)
+        {
+            playerlaserlist.get(i).draw(renderQueue);
+        }
+
+        for (int i = 0; i < enemylaserlist.size; i++)
+        {
+            enemylaserlist.get(i).draw(renderQueue);
+        }
+
+        for (int i = 0; i < missileList.size; i++)
+        {
+            missileList.get(i).draw(renderQueue);
+        }
+
+        for (int i = 0; i < explosionList.size; i++)
+        {
+            explosionList.get(i).draw(renderQueue);
+        }
+    }
+
+    //THRUSTER PARTICLES BEHIND EVERY SHIP, ON THE FRAME TIME. COSMETIC, THE SIMULATION DOES NOT SEE THEM.
+
+    private static final float THRUSTER_RATE = 40; //PARTICLES PER SECOND PER SHIP
+    private static final float THRUSTER_SPREAD = 0.25f;
+
+    public void emitThrusters(ParticleEngine particles, float delta)
+    {
+        Rectangle box = playerShip.boundingBox;
+        particles.emitRate(ParticleEngine.THRUSTER, box.x + box.width / 2, box.y, 0, -1, THRUSTER_SPREAD, THRUSTER_RATE, delta);
+
+        //ENEMIES FACE DOWN, SO THEIR ENGINES ARE AT THE TOP
+
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            box = enemyShipList.get(i).boundingBox;
+            particles.emitRate(ParticleEngine.THRUSTER, box.x + box.width / 2, box.y + box.height, 0, 1,
+                    THRUSTER_SPREAD, THRUSTER_RATE, delta);
+        }
+        if (bossActive)
+        {
+            box = bossShip.boundingBox;
+            particles.emitRate(ParticleEngine.THRUSTER, box.x + box.width / 2, box.y + box.height, 0, 1,
+                    THRUSTER_SPREAD * 2, THRUSTER_RATE * 3, delta);
+        }
+    }
+
+    //HASH OF THE SIMULATION STATE, USED TO CHECK THAT A REPLAY RAN BIT-FOR-BIT
+
+    public long stateHash()
+    {
+        long hash = seed;
+        hash = 31 * hash + tick;
+        hash = 31 * hash + Score;
+        hash = 31 * hash + hashShip(playerShip);
+
+        for (EnemyShip enemyShip : enemyShipList)
+        {
+            hash = 31 * hash + hashShip(enemyShip);
+            hash = 31 * hash + (enemyShip.destroyed ? 1 : 0);
+        }
+        if (bossActive)
+        {
+            hash = 31 * hash + hashRectangle(bossShip.boundingBox);
+            hash = 31 * hash + bossShip.liveParts;
+        }
+        for (Lasers laser : playerlaserlist)
+        {
+            hash = 31 * hash + hashRectangle(laser.boundingBox);
+        }
+        for (Lasers laser : enemylaserlist)
+        {
+            hash = 31 * hash + hashRectangle(laser.boundingBox);
+        }
+        for (Missile missile : missileList)
+        {
+            hash = 31 * hash + hashRectangle(missile.boundingBox);
+        }
+        hash = 31 * hash + explosionList.size;
+
+        return hash;
+    }
+
+    private static long hashShip(Ship ship)
+    {
+        return 31 * hashRectangle(ship.boundingBox) + ship.shield;
+    }
+
+    private static long hashRectangle(Rectangle rectangle)
+    {
+        return 31L * Float.floatToIntBits(rectangle.x) + Float.floatToIntBits(rectangle.y);
+    }
+
+    private void spawnEnemyShip()
+    {
+        if (waveRemaining == 0)
+        {
+            wavePath = random.nextInt(EnemyPath.FORMATIONS.length);
+            waveMirrored = random.nextBoolean();
+
+            EnemyPath path = EnemyPath.FORMATIONS[wavePath];
+            float minX = path.minOriginX(WAVE_MARGIN);
+            float maxX = path.maxOriginX(WORLD_WIDTH, WAVE_MARGIN);
+            waveOriginX = maxX > minX ? minX + random.nextFloat() * (maxX - minX) : WORLD_WIDTH / 2;
+            waveRemaining = WAVE_SIZE;
+            wavesStarted++;
+
+            if (config.wavesPerBoss > 0 && wavesStarted % config.wavesPerBoss == 0 && !bossActive)
+            {
+                spawnBoss();
+            }
+        }
+        waveRemaining--;
+
+        EnemyShip enemyShip = enemyShipPool.obtain();
+        enemyShip.spawn(waveOriginX, WORLD_HEIGHT - 1, config.enemyShield, nextSerial++);
+        enemyShip.followPath(wavePath, waveMirrored);
+        enemyShip.steerable.linearVelocity.setZero();
+        enemyShip.nextShotTick = tick + ticksFor(enemyShip.timeBetweenShots);
+        enemyShip.nextDirectionChangeTick = tick + ticksFor(enemyShip.directionCFrequency);
+        scheduleEnemy(enemyShip);
+        enemyShipList.add(enemyShip);
+        publish(GameEvents.SPAWNED, enemyShip, 0);
+    }
+
+    private void spawnBoss()
+    {
+        bossShip.spawn(WORLD_WIDTH / 2, WORLD_HEIGHT, nextSerial++);
+        bossShip.nextShotTick = tick + ticksFor(bossShip.timeBetweenShots);
+        bossShip.shotTimer = timers.schedule(bossShip.nextShotTick, TIMER_ENEMY_FIRE, bossShip);
+        bossActive = true;
+        publish(GameEvents.SPAWNED, bossShip, 0);
+    }
+
+    //THE BOSS DESCENDS TO ITS HEIGHT, THEN SLIDES FROM SIDE TO SIDE
+
+    private void moveBoss(float delta)
+    {
+        Rectangle box = bossShip.boundingBox;
+        float step = bossShip.movementSpeed * delta;
+
+        float hoverY = WORLD_HEIGHT - BOSS_HOVER_HEIGHT;
+        if (box.y > hoverY)
+        {
+            box.y = Math.max(box.y - step, hoverY);
+        }
+
+        box.x += bossShip.directionX * step;
+        if (box.x < 0 || box.x + box.width > WORLD_WIDTH)
+        {
+            box.x = Math.min(Math.max(box.x, 0), WORLD_WIDTH - box.width);
+            bossShip.directionX = -bossShip.directionX;
+        }
+    }
+
+    private void destroyBoss()
+    {
+        timers.cancel(bossShip.shotTimer);
+        bossActive = false;
+        enemiesDestroyed++;
+
+        publish(GameEvents.DESTROYED, bossShip, BOSS_SCORE);
+    }
+
+    private void applyInput(GameInput input, float delta) {
+
+        //STRATEGY : DETERMINE THE MAX DISTANCE THE SHIP CAN MOVE
+
+        //CHECK EACH KEY THAT MATTERS AND MOVE ACCORDINGLY
+
+        float leftLimit, rightLimit, upLimit, downLimit;
+
+        leftLimit = -playerShip.boundingBox.x;
+        downLimit = -playerShip.boundingBox.y;
+        rightLimit = WORLD_WIDTH - playerShip.boundingBox.x - playerShip.boundingBox.width;
+        upLimit = WORLD_HEIGHT / 2 - playerShip.boundingBox.y - playerShip.boundingBox.height;
+
+        if (input.isKeyPressed(GameInput.KEY_RIGHT) && rightLimit > 0)
+        {
+            playerShip.translate(Math.min(playerShip.movementSpeed * delta, rightLimit), 0f);
+        }
+
+        if (input.isKeyPressed(GameInput.KEY_UP) && upLimit > 0)
+        {
+            playerShip.translate(0f, Math.min(playerShip.movementSpeed * delta, upLimit));
+        }
+
+        if (input.isKeyPressed(GameInput.KEY_LEFT) && leftLimit < 0)
+        {
+            playerShip.translate(Math.max(-playerShip.movementSpeed * delta, leftLimit), 0f);
+        }
+
+        if (input.isKeyPressed(GameInput.KEY_DOWN) && downLimit < 0)
+        {
+            playerShip.translate(0f, Math.max(-playerShip.movementSpeed * delta, downLimit));
+        }
+
+        //TOUCH INPUT (ALREADY IN WORLD COORDINATES)
+
+        if (input.touched)
+        {
+            //CALCULATE THE X AND Y DIFFERENCES
+
+            float playerShipCenterX = playerShip.boundingBox.x + playerShip.boundingBox.width/2;
+            float playerShipCenterY = playerShip.boundingBox.y + playerShip.boundingBox.height/2;
+
+            float xTouchDifference = input.touchX - playerShipCenterX;
+            float yTouchDifference = input.touchY - playerShipCenterY;
+
+            float touchDistance = (float)Math.sqrt(xTouchDifference * xTouchDifference + yTouchDifference * yTouchDifference);
+
+            if (touchDistance > TOUCH_MOVEMENT_THRESHOLD)
+            {
+                //SCALE TO THE MAXIMUM SPEED OF THE SHIP
+
+                float xMove = xTouchDifference / touchDistance * playerShip.movementSpeed * delta;
+                float yMove = yTouchDifference / touchDistance * playerShip.movementSpeed * delta;
+
+                if (xMove > 2) xMove = Math.min(xMove, rightLimit);
+                else xMove = Math.max(xMove, leftLimit);
+
+                if (yMove > 2) yMove = Math.min(yMove, upLimit);
+                else yMove = Math.max(yMove, downLimit);
+
+                playerShip.translate(xMove, yMove);
+            }
+        }
+    }
+
+    private void moveEnemies(EnemyShip enemyShip, float delta)
+    {
+        float xMove, yMove;
+
+        if (enemyShip.path != EnemyShip.NO_PATH)
+        {
+            //FOLLOW THE FORMATION PATH, THEN KEEP GOING THE SAME WAY WHEN IT ENDS
+
+            EnemyPath path = EnemyPath.FORMATIONS[enemyShip.path];
+            enemyShip.pathDistance += enemyShip.movementSpeed * delta;
+            path.sample(enemyShip.pathDistance, pathPoint);
+
+            if (enemyShip.pathMirrored) pathPoint.x = -pathPoint.x;
+            xMove = enemyShip.pathOriginX + pathPoint.x - (enemyShip.boundingBox.x + enemyShip.boundingBox.width / 2);
+            yMove = enemyShip.pathOriginY + pathPoint.y - (enemyShip.boundingBox.y + enemyShip.boundingBox.height / 2);
+
+            enemyShip.steerable.linearVelocity.set(xMove, yMove).scl(1 / delta);
+
+            if (path.isFinished(enemyShip.pathDistance))
+            {
+                path.endDirection(enemyShip.directionVector);
+                if (enemyShip.pathMirrored) enemyShip.directionVector.x = -enemyShip.directionVector.x;
+                enemyShip.steerable.linearVelocity.set(enemyShip.directionVector).scl(enemyShip.movementSpeed);
+                enemyShip.path = EnemyShip.NO_PATH;
+            }
+        }
+        else
+        {
+            //FLOCK WITH THE NEIGHBOURS FROM THE PROXIMITY GRID
+
+            Vector2 velocity = enemyShip.flocking.steer(enemyShip.steerable, delta);
+            xMove = velocity.x * delta;
+            yMove = velocity.y * delta;
+        }
+
+        float leftLimit, rightLimit, upLimit, downLimit;
+
+        //ENEMIES STAY IN THE UPPER HALF. A SHIP JUST SPAWNED ABOVE THE TOP EDGE IS NOT
+        //PUSHED DOWN BY AN UPWARD MOVE, IT JUST DOES NOT RISE.
+
+        leftLimit = -enemyShip.boundingBox.x;
+        downLimit = WORLD_HEIGHT/2 - enemyShip.boundingBox.y;
+        rightLimit = WORLD_WIDTH - enemyShip.boundingBox.x - enemyShip.boundingBox.width;
+        upLimit = Math.max(WORLD_HEIGHT - enemyShip.boundingBox.y - enemyShip.boundingBox.height, 0);
+
+        if (xMove > 0) xMove = Math.min(xMove, rightLimit);
+        else xMove = Math.max(xMove, leftLimit);
+
+        if (yMove > 0) yMove = Math.min(yMove, upLimit);
+        else yMove = Math.max(yMove, downLimit);
+
+        enemyShip.translate(xMove, yMove);
+    }
+
+    private void detectCollisions()
+    {
+        //PROJECTILES ARE REGISTERED FIRST, SO THEY COME FIRST IN EVERY CONTACT AND THE CONTACTS
+        //ARE HANDLED LASER BY LASER, EACH AGAINST ITS TARGETS IN LIST ORDER (BOSS FIRST)
+
+        collisions.clear();
+
+        int firstPlayerLaser = collisions.size();
+        for (int i = 0; i < playerlaserlist.size; i++)
+        {
+            Lasers laser = playerlaserlist.get(i);
+            collisions.add(laser, laser.boundingBox, null, CATEGORY_PLAYER_LASER, CATEGORY_ENEMY | CATEGORY_BOSS);
+        }
+        int firstMissile = collisions.size();
+        for (int i = 0; i < missileList.size; i++)
+        {
+            Missile missile = missileList.get(i);
+            collisions.add(missile, missile.boundingBox, null, CATEGORY_MISSILE, CATEGORY_ENEMY | CATEGORY_BOSS);
+        }
+        int firstEnemyLaser = collisions.size();
+        for (int i = 0; i < enemylaserlist.size; i++)
+        {
+            Lasers laser = enemylaserlist.get(i);
+            collisions.add(laser, laser.boundingBox, null, CATEGORY_ENEMY_LASER, CATEGORY_PLAYER);
+        }
+
+        if (bossActive)
+        {
+            collisions.add(bossShip, bossShip.boundingBox, null, CATEGORY_BOSS, CATEGORY_PLAYER_LASER | CATEGORY_MISSILE);
+        }
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            EnemyShip enemyShip = enemyShipList.get(i);
+            collisions.add(enemyShip, enemyShip.boundingBox, enemyShip.collisionMask, CATEGORY_ENEMY,
+                    CATEGORY_PLAYER_LASER | CATEGORY_MISSILE);
+        }
+        collisions.add(playerShip, playerShip.boundingBox, playerShip.collisionMask, CATEGORY_PLAYER, CATEGORY_ENEMY_LASER);
+
+        collisions.computeContacts();
+
+        //EACH PROJECTILE HITS ONE TARGET. THE PLAYER TAKES AT MOST ONE HIT PER TICK.
+
+        boolean playerHit = false;
+
+        for (int i = 0; i < collisions.getContactCount(); i++)
+        {
+            int projectile = collisions.getFirst(i);
+            int target = collisions.getSecond(i);
+            if (collisions.isRemoved(projectile) || collisions.isRemoved(target)) continue;
+
+            Object owner = collisions.getOwner(target);
+            if (owner == bossShip)
+            {
+                //THE BOSS'S BOUNDING BOX WAS HIT, NOW ITS PARTS
+
+                int part = bossShip.hitPart(collisions.getBox(projectile));
+                if (part < 0) continue;
+
+                boolean destroyed = bossShip.hitPartAndCheckDestroy(part);
+                publish(GameEvents.HIT, bossShip, part);
+                if (destroyed)
+                {
+                    destroyBoss();
+                    collisions.remove(target);
+                }
+            }
+            else if (owner == playerShip)
+            {
+                if (playerHit) continue;
+                playerHit = true;
+
+                boolean destroyed = playerShip.hitAndCheckDestroy();
+                publish(GameEvents.HIT, playerShip, playerShip.shield);
+                if (destroyed)
+                {
+                    playerDeaths++;
+                    publish(GameEvents.DESTROYED, playerShip, 0);
+                }
+            }
+            else
+            {
+                EnemyShip enemyShip = (EnemyShip) owner;
+                boolean destroyed = enemyShip.hitAndCheckDestroy();
+                publish(GameEvents.HIT, enemyShip, enemyShip.shield);
+                if (destroyed)
+                {
+                    destroyEnemy(enemyShipList.indexOf(enemyShip, true));
+                    collisions.remove(target);
+                }
+            }
+            collisions.remove(projectile);
+        }
+
+        removeSpent(playerlaserlist, firstPlayerLaser, laserPool);
+        removeSpent(missileList, firstMissile, missilePool);
+        removeSpent(enemylaserlist, firstEnemyLaser, laserPool);
+        collisions.clear();
+    }
+
+    //FREES THE PROJECTILES WHOSE COLLIDERS WERE REMOVED, THE LIST WAS REGISTERED FROM firstCollider ON
+
+    private <T> void removeSpent(Array<T> projectiles, int firstCollider, Pool<T> pool)
+    {
+        for (int i = projectiles.size - 1; i >= 0; i--)
+        {
+            if (collisions.isRemoved(firstCollider + i))
+            {
+                pool.free(projectiles.removeIndex(i));
+            }
+        }
+    }
+
+    private void destroyEnemy(int index)
+    {
+        EnemyShip enemyShip = enemyShipList.removeIndex(index);
+        timers.cancel(enemyShip.shotTimer);
+        timers.cancel(enemyShip.directionTimer);
+        enemyShip.destroyed = true;
+        enemiesDestroyed++;
+
+        publish(GameEvents.DESTROYED, enemyShip, 10);
+        enemyShipPool.free(enemyShip);
+    }
+
+    private void publish(int type, Ship ship, int value)
+    {
+        int subject = ship == playerShip ? GameEvents.SUBJECT_PLAYER
+                : ship == bossShip ? GameEvents.SUBJECT_BOSS : GameEvents.SUBJECT_ENEMY;
+        Rectangle box = ship.boundingBox;
+        events.publish(type, subject, ship.serial, value, tick, box.x, box.y, box.width, box.height);
+    }
+
+    //THE WORLD'S OWN LISTENER: EXPLOSION AND SCORE FOR A DESTROYED SHIP, RESPAWN FOR THE PLAYER
+
+    private void applyDestroyed(GameEvents events, int event)
+    {
+        eventBox.set(events.getX(event), events.getY(event), events.getWidth(event), events.getHeight(event));
+
+        switch (events.getSubject(event))
+        {
+            case GameEvents.SUBJECT_PLAYER:
+                addExplosion(eventBox, 1.6f);
+                playerShip.shield = config.playerShield;
+                break;
+
+            case GameEvents.SUBJECT_BOSS:
+                addExplosion(eventBox, 1.6f);
+                Score += events.getValue(event);
+                break;
+
+            case GameEvents.SUBJECT_ENEMY:
+                addExplosion(eventBox, 07f);
+                Score += events.getValue(event);
+                playerShip.lives = 3;
+
+                if (playerShip.shield < 0)
+                {
+                    playerShip.lives = 2;
+                }
+                break;
+        }
+    }
+
+    private void updateMissiles(float delta)
+    {
+        runDueTimers(TIMER_PLAYER_MISSILE);
+        if (missileList.size == 0) return;
+
+        enemyIndex.clear();
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            EnemyShip enemyShip = enemyShipList.get(i);
+            enemyIndex.add(enemyShip, enemyShip.boundingBox.x + enemyShip.boundingBox.width / 2,
+                    enemyShip.boundingBox.y + enemyShip.boundingBox.height / 2);
+        }
+        enemyIndex.build();
+
+        float maxTurn = config.missileTurnRate * delta;
+
+        for (int i = 0; i < missileList.size; i++)
+        {
+            Missile missile = missileList.get(i);
+
+            //RE-TARGET: NEAREST LIVE ENEMY IN THE CONE AHEAD
+
+            missileCone.set(missile);
+            EnemyShip target = enemyIndex.nearest(missile.getCenterX(), missile.getCenterY(), MISSILE_RANGE, missileCone);
+            if (target != null)
+            {
+                missile.steerTowards(target.boundingBox.x + target.boundingBox.width / 2,
+                        target.boundingBox.y + target.boundingBox.height / 2, maxTurn);
+            }
+            missile.move(delta);
+
+            boolean outside = missile.boundingBox.y > WORLD_HEIGHT || missile.boundingBox.y + missile.boundingBox.height < 0
+                    || missile.boundingBox.x > WORLD_WIDTH || missile.boundingBox.x + missile.boundingBox.width < 0;
+
+            if (outside || missile.age >= config.missileLifetime)
+            {
+                missileList.removeIndex(i--);
+                missilePool.free(missile);
+            }
+        }
+    }
+
+    private void updateBeam()
+    {
+        runDueTimers(TIMER_PLAYER_BEAM);
+        if (!config.playerBeam) return;
+
+        beamGrid.clear();
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            Rectangle box = enemyShipList.get(i).boundingBox;
+            beamGrid.add(enemyShipList.get(i), box.x, box.y, box.width, box.height);
+        }
+        beamGrid.build();
+
+        //FIRST ENEMY STRAIGHT UP FROM THE NOSE OF THE SHIP
+
+        float beamY = playerShip.boundingBox.y + playerShip.boundingBox.height;
+        EnemyShip target = beamGrid.raycast(getPlayerX(), beamY, 0, 1, config.beamRange);
+        beamLength = target != null ? beamGrid.getHitDistance() : Math.min(config.beamRange, WORLD_HEIGHT - beamY);
+
+        if (target != null && beamHitDue)
+        {
+            boolean destroyed = target.hitAndCheckDestroy();
+            publish(GameEvents.HIT, target, target.shield);
+            if (destroyed)
+            {
+                destroyEnemy(enemyShipList.indexOf(target, true));
+            }
+        }
+        beamHitDue = false;
+        beamGrid.clear();
+    }
+
+    //ACCEPTS LIVE ENEMIES WITHIN THE CONE AHEAD OF THE MISSILE IT WAS SET FOR
+
+    private static class MissileCone implements KdTree.Filter<EnemyShip> {
+
+        private float x, y, directionX, directionY;
+
+        void set(Missile missile)
+        {
+            x = missile.getCenterX();
+            y = missile.getCenterY();
+            directionX = missile.directionX;
+            directionY = missile.directionY;
+        }
+
+        @Override
+        public boolean accept(EnemyShip enemyShip, float enemyX, float enemyY) {
+            if (enemyShip.destroyed) return false;
+
+            float toX = enemyX - x, toY = enemyY - y;
+            float dot = toX * directionX + toY * directionY;
+            return dot > 0 && dot * dot >= MISSILE_CONE_COS * MISSILE_CONE_COS * (toX * toX + toY * toY);
+        }
+    }
+
+    private void addExplosion(Rectangle boundingBox, float totalAnimationTime)
+    {
+        Explosion explosion = explosionPool.obtain();
+        explosion.set(explosionFrames, boundingBox, totalAnimationTime);
+        explosionList.add(explosion);
+    }
+
+    private void updateExplosions(float delta)
+    {
+        for (int i = 0; i < explosionList.size; i++)
+        {
+            Explosion explosion = explosionList.get(i);
+            explosion.update(delta);
+
+            if (explosion.isFinished())
+            {
+                explosionList.removeIndex(i--);
+                explosionPool.free(explosion);
+            }
+        }
+    }
+
+    private void updateLasers(float delta)
+    {
+        //CREATE NEW LASERS, PLAYER FIRST, FROM THE DUE FIRE TIMERS
+
+        runDueTimers(TIMER_ENEMY_FIRE);
+
+        //MOVE LASERS & REMOVE OLD LASERS
+
+        //PLAYER
+
+        for (int i = 0; i < playerlaserlist.size; i++)
+        {
+            Lasers laser = playerlaserlist.get(i);
+
+            laser.lodPendingTicks++;
+            int ticks = lod.step(laser.lodPendingTicks, lod.playerLaserInterval(laser));
+            if (ticks == 0) continue;
+
+            laser.boundingBox.y += laser.movementSpeed* delta * ticks;
+            laser.lodPendingTicks = 0;
+
+            if(laser.boundingBox.y > WORLD_HEIGHT)
+            {
+                playerlaserlist.removeIndex(i--);
+                laserPool.free(laser);
+            }
+        }
+
+        //ENEMY
+
+        for (int i = 0; i < enemylaserlist.size; i++)
+        {
+            Lasers laser = enemylaserlist.get(i);
+
+            laser.lodPendingTicks++;
+            int ticks = lod.step(laser.lodPendingTicks, lod.enemyLaserInterval(laser));
+            if (ticks == 0) continue;
+
+            laser.boundingBox.y -= laser.movementSpeed* delta * ticks;
+            laser.lodPendingTicks = 0;
+
+            if(laser.boundingBox.y + WORLD_HEIGHT < 0)
+            {
+                enemylaserlist.removeIndex(i--);
+                laserPool.free(laser);
+            }
+        }
+    }
+}
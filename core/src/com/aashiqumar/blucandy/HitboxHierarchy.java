@@ -0,0 +1,224 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.math.Rectangle;
+
+//BOUNDING VOLUME HIERARCHY OVER THE PART HITBOXES OF A MULTI-PART SHIP, IN COORDINATES
+//RELATIVE TO THE SHIP'S BOUNDING BOX. BUILT ONCE PER SHIP LAYOUT BY SPLITTING THE PARTS AT
+//THE MEDIAN CENTER ALONG THE LONGER SIDE, DOWN TO ONE PART PER LEAF. A QUERY ONLY DESCENDS
+//INTO THE NODES THE RECTANGLE OVERLAPS THAT STILL HOLD A LIVE PART NUMBERED BELOW THE BEST
+//HIT SO FAR, SO A LASER NEAR ONE PART COSTS ABOUT log2(PARTS) BOX TESTS INSTEAD OF ONE PER
+//PART. AT MOST 64 PARTS, SO EACH NODE'S PARTS AND THE LIVE PARTS FIT IN A long. IMMUTABLE
+//ONCE BUILT, SO ONE HIERARCHY IS SHARED BY EVERY SHIP OF ITS LAYOUT, ON ANY THREAD.
+
+public class HitboxHierarchy {
+
+    public static final int MAX_PARTS = 64;
+
+    private final float[] partXs, partYs, partWidths, partHeights;
+
+    //NODES IN DEPTH-FIRST ORDER, THE CHILD HOLDING THE LOWEST NUMBERED PART FIRST, SO A QUERY
+    //IS ONE PASS OVER THE ARRAY THAT JUMPS OVER EVERY SUBTREE IT DOES NOT NEED (NO STACK).
+    //PER NODE: BOUNDS (minX, minY, maxX, maxY), THE PARTS BELOW, THE NODE AFTER ITS SUBTREE,
+    //AND FOR A LEAF ITS PART (-1 FOR AN INNER NODE). NODE 0 IS THE ROOT.
+
+    private final float[] bounds;
+    private final long[] masks;
+    private final int[] skips;
+    private final int[] leafParts;
+    private int nodeCount = 0;
+
+    //BOX TESTS COUNTED FOR A CALLER (BENCHMARKS), NEVER BY THE HIERARCHY ITSELF
+
+    public static final class Stats {
+        public long nodeTests = 0;
+    }
+
+    //BOXES AS x, y, width, height PER PART
+
+    public HitboxHierarchy(float[] boxes)
+    {
+        int count = boxes.length / 4;
+        if (count == 0 || count > MAX_PARTS)
+        {
+            throw new IllegalArgumentException("A hitbox hierarchy has 1 to " + MAX_PARTS + " parts, not " + count);
+        }
+
+        partXs = new float[count];
+        partYs = new float[count];
+        partWidths = new float[count];
+        partHeights = new float[count];
+        for (int i = 0; i < count; i++)
+        {
+            partXs[i] = boxes[i * 4];
+            partYs[i] = boxes[i * 4 + 1];
+            partWidths[i] = boxes[i * 4 + 2];
+            partHeights[i] = boxes[i * 4 + 3];
+        }
+
+        int nodes = 2 * count - 1;
+        bounds = new float[nodes * 4];
+        masks = new long[nodes];
+        skips = new int[nodes];
+        leafParts = new int[nodes];
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            order[i] = i;
+        }
+        build(order, 0, count);
+    }
+
+    public int getPartCount()
+    {
+        return partXs.length;
+    }
+
+    public long allParts()
+    {
+        return partXs.length == MAX_PARTS ? -1L : (1L << partXs.length) - 1;
+    }
+
+    //PART BOX IN WORLD COORDINATES, FOR A SHIP WHOSE BOUNDING BOX STARTS AT (originX, originY)
+
+    public Rectangle getPart(int part, float originX, float originY, Rectangle out)
+    {
+        return out.set(originX + partXs[part], originY + partYs[part], partWidths[part], partHeights[part]);
+    }
+
+    private void build(int[] order, int from, int to)
+    {
+        int node = nodeCount++;
+
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++)
+        {
+            int part = order[i];
+            minX = Math.min(minX, partXs[part]);
+            minY = Math.min(minY, partYs[part]);
+            maxX = Math.max(maxX, partXs[part] + partWidths[part]);
+            maxY = Math.max(maxY, partYs[part] + partHeights[part]);
+            masks[node] |= 1L << part;
+        }
+        bounds[node * 4] = minX;
+        bounds[node * 4 + 1] = minY;
+        bounds[node * 4 + 2] = maxX;
+        bounds[node * 4 + 3] = maxY;
+
+        if (to - from == 1)
+        {
+            leafParts[node] = order[from];
+            skips[node] = nodeCount;
+            return;
+        }
+        leafParts[node] = -1;
+
+        //SORT THE RANGE BY CENTER ALONG THE LONGER SIDE (INSERTION SORT, LAYOUTS ARE SMALL)
+
+        boolean alongX = maxX - minX >= maxY - minY;
+        for (int i = from + 1; i < to; i++)
+        {
+            int part = order[i];
+            float center = center(part, alongX);
+            int j = i - 1;
+            while (j >= from && center(order[j], alongX) > center)
+            {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = part;
+        }
+
+        //THE HALF WITH THE LOWEST NUMBERED PART FIRST
+
+        int middle = (from + to) >>> 1;
+        int lowest = from;
+        for (int i = from + 1; i < to; i++)
+        {
+            if (order[i] < order[lowest]) lowest = i;
+        }
+        if (lowest < middle)
+        {
+            build(order, from, middle);
+            build(order, middle, to);
+        }
+        else
+        {
+            build(order, middle, to);
+            build(order, from, middle);
+        }
+        skips[node] = nodeCount;
+    }
+
+    private float center(int part, boolean alongX)
+    {
+        return alongX ? partXs[part] + partWidths[part] / 2 : partYs[part] + partHeights[part] / 2;
+    }
+
+    //LOWEST NUMBERED LIVE PART WHOSE BOX OVERLAPS THE RECTANGLE, OR -1. LAYOUTS LIST THEIR
+    //PARTS IN THE ORDER THEY SHOULD TAKE A HIT THAT TOUCHES SEVERAL OF THEM.
+
+    public int firstHit(float originX, float originY, Rectangle other, long liveParts)
+    {
+        return firstHit(originX, originY, other, liveParts, null);
+    }
+
+    //stats MAY BE NULL
+
+    public int firstHit(float originX, float originY, Rectangle other, long liveParts, Stats stats)
+    {
+        float minX = other.x - originX, minY = other.y - originY;
+        float maxX = minX + other.width, maxY = minY + other.height;
+
+        //ONLY PARTS NUMBERED BELOW THE BEST HIT SO FAR ARE STILL WANTED
+
+        long wanted = liveParts;
+        int best = -1;
+
+        int node = 0;
+        while (node < nodeCount)
+        {
+            if ((masks[node] & wanted) == 0)
+            {
+                node = skips[node];
+                continue;
+            }
+
+            if (stats != null) stats.nodeTests++;
+            int b = node * 4;
+            if (minX >= bounds[b + 2] || maxX <= bounds[b] || minY >= bounds[b + 3] || maxY <= bounds[b + 1])
+            {
+                node = skips[node];
+                continue;
+            }
+
+            if (leafParts[node] >= 0)
+            {
+                best = leafParts[node];
+                wanted &= (1L << best) - 1;
+            }
+            node++;
+        }
+        return best;
+    }
+
+    //SAME ANSWER BY TESTING EVERY PART, FOR CHECKS AND BENCHMARKS
+
+    public int firstHitLinear(float originX, float originY, Rectangle other, long liveParts, Stats stats)
+    {
+        float minX = other.x - originX, minY = other.y - originY;
+        float maxX = minX + other.width, maxY = minY + other.height;
+        for (int part = 0; part < partXs.length; part++)
+        {
+            if (stats != null) stats.nodeTests++;
+            if ((liveParts & 1L << part) != 0
+                    && minX < partXs[part] + partWidths[part] && maxX > partXs[part]
+                    && minY < partYs[part] + partHeights[part] && maxY > partYs[part])
+            {
+                return part;
+            }
+        }
+        return -1;
+    }
+}
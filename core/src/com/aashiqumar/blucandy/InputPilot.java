@@ -0,0 +1,222 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+//THE HUMAN PILOT. KEY AND TOUCH EVENTS ARE TIMESTAMPED AS THEY ARRIVE AND ACCUMULATED
+//UNTIL THE NEXT SIMULATION TICK, SO A TAP OR KEY PRESS SHORTER THAN A TICK IS NOT LOST.
+//EVENT-TO-SIMULATION AND EVENT-TO-PRESENT LATENCIES ARE KEPT IN HISTOGRAMS. WITH THE DEBUG
+//TOOLS ON, HOLDING BACKSPACE ASKS FOR A REWIND (GameInput.rewind) ON EVERY TICK.
+
+class InputPilot extends InputAdapter implements Pilot {
+
+    private static final int MAX_PENDING_EVENTS = 64;
+    private static final long REPORT_INTERVAL_NANOS = 10000000000L;
+
+    private final Viewport viewport;
+    private final boolean debugTools;
+    private final Vector2 touchPoint = new Vector2();
+
+    //INPUT ACCUMULATED SINCE THE LAST TICK
+
+    private int keysHeld = 0;
+    private int keysPressedSinceTick = 0;
+    private boolean rewindHeld = false;
+    private boolean rewindPressedSinceTick = false;
+    private int touchPointer = -1;
+    private boolean touchedSinceTick = false;
+    private float touchX, touchY;
+
+    //EVENT TIMESTAMPS WAITING FOR A TICK, THEN FOR A PRESENTED FRAME
+
+    private final long[] pendingEvents = new long[MAX_PENDING_EVENTS];
+    private int pendingCount = 0;
+    private final long[] simulatedEvents = new long[MAX_PENDING_EVENTS];
+    private int simulatedCount = 0;
+
+    final LatencyHistogram eventToSimulation = new LatencyHistogram("input->simulation");
+    final LatencyHistogram eventToPresent = new LatencyHistogram("input->present");
+    private long lastReport = TimeUtils.nanoTime();
+
+    InputPilot(Viewport viewport, boolean debugTools)
+    {
+        this.viewport = viewport;
+        this.debugTools = debugTools;
+    }
+
+    @Override
+    public void fly(GameWorld world, GameInput input)
+    {
+        input.clear();
+
+        input.keys = keysHeld | keysPressedSinceTick;
+        keysPressedSinceTick = 0;
+
+        input.rewind = rewindHeld || rewindPressedSinceTick;
+        rewindPressedSinceTick = false;
+
+        if (touchPointer >= 0 || touchedSinceTick)
+        {
+            input.touched = true;
+            input.touchX = touchX;
+            input.touchY = touchY;
+        }
+        touchedSinceTick = false;
+
+        //EVERYTHING PENDING IS NOW PART OF THE SIMULATION
+
+        long now = TimeUtils.nanoTime();
+        for (int i = 0; i < pendingCount; i++)
+        {
+            eventToSimulation.record(now - pendingEvents[i]);
+            if (simulatedCount < MAX_PENDING_EVENTS)
+            {
+                simulatedEvents[simulatedCount++] = pendingEvents[i];
+            }
+        }
+        pendingCount = 0;
+    }
+
+    //FORGETS HELD KEYS AND TOUCHES. CALLED WHEN THE GAME IS SUSPENDED: A KEY OR FINGER RELEASED
+    //WHILE THE WINDOW IS UNFOCUSED OR THE SCREEN HIDDEN NEVER SENDS ITS UP EVENT.
+
+    void reset()
+    {
+        keysHeld = 0;
+        keysPressedSinceTick = 0;
+        rewindHeld = false;
+        rewindPressedSinceTick = false;
+        touchPointer = -1;
+        touchedSinceTick = false;
+        pendingCount = 0;
+        simulatedCount = 0;
+    }
+
+    //CALLED ONCE THE FRAME SHOWING THE RESULT OF THE LAST TICKS HAS BEEN SUBMITTED
+
+    void presented()
+    {
+        long now = TimeUtils.nanoTime();
+        for (int i = 0; i < simulatedCount; i++)
+        {
+            eventToPresent.record(now - simulatedEvents[i]);
+        }
+        simulatedCount = 0;
+
+        if (now - lastReport > REPORT_INTERVAL_NANOS && eventToSimulation.getCount() > 0)
+        {
+            Gdx.app.log("InputLatency", eventToSimulation.toString());
+            Gdx.app.log("InputLatency", eventToPresent.toString());
+            eventToSimulation.reset();
+            eventToPresent.reset();
+            lastReport = now;
+        }
+    }
+
+    @Override
+    public boolean keyDown(int keycode)
+    {
+        if (keycode == Input.Keys.BACKSPACE && debugTools)
+        {
+            rewindHeld = true;
+            rewindPressedSinceTick = true;
+            timestampEvent();
+            return true;
+        }
+
+        int key = toGameKey(keycode);
+        if (key == 0) return false;
+
+        keysHeld |= key;
+        keysPressedSinceTick |= key;
+        timestampEvent();
+        return true;
+    }
+
+    @Override
+    public boolean keyUp(int keycode)
+    {
+        if (keycode == Input.Keys.BACKSPACE && debugTools)
+        {
+            rewindHeld = false;
+            timestampEvent();
+            return true;
+        }
+
+        int key = toGameKey(keycode);
+        if (key == 0) return false;
+
+        keysHeld &= ~key;
+        timestampEvent();
+        return true;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button)
+    {
+        if (touchPointer >= 0) return false;
+
+        touchPointer = pointer;
+        touchedSinceTick = true;
+        updateTouch(screenX, screenY);
+        return true;
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer)
+    {
+        if (pointer != touchPointer) return false;
+
+        updateTouch(screenX, screenY);
+        return true;
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button)
+    {
+        if (pointer != touchPointer) return false;
+
+        touchPointer = -1;
+        timestampEvent();
+        return true;
+    }
+
+    private void updateTouch(int screenX, int screenY)
+    {
+        //CONVERT TO WORLD POSITION
+
+        touchPoint.set(screenX, screenY);
+        viewport.unproject(touchPoint);
+
+        touchX = touchPoint.x;
+        touchY = touchPoint.y;
+        timestampEvent();
+    }
+
+    private void timestampEvent()
+    {
+        long eventTime = Gdx.input.getCurrentEventTime();
+        if (eventTime == 0) eventTime = TimeUtils.nanoTime();
+
+        if (pendingCount < MAX_PENDING_EVENTS)
+        {
+            pendingEvents[pendingCount++] = eventTime;
+        }
+    }
+
+    private static int toGameKey(int keycode)
+    {
+        switch (keycode)
+        {
+            case Input.Keys.LEFT: return GameInput.KEY_LEFT;
+            case Input.Keys.RIGHT: return GameInput.KEY_RIGHT;
+            case Input.Keys.UP: return GameInput.KEY_UP;
+            case Input.Keys.DOWN: return GameInput.KEY_DOWN;
+            default: return 0;
+        }
+    }
+}
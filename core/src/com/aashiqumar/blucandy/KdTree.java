@@ -0,0 +1,295 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+//2-D TREE OVER POINTS, REBUILT FROM SCRATCH WHENEVER THE POINTS MOVE (ONCE PER TICK).
+//THE TREE IS IMPLICIT: EACH RANGE OF THE ORDER ARRAY HAS ITS SPLITTING POINT IN THE
+//MIDDLE, PLACED THERE BY A QUICKSELECT ON ALTERNATING AXES, SO BUILDING IS O(N LOG N)
+//AND ALLOCATES NOTHING ONCE THE ARRAYS HAVE GROWN. NEAREST, K-NEAREST AND RADIUS
+//QUERIES SKIP EVERY HALF THAT IS FURTHER AWAY THAN THE BEST ANSWER SO FAR.
+
+public class KdTree<T> {
+
+    public interface Filter<T> {
+        boolean accept(T item, float x, float y);
+    }
+
+    private float[] xs, ys;
+    private Object[] items;
+    private int[] order;
+    private int size = 0;
+
+    //K-NEAREST SCRATCH: MAX-HEAP OF THE BEST CANDIDATES BY SQUARED DISTANCE
+
+    private int[] heap;
+    private float[] heapDistances;
+    private int heapSize, heapLimit;
+
+    //NEAREST SCRATCH
+
+    private int best;
+    private float bestDistance;
+    private Filter<T> filter;
+
+    public KdTree(int capacity)
+    {
+        xs = new float[capacity];
+        ys = new float[capacity];
+        items = new Object[capacity];
+        order = new int[capacity];
+        heap = new int[16];
+        heapDistances = new float[16];
+    }
+
+    public void clear()
+    {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    public void add(T item, float x, float y)
+    {
+        if (size == xs.length)
+        {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            items = Arrays.copyOf(items, capacity);
+            order = Arrays.copyOf(order, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        items[size] = item;
+        size++;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    //CALL AFTER THE LAST add, BEFORE ANY QUERY
+
+    public void build()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            order[i] = i;
+        }
+        build(0, size, 0);
+    }
+
+    private void build(int low, int high, int axis)
+    {
+        if (high - low <= 1) return;
+
+        int middle = (low + high) >>> 1;
+        select(low, high - 1, middle, axis);
+        build(low, middle, axis ^ 1);
+        build(middle + 1, high, axis ^ 1);
+    }
+
+    //QUICKSELECT: PUTS THE POINT OF RANK k ON THE AXIS AT order[k], SMALLER ONES BEFORE IT
+
+    private void select(int left, int right, int k, int axis)
+    {
+        float[] keys = axis == 0 ? xs : ys;
+
+        while (right > left)
+        {
+            float pivot = keys[order[(left + right) >>> 1]];
+            int i = left, j = right;
+            while (i <= j)
+            {
+                while (keys[order[i]] < pivot) i++;
+                while (keys[order[j]] > pivot) j--;
+                if (i <= j)
+                {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) right = j;
+            else if (k >= i) left = i;
+            else return;
+        }
+    }
+
+    //NEAREST ITEM WITHIN maxDistance THAT THE FILTER ACCEPTS (NULL FILTER ACCEPTS ALL), OR NULL
+
+    @SuppressWarnings("unchecked")
+    public T nearest(float x, float y, float maxDistance, Filter<T> filter)
+    {
+        this.filter = filter;
+        best = -1;
+        bestDistance = maxDistance * maxDistance;
+        nearest(0, size, 0, x, y);
+        this.filter = null;
+
+        return best < 0 ? null : (T) items[best];
+    }
+
+    private void nearest(int low, int high, int axis, float x, float y)
+    {
+        if (low >= high) return;
+
+        int middle = (low + high) >>> 1;
+        int point = order[middle];
+        float distance = distanceSquared(point, x, y);
+        if (distance < bestDistance && (filter == null || filter.accept(item(point), xs[point], ys[point])))
+        {
+            best = point;
+            bestDistance = distance;
+        }
+
+        float split = (axis == 0 ? x - xs[point] : y - ys[point]);
+        if (split < 0)
+        {
+            nearest(low, middle, axis ^ 1, x, y);
+            if (split * split < bestDistance) nearest(middle + 1, high, axis ^ 1, x, y);
+        }
+        else
+        {
+            nearest(middle + 1, high, axis ^ 1, x, y);
+            if (split * split < bestDistance) nearest(low, middle, axis ^ 1, x, y);
+        }
+    }
+
+    //UP TO k NEAREST ITEMS, CLOSEST FIRST, ADDED TO out. RETURNS HOW MANY WERE FOUND.
+
+    public int nearest(float x, float y, int k, Array<T> out)
+    {
+        if (heap.length < k)
+        {
+            heap = new int[k];
+            heapDistances = new float[k];
+        }
+        heapSize = 0;
+        heapLimit = k;
+        nearestK(0, size, 0, x, y);
+
+        //POP THE MAX-HEAP FROM THE BACK, SO THE CLOSEST ENDS UP FIRST
+
+        int found = heapSize;
+        int start = out.size;
+        out.setSize(start + found);
+        for (int i = found - 1; i >= 0; i--)
+        {
+            out.set(start + i, item(heap[0]));
+            heapSize--;
+            heap[0] = heap[heapSize];
+            heapDistances[0] = heapDistances[heapSize];
+            siftDown(0);
+        }
+        return found;
+    }
+
+    private void nearestK(int low, int high, int axis, float x, float y)
+    {
+        if (low >= high || heapLimit == 0) return;
+
+        int middle = (low + high) >>> 1;
+        int point = order[middle];
+        float distance = distanceSquared(point, x, y);
+        if (heapSize < heapLimit)
+        {
+            heap[heapSize] = point;
+            heapDistances[heapSize] = distance;
+            siftUp(heapSize++);
+        }
+        else if (distance < heapDistances[0])
+        {
+            heap[0] = point;
+            heapDistances[0] = distance;
+            siftDown(0);
+        }
+
+        float split = (axis == 0 ? x - xs[point] : y - ys[point]);
+        int nearLow = split < 0 ? low : middle + 1, nearHigh = split < 0 ? middle : high;
+        int farLow = split < 0 ? middle + 1 : low, farHigh = split < 0 ? high : middle;
+
+        nearestK(nearLow, nearHigh, axis ^ 1, x, y);
+        if (heapSize < heapLimit || split * split < heapDistances[0])
+        {
+            nearestK(farLow, farHigh, axis ^ 1, x, y);
+        }
+    }
+
+    //EVERY ITEM WITHIN radius, IN NO PARTICULAR ORDER, ADDED TO out. RETURNS HOW MANY.
+
+    public int within(float x, float y, float radius, Array<T> out)
+    {
+        int before = out.size;
+        within(0, size, 0, x, y, radius * radius, out);
+        return out.size - before;
+    }
+
+    private void within(int low, int high, int axis, float x, float y, float radiusSquared, Array<T> out)
+    {
+        if (low >= high) return;
+
+        int middle = (low + high) >>> 1;
+        int point = order[middle];
+        if (distanceSquared(point, x, y) <= radiusSquared)
+        {
+            out.add(item(point));
+        }
+
+        float split = (axis == 0 ? x - xs[point] : y - ys[point]);
+        if (split <= 0 || split * split <= radiusSquared) within(low, middle, axis ^ 1, x, y, radiusSquared, out);
+        if (split >= 0 || split * split <= radiusSquared) within(middle + 1, high, axis ^ 1, x, y, radiusSquared, out);
+    }
+
+    private float distanceSquared(int point, float x, float y)
+    {
+        float dx = xs[point] - x;
+        float dy = ys[point] - y;
+        return dx * dx + dy * dy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int point)
+    {
+        return (T) items[point];
+    }
+
+    private void siftUp(int i)
+    {
+        while (i > 0)
+        {
+            int parent = (i - 1) >>> 1;
+            if (heapDistances[parent] >= heapDistances[i]) return;
+            swapHeap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i)
+    {
+        while (true)
+        {
+            int largest = i;
+            int left = 2 * i + 1, right = left + 1;
+            if (left < heapSize && heapDistances[left] > heapDistances[largest]) largest = left;
+            if (right < heapSize && heapDistances[right] > heapDistances[largest]) largest = right;
+            if (largest == i) return;
+            swapHeap(i, largest);
+            i = largest;
+        }
+    }
+
+    private void swapHeap(int a, int b)
+    {
+        int point = heap[a];
+        heap[a] = heap[b];
+        heap[b] = point;
+        float distance = heapDistances[a];
+        heapDistances[a] = heapDistances[b];
+        heapDistances[b] = distance;
+    }
+}
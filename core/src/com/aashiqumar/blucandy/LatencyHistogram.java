@@ -0,0 +1,77 @@
+package com.aashiqumar.blucandy;
+
+//FIXED-BUCKET HISTOGRAM OF LATENCIES, 0.25 MS PER BUCKET UP TO 100 MS (PLUS ONE OVERFLOW BUCKET)
+
+class LatencyHistogram {
+
+    private static final long BUCKET_NANOS = 250000;
+    private static final int BUCKETS = 400;
+
+    private final String name;
+    private final int[] counts = new int[BUCKETS + 1];
+    private int total = 0;
+    private long maxNanos = 0;
+
+    LatencyHistogram(String name)
+    {
+        this.name = name;
+    }
+
+    void record(long nanos)
+    {
+        if (nanos < 0) nanos = 0;
+
+        counts[(int) Math.min(nanos / BUCKET_NANOS, BUCKETS)]++;
+        total++;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    int getCount()
+    {
+        return total;
+    }
+
+    //UPPER EDGE OF THE BUCKET HOLDING THE GIVEN PERCENTILE, IN MILLISECONDS
+
+    float percentileMillis(float percentile)
+    {
+        if (total == 0) return 0;
+
+        int rank = (int) Math.ceil(total * percentile / 100f);
+        int seen = 0;
+
+        for (int bucket = 0; bucket < counts.length; bucket++)
+        {
+            seen += counts[bucket];
+            if (seen >= rank)
+            {
+                if (bucket == BUCKETS) return maxNanos / 1e6f;
+                return (bucket + 1) * BUCKET_NANOS / 1e6f;
+            }
+        }
+
+        return maxNanos / 1e6f;
+    }
+
+    float maxMillis()
+    {
+        return maxNanos / 1e6f;
+    }
+
+    void reset()
+    {
+        for (int bucket = 0; bucket < counts.length; bucket++)
+        {
+            counts[bucket] = 0;
+        }
+        total = 0;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + ": n=" + total + " p50=" + percentileMillis(50) + "ms p95=" + percentileMillis(95)
+                + "ms p99=" + percentileMillis(99) + "ms max=" + maxMillis() + "ms";
+    }
+}
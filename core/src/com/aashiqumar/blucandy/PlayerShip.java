@@ -1,6 +1,8 @@
 package com.aashiqumar.blucandy;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
 class PlayerShip extends Ship {
 
@@ -24,21 +26,14 @@ class PlayerShip extends Ship {
     }
 
     @Override
-    public Lasers[] fireLasers()
+    public void fireLasers(Array<Lasers> lasers, Pool<Lasers> laserPool)
     {
-        Lasers[] laser = new Lasers[2];
-
-        laser[0] = new Lasers(boundingBox.x + boundingBox.width * 0.05f, boundingBox.y + boundingBox.height * 0.45f,
+        lasers.add(laserPool.obtain().set(boundingBox.x + boundingBox.width * 0.05f, boundingBox.y + boundingBox.height * 0.45f,
                 laserWidth, laserHeight,
-                laserMovementSpeed, laserTextureRegion);
+                laserMovementSpeed, laserTextureRegion));
 
-        laser[1] = new Lasers(boundingBox.x + boundingBox.width * 0.82f, boundingBox.y + boundingBox.height * 0.45f,
+        lasers.add(laserPool.obtain().set(boundingBox.x + boundingBox.width * 0.82f, boundingBox.y + boundingBox.height * 0.45f,
                 laserWidth,laserHeight,
-                laserMovementSpeed, laserTextureRegion);
-
-        timeSinceLastShot = 0;
-
-
-        return laser;
+                laserMovementSpeed, laserTextureRegion));
     }
 }
@@ -0,0 +1,139 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.ai.steer.Proximity;
+import com.badlogic.gdx.ai.steer.Steerable;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+
+//UNIFORM GRID OF SHIPS FOR NEIGHBOUR QUERIES, REBUILT ONCE PER TICK WITH A COUNTING SORT.
+//CELLS ARE AS WIDE AS THE QUERY RADIUS, SO A QUERY ONLY LOOKS AT THE 3X3 CELLS AROUND THE
+//OWNER AND A TICK OF GROUP STEERING IS O(N) FOR A BOUNDED DENSITY, NOT O(N^2).
+//NEIGHBOURS ARE REPORTED CELL BY CELL IN LIST ORDER, SO THE RESULT IS DETERMINISTIC.
+
+class ProximityGrid {
+
+    private final float radius;
+    private final int columns, rows;
+
+    private final int[] cellStarts;
+    private ShipSteerable[] members;
+    private int[] memberCells;
+    private int size = 0;
+
+    ProximityGrid(float radius, float worldWidth, float worldHeight, int capacity)
+    {
+        this.radius = radius;
+        columns = (int) Math.ceil(worldWidth / radius);
+        rows = (int) Math.ceil(worldHeight / radius);
+        cellStarts = new int[columns * rows + 1];
+        members = new ShipSteerable[capacity];
+        memberCells = new int[capacity];
+    }
+
+    float getRadius()
+    {
+        return radius;
+    }
+
+    void rebuild(Array<EnemyShip> enemyShipList)
+    {
+        size = enemyShipList.size;
+        if (members.length < size)
+        {
+            members = new ShipSteerable[size * 2];
+            memberCells = new int[size * 2];
+        }
+
+        //COUNT, THEN PREFIX SUM, THEN PLACE
+
+        for (int c = 0; c < cellStarts.length; c++)
+        {
+            cellStarts[c] = 0;
+        }
+        for (int i = 0; i < size; i++)
+        {
+            ShipSteerable steerable = enemyShipList.get(i).steerable;
+            steerable.syncPosition();
+            memberCells[i] = cell(steerable.position);
+            cellStarts[memberCells[i] + 1]++;
+        }
+        for (int c = 1; c < cellStarts.length; c++)
+        {
+            cellStarts[c] += cellStarts[c - 1];
+        }
+        for (int i = 0; i < size; i++)
+        {
+            int cell = memberCells[i];
+            members[cellStarts[cell]++] = enemyShipList.get(i).steerable;
+        }
+        for (int c = cellStarts.length - 1; c > 0; c--)
+        {
+            cellStarts[c] = cellStarts[c - 1];
+        }
+        cellStarts[0] = 0;
+    }
+
+    private int cell(Vector2 position)
+    {
+        return row(position.y) * columns + column(position.x);
+    }
+
+    private int column(float x)
+    {
+        return Math.min(Math.max((int) (x / radius), 0), columns - 1);
+    }
+
+    private int row(float y)
+    {
+        return Math.min(Math.max((int) (y / radius), 0), rows - 1);
+    }
+
+    //ONE QUERY PER SHIP, AS gdx-ai GROUP BEHAVIOURS HOLD A PROXIMITY FOR THEIR OWNER
+
+    class Query implements Proximity<Vector2> {
+
+        private Steerable<Vector2> owner;
+
+        Query(Steerable<Vector2> owner)
+        {
+            this.owner = owner;
+        }
+
+        @Override
+        public Steerable<Vector2> getOwner() {
+            return owner;
+        }
+
+        @Override
+        public void setOwner(Steerable<Vector2> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public int findNeighbors(ProximityCallback<Vector2> callback) {
+            Vector2 position = owner.getPosition();
+            int firstColumn = column(position.x - radius), lastColumn = column(position.x + radius);
+            int firstRow = row(position.y - radius), lastRow = row(position.y + radius);
+            float radiusSquared = radius * radius;
+            int neighbours = 0;
+
+            for (int r = firstRow; r <= lastRow; r++)
+            {
+                for (int c = firstColumn; c <= lastColumn; c++)
+                {
+                    int cell = r * columns + c;
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++)
+                    {
+                        ShipSteerable member = members[i];
+                        if (member != owner && member.position.dst2(position) < radiusSquared
+                                && callback.reportNeighbor(member))
+                        {
+                            neighbours++;
+                        }
+                    }
+                }
+            }
+            return neighbours;
+        }
+    }
+}
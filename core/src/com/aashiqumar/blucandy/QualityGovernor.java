@@ -0,0 +1,119 @@
+package com.aashiqumar.blucandy;
+
+import java.util.Locale;
+
+//WATCHES THE AVERAGE FRAME TIME OVER THE LAST WINDOW FRAMES AGAINST A BUDGET AND STEPS THE
+//QUALITY LEVEL DOWN (HIGHER NUMBER) WHILE IT IS OVER, AND BACK UP ONCE IT HAS BEEN WELL
+//UNDER FOR A WHILE. HYSTERESIS: LOWERING NEEDS THE AVERAGE OVER THE BUDGET, RESTORING NEEDS
+//IT UNDER RESTORE_FRACTION OF IT FOR RESTORE_FRAMES IN A ROW, AND NO CHANGE HAPPENS WITHIN
+//A FULL WINDOW OF THE LAST ONE, SO THE LEVEL DOES NOT OSCILLATE AROUND THE BUDGET.
+//
+//LEVELS, EACH KEEPING THE SAVINGS OF THE ONES BEFORE:
+//  0  FULL QUALITY
+//  1  3 BACKGROUND LAYERS, HALF THE PARTICLES
+//  2  2 BACKGROUND LAYERS, A QUARTER OF THE PARTICLES, FAR ENTITIES UPDATED HALF AS OFTEN
+//  3  1 BACKGROUND LAYER, A TENTH OF THE PARTICLES, ENEMIES SPAWN 1.5x SLOWER
+//THE SIMULATION HALF (GameWorld.QUALITY_*) REACHES THE WORLD THROUGH GameInput.quality, SO
+//IT IS RECORDED IN REPLAYS LIKE ANY OTHER INPUT.
+
+public class QualityGovernor {
+
+    public static final int LEVELS = GameWorld.QUALITY_LOD_SCALE.length;
+
+    private static final int[] BACKGROUND_LAYERS = {4, 3, 2, 1};
+    private static final float[] EFFECT_DENSITY = {1, 0.5f, 0.25f, 0.1f};
+
+    private static final int WINDOW = 60;
+    private static final float RESTORE_FRACTION = 0.6f;
+    private static final int RESTORE_FRAMES = 180;
+
+    private final float budgetSeconds;
+    private final float[] frameTimes = new float[WINDOW];
+    private float frameTimeSum = 0;
+    private long frames = 0;
+    private long lastChangeFrame = 0;
+    private int framesWithHeadroom = 0;
+    private int level = 0;
+
+    //LOG OF THE LAST ADJUSTMENT, AND HOW MANY THERE WERE
+
+    private String lastAdjustment = "";
+    public int adjustments = 0;
+
+    public QualityGovernor(float budgetSeconds)
+    {
+        this.budgetSeconds = budgetSeconds;
+    }
+
+    //CALLED ONCE PER FRAME WITH THE TIME THE FRAME'S WORK TOOK. RETURNS TRUE IF THE LEVEL CHANGED.
+
+    public boolean update(float frameSeconds)
+    {
+        int slot = (int) (frames % WINDOW);
+        frameTimeSum += frameSeconds - frameTimes[slot];
+        frameTimes[slot] = frameSeconds;
+        frames++;
+
+        if (slot == WINDOW - 1)
+        {
+            //RESUM ONCE PER WINDOW SO ROUNDING DOES NOT DRIFT OVER A LONG SESSION
+
+            frameTimeSum = 0;
+            for (float frameTime : frameTimes)
+            {
+                frameTimeSum += frameTime;
+            }
+        }
+
+        if (frames < WINDOW || frames - lastChangeFrame < WINDOW) return false;
+
+        float average = getAverageFrameTime();
+        framesWithHeadroom = average < budgetSeconds * RESTORE_FRACTION ? framesWithHeadroom + 1 : 0;
+
+        if (average > budgetSeconds && level < LEVELS - 1)
+        {
+            return change(level + 1, average);
+        }
+        if (framesWithHeadroom >= RESTORE_FRAMES && level > 0)
+        {
+            return change(level - 1, average);
+        }
+        return false;
+    }
+
+    private boolean change(int newLevel, float average)
+    {
+        lastAdjustment = String.format(Locale.ROOT, "frame %d: quality level %d -> %d, average frame %.2f ms, budget %.2f ms",
+                frames, level, newLevel, average * 1000, budgetSeconds * 1000);
+        level = newLevel;
+        lastChangeFrame = frames;
+        framesWithHeadroom = 0;
+        adjustments++;
+        return true;
+    }
+
+    public int getLevel()
+    {
+        return level;
+    }
+
+    public float getAverageFrameTime()
+    {
+        return frameTimeSum / Math.min(frames, WINDOW);
+    }
+
+    public String getLastAdjustment()
+    {
+        return lastAdjustment;
+    }
+
+    public int getBackgroundLayers()
+    {
+        return BACKGROUND_LAYERS[level];
+    }
+
+    public float getEffectDensity()
+    {
+        return EFFECT_DENSITY[level];
+    }
+}
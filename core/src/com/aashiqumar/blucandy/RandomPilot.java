@@ -0,0 +1,30 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+//HOLDS A RANDOM KEY COMBINATION FOR A RANDOM NUMBER OF TICKS
+
+public class RandomPilot implements Pilot {
+
+    private final RandomXS128 random;
+    private int ticksUntilChange = 0;
+    private int keys = 0;
+
+    public RandomPilot(long seed)
+    {
+        random = new RandomXS128(seed);
+    }
+
+    @Override
+    public void fly(GameWorld world, GameInput input)
+    {
+        if (ticksUntilChange-- <= 0)
+        {
+            keys = random.nextInt(16);
+            ticksUntilChange = 10 + random.nextInt(50);
+        }
+
+        input.clear();
+        input.keys = keys;
+    }
+}
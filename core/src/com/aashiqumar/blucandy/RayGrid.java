@@ -0,0 +1,254 @@
+package com.aashiqumar.blucandy;
+
+import java.util.Arrays;
+
+//UNIFORM GRID OF BOXES FOR RAY QUERIES, REBUILT ONCE PER TICK WITH A COUNTING SORT. A BOX
+//IS LISTED IN EVERY CELL IT OVERLAPS. A RAY WALKS THE CELLS IT CROSSES IN ORDER (GRID DDA,
+//AMANATIDES & WOO), TESTS ONLY THE BOXES LISTED THERE AND STOPS AS SOON AS THE CLOSEST HIT
+//SO FAR IS NEARER THAN THE FAR SIDE OF THE CURRENT CELL, SO THE COST DEPENDS ON THE CELLS
+//CROSSED BEFORE THE FIRST HIT, NOT ON THE NUMBER OF BOXES.
+
+public class RayGrid<T> {
+
+    private final float cellSize;
+    private final float width, height;
+    private final int columns, rows;
+
+    //BOXES, IN THE ORDER THEY WERE ADDED
+
+    private float[] xs, ys, widths, heights;
+    private Object[] items;
+    private int[] stamps; //LAST QUERY THAT TESTED THE BOX, SO A BOX IN SEVERAL CELLS IS TESTED ONCE
+    private int size = 0;
+    private int stamp = 0;
+
+    //CELL CONTENTS: BOX INDICES OF CELL c ARE members[cellStarts[c] .. cellStarts[c + 1])
+
+    private final int[] cellStarts;
+    private int[] members;
+
+    //RESULT OF THE LAST QUERY
+
+    private float hitDistance;
+
+    public RayGrid(float cellSize, float width, float height, int capacity)
+    {
+        this.cellSize = cellSize;
+        this.width = width;
+        this.height = height;
+        columns = (int) Math.ceil(width / cellSize);
+        rows = (int) Math.ceil(height / cellSize);
+        cellStarts = new int[columns * rows + 1];
+
+        xs = new float[capacity];
+        ys = new float[capacity];
+        widths = new float[capacity];
+        heights = new float[capacity];
+        items = new Object[capacity];
+        stamps = new int[capacity];
+        members = new int[capacity * 4];
+    }
+
+    public void clear()
+    {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    public void add(T item, float x, float y, float boxWidth, float boxHeight)
+    {
+        if (size == xs.length)
+        {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            widths = Arrays.copyOf(widths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            items = Arrays.copyOf(items, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        widths[size] = boxWidth;
+        heights[size] = boxHeight;
+        items[size] = item;
+        stamps[size] = stamp;
+        size++;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    //CALL AFTER THE LAST add, BEFORE ANY QUERY
+
+    public void build()
+    {
+        //COUNT, THEN PREFIX SUM, THEN PLACE
+
+        Arrays.fill(cellStarts, 0);
+        int entries = 0;
+        for (int i = 0; i < size; i++)
+        {
+            int firstColumn = column(xs[i]), lastColumn = column(xs[i] + widths[i]);
+            int firstRow = row(ys[i]), lastRow = row(ys[i] + heights[i]);
+            for (int r = firstRow; r <= lastRow; r++)
+            {
+                for (int c = firstColumn; c <= lastColumn; c++)
+                {
+                    cellStarts[r * columns + c + 1]++;
+                    entries++;
+                }
+            }
+        }
+        for (int c = 1; c < cellStarts.length; c++)
+        {
+            cellStarts[c] += cellStarts[c - 1];
+        }
+
+        if (members.length < entries)
+        {
+            members = new int[entries * 2];
+        }
+        for (int i = 0; i < size; i++)
+        {
+            int firstColumn = column(xs[i]), lastColumn = column(xs[i] + widths[i]);
+            int firstRow = row(ys[i]), lastRow = row(ys[i] + heights[i]);
+            for (int r = firstRow; r <= lastRow; r++)
+            {
+                for (int c = firstColumn; c <= lastColumn; c++)
+                {
+                    members[cellStarts[r * columns + c]++] = i;
+                }
+            }
+        }
+        for (int c = cellStarts.length - 1; c > 0; c--)
+        {
+            cellStarts[c] = cellStarts[c - 1];
+        }
+        cellStarts[0] = 0;
+    }
+
+    //FIRST BOX HIT BY THE RAY FROM (x, y) ALONG THE UNIT VECTOR (directionX, directionY)
+    //WITHIN maxDistance, OR NULL. A RAY STARTING INSIDE A BOX HITS IT AT DISTANCE 0.
+    //ONLY THE PART OF THE RAY INSIDE THE GRID AREA IS WALKED; BOXES STICKING OUT OF IT ARE
+    //LISTED IN THE EDGE CELLS THEY OVERLAP.
+
+    @SuppressWarnings("unchecked")
+    public T raycast(float x, float y, float directionX, float directionY, float maxDistance)
+    {
+        hitDistance = Float.POSITIVE_INFINITY;
+        stamp++;
+
+        float inverseX = 1 / directionX, inverseY = 1 / directionY;
+
+        //START IN THE CELL OF THE ORIGIN, OR OF THE POINT WHERE THE RAY ENTERS THE GRID
+
+        float start = entryDistance(0, 0, width, height, x, y, inverseX, inverseY, maxDistance);
+        if (start == Float.POSITIVE_INFINITY) return null;
+
+        int column = column(x + directionX * start);
+        int row = row(y + directionY * start);
+        int stepColumn = directionX > 0 ? 1 : directionX < 0 ? -1 : 0;
+        int stepRow = directionY > 0 ? 1 : directionY < 0 ? -1 : 0;
+
+        //DISTANCE ALONG THE RAY TO THE NEXT VERTICAL / HORIZONTAL CELL EDGE, AND BETWEEN EDGES
+
+        float nextColumnEdge = stepColumn == 0 ? Float.POSITIVE_INFINITY
+                : ((column + (stepColumn > 0 ? 1 : 0)) * cellSize - x) * inverseX;
+        float nextRowEdge = stepRow == 0 ? Float.POSITIVE_INFINITY
+                : ((row + (stepRow > 0 ? 1 : 0)) * cellSize - y) * inverseY;
+        float columnStep = stepColumn == 0 ? Float.POSITIVE_INFINITY : cellSize * Math.abs(inverseX);
+        float rowStep = stepRow == 0 ? Float.POSITIVE_INFINITY : cellSize * Math.abs(inverseY);
+
+        int best = -1;
+        while (true)
+        {
+            int cell = row * columns + column;
+            for (int m = cellStarts[cell]; m < cellStarts[cell + 1]; m++)
+            {
+                int i = members[m];
+                if (stamps[i] == stamp) continue;
+                stamps[i] = stamp;
+
+                float distance = entryDistance(xs[i], ys[i], widths[i], heights[i], x, y, inverseX, inverseY, maxDistance);
+                if (distance < hitDistance)
+                {
+                    hitDistance = distance;
+                    best = i;
+                }
+            }
+
+            //EARLY EXIT: NOTHING IN A LATER CELL CAN BE HIT BEFORE THE FAR SIDE OF THIS ONE
+
+            float cellExit = Math.min(nextColumnEdge, nextRowEdge);
+            if (hitDistance <= cellExit || cellExit > maxDistance) break;
+
+            if (nextColumnEdge < nextRowEdge)
+            {
+                column += stepColumn;
+                if (column < 0 || column >= columns) break;
+                nextColumnEdge += columnStep;
+            }
+            else
+            {
+                row += stepRow;
+                if (row < 0 || row >= rows) break;
+                nextRowEdge += rowStep;
+            }
+        }
+
+        return best < 0 ? null : (T) items[best];
+    }
+
+    //DISTANCE ALONG THE RAY OF THE HIT RETURNED BY THE LAST raycast
+
+    public float getHitDistance()
+    {
+        return hitDistance;
+    }
+
+    //SLAB TEST: DISTANCE AT WHICH THE RAY ENTERS THE BOX (0 IF IT STARTS INSIDE), OR
+    //POSITIVE INFINITY IF IT MISSES IT WITHIN maxDistance
+
+    static float entryDistance(float boxX, float boxY, float boxWidth, float boxHeight,
+                               float x, float y, float inverseX, float inverseY, float maxDistance)
+    {
+        float near = 0, far = maxDistance;
+
+        if (Float.isInfinite(inverseX))
+        {
+            if (x < boxX || x > boxX + boxWidth) return Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            float t1 = (boxX - x) * inverseX, t2 = (boxX + boxWidth - x) * inverseX;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+
+        if (Float.isInfinite(inverseY))
+        {
+            if (y < boxY || y > boxY + boxHeight) return Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            float t1 = (boxY - y) * inverseY, t2 = (boxY + boxHeight - y) * inverseY;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+
+        return near <= far ? near : Float.POSITIVE_INFINITY;
+    }
+
+    private int column(float x)
+    {
+        return Math.min(Math.max((int) Math.floor(x / cellSize), 0), columns - 1);
+    }
+
+    private int row(float y)
+    {
+        return Math.min(Math.max((int) Math.floor(y / cellSize), 0), rows - 1);
+    }
+}
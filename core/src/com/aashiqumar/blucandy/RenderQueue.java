@@ -0,0 +1,199 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+//COLLECTS THE SPRITES OF A FRAME WITH A SORT KEY (LAYER, TEXTURE, DEPTH), RADIX-SORTS
+//THEM AND SUBMITS THEM TO THE BATCH IN ONE PASS, SO THE BATCH ONLY FLUSHES WHEN THE
+//TEXTURE REALLY CHANGES. THE SORT IS STABLE: EQUAL KEYS KEEP SUBMISSION ORDER.
+
+class RenderQueue {
+
+    //LAYERS, BACK TO FRONT
+
+    static final int LAYER_SHIPS = 1;
+    static final int LAYER_SHIELDS = 2;
+    static final int LAYER_LASERS = 3;
+    static final int LAYER_EFFECTS = 4;
+
+    private static final int MAX_TEXTURES = 256;
+
+    //KEY: 8 BITS LAYER | 8 BITS TEXTURE ID | 16 BITS DEPTH
+
+    private int[] keys;
+    private TextureRegion[] regions;
+    private float[] xs, ys, widths, heights;
+    private int[] order, sortedOrder, sortedKeys;
+    private final int[] counts = new int[256];
+    private int size = 0;
+
+    private final Array<Texture> textures = new Array<>(true, 16, Texture.class);
+    private int lastTextureSwitches = 0;
+
+    RenderQueue(int initialCapacity)
+    {
+        allocate(initialCapacity);
+    }
+
+    //ASCENDING DEPTH IS DRAWN FIRST; HIGHER ON SCREEN MEANS FARTHER AWAY
+
+    static int depthOf(float y)
+    {
+        float normalized = 1 - (y + GameWorld.WORLD_HEIGHT) / (GameWorld.WORLD_HEIGHT * 3);
+        return (int) (Math.max(0, Math.min(1, normalized)) * 0xFFFF);
+    }
+
+    void submit(int layer, int depth, TextureRegion region, float x, float y, float width, float height)
+    {
+        if (size == keys.length)
+        {
+            grow();
+        }
+
+        keys[size] = (layer & 0xFF) << 24 | textureId(region.getTexture()) << 16 | (depth & 0xFFFF);
+        regions[size] = region;
+        xs[size] = x;
+        ys[size] = y;
+        widths[size] = width;
+        heights[size] = height;
+        size++;
+    }
+
+    void flush(Batch batch)
+    {
+        sort();
+
+        Texture lastTexture = null;
+        lastTextureSwitches = 0;
+
+        for (int i = 0; i < size; i++)
+        {
+            int command = order[i];
+            TextureRegion region = regions[command];
+
+            if (region.getTexture() != lastTexture)
+            {
+                lastTexture = region.getTexture();
+                lastTextureSwitches++;
+            }
+
+            batch.draw(region, xs[command], ys[command], widths[command], heights[command]);
+            regions[command] = null;
+        }
+
+        size = 0;
+    }
+
+    //NUMBER OF TEXTURE CHANGES (AND SO BATCH FLUSHES) IN THE LAST FLUSHED FRAME
+
+    int getLastTextureSwitches()
+    {
+        return lastTextureSwitches;
+    }
+
+    private int textureId(Texture texture)
+    {
+        for (int id = 0; id < textures.size; id++)
+        {
+            if (textures.items[id] == texture) return id;
+        }
+
+        if (textures.size == MAX_TEXTURES)
+        {
+            textures.clear();
+        }
+        textures.add(texture);
+        return textures.size - 1;
+    }
+
+    //LSD RADIX SORT OF THE INDICES, ONE BYTE PER PASS, SKIPPING BYTES THAT ARE THE SAME FOR ALL KEYS
+
+    private void sort()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            order[i] = i;
+        }
+
+        int[] currentKeys = keys;
+        int[] currentOrder = order;
+        int[] nextKeys = sortedKeys;
+        int[] nextOrder = sortedOrder;
+
+        for (int shift = 0; shift < 32; shift += 8)
+        {
+            for (int b = 0; b < 256; b++)
+            {
+                counts[b] = 0;
+            }
+            for (int i = 0; i < size; i++)
+            {
+                counts[(currentKeys[i] >>> shift) & 0xFF]++;
+            }
+            if (size == 0 || counts[(currentKeys[0] >>> shift) & 0xFF] == size)
+            {
+                continue;
+            }
+
+            int sum = 0;
+            for (int b = 0; b < 256; b++)
+            {
+                int count = counts[b];
+                counts[b] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < size; i++)
+            {
+                int destination = counts[(currentKeys[i] >>> shift) & 0xFF]++;
+                nextKeys[destination] = currentKeys[i];
+                nextOrder[destination] = currentOrder[i];
+            }
+
+            int[] swap = currentKeys;
+            currentKeys = nextKeys;
+            nextKeys = swap;
+            swap = currentOrder;
+            currentOrder = nextOrder;
+            nextOrder = swap;
+        }
+
+        //THE SORTED ORDER MAY HAVE ENDED UP IN THE SCRATCH ARRAYS
+
+        if (currentOrder != order)
+        {
+            System.arraycopy(currentOrder, 0, order, 0, size);
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new int[capacity];
+        regions = new TextureRegion[capacity];
+        xs = new float[capacity];
+        ys = new float[capacity];
+        widths = new float[capacity];
+        heights = new float[capacity];
+        order = new int[capacity];
+        sortedOrder = new int[capacity];
+        sortedKeys = new int[capacity];
+    }
+
+    private void grow()
+    {
+        int[] oldKeys = keys;
+        TextureRegion[] oldRegions = regions;
+        float[] oldXs = xs, oldYs = ys, oldWidths = widths, oldHeights = heights;
+
+        allocate(oldKeys.length * 2);
+
+        System.arraycopy(oldKeys, 0, keys, 0, size);
+        System.arraycopy(oldRegions, 0, regions, 0, size);
+        System.arraycopy(oldXs, 0, xs, 0, size);
+        System.arraycopy(oldYs, 0, ys, 0, size);
+        System.arraycopy(oldWidths, 0, widths, 0, size);
+        System.arraycopy(oldHeights, 0, heights, 0, size);
+    }
+}
@@ -0,0 +1,213 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+//READS A FILE WRITTEN BY ReplayRecorder AND HANDS OUT THE INPUT OF ONE TICK AT A TIME. A
+//FILE THAT ENDS WITHOUT ITS END MARKER (THE PROCESS WAS KILLED) ENDS AT ITS LAST COMPLETE
+//RECORD; play() CHECKS THE WORLD AGAINST EVERY CHECKPOINT AND THE TRAILER IT REACHES.
+
+public class ReplayPlayer {
+
+    private final DataInputStream in;
+    private final long seed;
+    private final GameInput current = new GameInput();
+
+    private int ticksUntilNextRecord;
+    private int nextMask;
+    private boolean finished = false;
+    private boolean cutOff = false;
+
+    //LAST MARKER READ AND NOT YET CHECKED, -1 FOR NONE
+
+    private long markerTick = -1;
+    private long markerHash;
+    private int checkedStates = 0;
+
+    public ReplayPlayer(InputStream inputStream) throws IOException
+    {
+        in = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if (in.readInt() != ReplayRecorder.MAGIC)
+        {
+            throw new GdxRuntimeException("Not a replay file");
+        }
+
+        int version = in.readUnsignedByte();
+        if (version != ReplayRecorder.VERSION)
+        {
+            throw new GdxRuntimeException("Unsupported replay version: " + version);
+        }
+
+        seed = in.readLong();
+
+        float tickDuration = in.readFloat();
+        if (tickDuration != GameWorld.TICK_DURATION)
+        {
+            throw new GdxRuntimeException("Replay was recorded with a different tick duration: " + tickDuration);
+        }
+
+        try
+        {
+            readRecordHeader();
+        }
+        catch (EOFException e)
+        {
+            endCutOff();
+        }
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    //FILLS THE INPUT FOR THE NEXT TICK, RETURNS FALSE ONCE THE RECORDING IS EXHAUSTED
+
+    public boolean next(GameInput input) throws IOException
+    {
+        while (!finished && ticksUntilNextRecord == 0)
+        {
+            try
+            {
+                readRecord();
+            }
+            catch (EOFException e)
+            {
+                endCutOff();
+            }
+        }
+
+        if (finished) return false;
+
+        ticksUntilNextRecord--;
+        input.set(current);
+        return true;
+    }
+
+    //RUNS THE WHOLE REPLAY WITHOUT GRAPHICS AND RETURNS THE WORLD IN ITS FINAL STATE. THROWS
+    //IF THE WORLD DOES NOT MATCH A CHECKPOINT OR THE TRAILER OF THE RECORDED SESSION.
+
+    public GameWorld play() throws IOException
+    {
+        return play(new GameConfig());
+    }
+
+    //THE CONFIG IS NOT IN THE FILE: A SESSION RECORDED WITH ANOTHER ONE NEEDS IT PASSED IN
+
+    public GameWorld play(GameConfig config) throws IOException
+    {
+        GameWorld world = new GameWorld(seed, config, null, null);
+        GameInput input = new GameInput();
+
+        while (true)
+        {
+            boolean more = next(input);
+            checkMarker(world);
+            if (!more) return world;
+
+            world.update(input);
+        }
+    }
+
+    public static GameWorld runHeadless(InputStream inputStream) throws IOException
+    {
+        return new ReplayPlayer(inputStream).play();
+    }
+
+    //CHECKPOINTS AND TRAILER THE REPLAYED WORLD MATCHED
+
+    public int getCheckedStates()
+    {
+        return checkedStates;
+    }
+
+    //TRUE IF THE FILE ENDED WITHOUT ITS END MARKER
+
+    public boolean isCutOff()
+    {
+        return cutOff;
+    }
+
+    private void readRecord() throws IOException
+    {
+        if ((nextMask & (ReplayRecorder.CHECKPOINT | ReplayRecorder.END_OF_REPLAY)) != 0)
+        {
+            long tick = in.readLong();
+            long hash = in.readLong();
+            markerTick = tick;
+            markerHash = hash;
+
+            if ((nextMask & ReplayRecorder.END_OF_REPLAY) != 0)
+            {
+                finished = true;
+                in.close();
+                return;
+            }
+        }
+
+        if ((nextMask & ReplayRecorder.CHANGED_KEYS) != 0) current.keys = in.readUnsignedByte();
+        if ((nextMask & ReplayRecorder.CHANGED_TOUCHED) != 0) current.touched = !current.touched;
+        if ((nextMask & ReplayRecorder.CHANGED_TOUCH_X) != 0)
+        {
+            current.touchX = Float.intBitsToFloat(Float.floatToIntBits(current.touchX) ^ readVarInt());
+        }
+        if ((nextMask & ReplayRecorder.CHANGED_TOUCH_Y) != 0)
+        {
+            current.touchY = Float.intBitsToFloat(Float.floatToIntBits(current.touchY) ^ readVarInt());
+        }
+        if ((nextMask & ReplayRecorder.CHANGED_QUALITY) != 0) current.quality = in.readUnsignedByte();
+        if ((nextMask & ReplayRecorder.CHANGED_HOLD_SPAWNS) != 0) current.holdSpawns = !current.holdSpawns;
+
+        readRecordHeader();
+    }
+
+    private void endCutOff() throws IOException
+    {
+        finished = true;
+        cutOff = true;
+        in.close();
+    }
+
+    private void checkMarker(GameWorld world)
+    {
+        if (markerTick < 0) return;
+
+        if (world.getTick() != markerTick || world.stateHash() != markerHash)
+        {
+            throw new GdxRuntimeException("Replay diverged from the recorded session: tick " + world.getTick()
+                    + " state " + Long.toHexString(world.stateHash()) + ", recorded tick " + markerTick
+                    + " state " + Long.toHexString(markerHash));
+        }
+        markerTick = -1;
+        checkedStates++;
+    }
+
+    private void readRecordHeader() throws IOException
+    {
+        ticksUntilNextRecord = readVarInt();
+        nextMask = in.readUnsignedByte();
+    }
+
+    private int readVarInt() throws IOException
+    {
+        int value = 0;
+        int shift = 0;
+        int b;
+
+        do
+        {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0);
+
+        return value;
+    }
+}
@@ -0,0 +1,114 @@
+package com.aashiqumar.blucandy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+//WRITES ONE RECORD PER INPUT CHANGE, NOT PER TICK. EACH RECORD HOLDS THE NUMBER OF
+//TICKS SINCE THE PREVIOUS RECORD, A MASK OF THE FIELDS THAT CHANGED AND THE CHANGED
+//FIELDS ONLY (TOUCH COORDINATES AS XOR OF THE FLOAT BITS, SO SMALL MOVES STAY SHORT).
+//flush AND close ALSO WRITE A MARKER RECORD WITH THE TICKS RECORDED SO FAR AND THE WORLD'S
+//stateHash AT THAT POINT, SO A PLAYER CAN TELL A REPLAY THAT DIVERGES FROM THE SESSION. A
+//RECORDING CUT OFF AFTER A flush (THE PROCESS KILLED WHILE PAUSED) STILL REPLAYS UP TO IT.
+
+public class ReplayRecorder {
+
+    static final int MAGIC = 0x42435250; // "BCRP"
+    static final int VERSION = 11; //2: FIRE, DIRECTION AND SPAWN TIMERS COUNT WHOLE TICKS, 3: SHIPS ARE HIT ON THEIR COLLISION MASK, 4: BOSS SHIPS, 5: QUALITY LEVEL, 6: SPAWN BACK-PRESSURE, 7: CHECKPOINTS, TICK AND STATE HASH IN THE TRAILER, 8: BOSS TURRET SHOTS CENTERED, 9: NO HOMING MISSILES BY DEFAULT, 10: NO BEAM BY DEFAULT, 11: NO UPDATE LEVEL OF DETAIL BY DEFAULT
+
+    static final int CHANGED_KEYS = 1;
+    static final int CHANGED_TOUCHED = 1 << 1;
+    static final int CHANGED_TOUCH_X = 1 << 2;
+    static final int CHANGED_TOUCH_Y = 1 << 3;
+    static final int CHANGED_QUALITY = 1 << 4;
+    static final int CHANGED_HOLD_SPAWNS = 1 << 5;
+    static final int CHECKPOINT = 1 << 6;
+    static final int END_OF_REPLAY = 1 << 7;
+
+    private final DataOutputStream out;
+    private final GameInput previous = new GameInput();
+    private int ticksSinceLastRecord = 0;
+    private long totalTicks = 0;
+    private boolean closed = false;
+
+    public ReplayRecorder(OutputStream outputStream, long seed) throws IOException
+    {
+        out = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeFloat(GameWorld.TICK_DURATION);
+    }
+
+    public void record(GameInput input) throws IOException
+    {
+        int mask = 0;
+
+        if (input.keys != previous.keys) mask |= CHANGED_KEYS;
+        if (input.touched != previous.touched) mask |= CHANGED_TOUCHED;
+        if (Float.floatToIntBits(input.touchX) != Float.floatToIntBits(previous.touchX)) mask |= CHANGED_TOUCH_X;
+        if (Float.floatToIntBits(input.touchY) != Float.floatToIntBits(previous.touchY)) mask |= CHANGED_TOUCH_Y;
+        if (input.quality != previous.quality) mask |= CHANGED_QUALITY;
+        if (input.holdSpawns != previous.holdSpawns) mask |= CHANGED_HOLD_SPAWNS;
+
+        if (mask != 0)
+        {
+            writeVarInt(ticksSinceLastRecord);
+            out.writeByte(mask);
+
+            if ((mask & CHANGED_KEYS) != 0) out.writeByte(input.keys);
+            if ((mask & CHANGED_TOUCH_X) != 0) writeVarInt(Float.floatToIntBits(input.touchX) ^ Float.floatToIntBits(previous.touchX));
+            if ((mask & CHANGED_TOUCH_Y) != 0) writeVarInt(Float.floatToIntBits(input.touchY) ^ Float.floatToIntBits(previous.touchY));
+            if ((mask & CHANGED_QUALITY) != 0) out.writeByte(input.quality);
+
+            previous.set(input);
+            ticksSinceLastRecord = 0;
+        }
+
+        ticksSinceLastRecord++;
+        totalTicks++;
+    }
+
+    public long getTotalTicks()
+    {
+        return totalTicks;
+    }
+
+    //stateHash IS THE WORLD'S GameWorld.stateHash() AFTER THE LAST RECORDED TICK
+
+    public void flush(long stateHash) throws IOException
+    {
+        writeMarker(CHECKPOINT, stateHash);
+        out.flush();
+    }
+
+    public void close(long stateHash) throws IOException
+    {
+        if (closed) return;
+        closed = true;
+
+        writeMarker(END_OF_REPLAY, stateHash);
+        out.close();
+    }
+
+    private void writeMarker(int mask, long stateHash) throws IOException
+    {
+        writeVarInt(ticksSinceLastRecord);
+        out.writeByte(mask);
+        out.writeLong(totalTicks);
+        out.writeLong(stateHash);
+        ticksSinceLastRecord = 0;
+    }
+
+    private void writeVarInt(int value) throws IOException
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
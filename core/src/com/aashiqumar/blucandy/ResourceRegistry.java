@@ -0,0 +1,258 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.util.Locale;
+
+//GPU (AND OTHER DISPOSABLE) RESOURCES, REFERENCE COUNTED PER OWNER. AN OWNER (A SCREEN)
+//ACQUIRES WHAT IT USES UNDER A NAME; LOADED ASSETS ARE NAMED BY THEIR PATH, SO TWO OWNERS
+//OF THE SAME FILE SHARE ONE COPY. A RESOURCE IS DISPOSED AS SOON AS ITS LAST REFERENCE IS
+//RELEASED, AND releaseAll DROPS EVERY REFERENCE OF AN OWNER IN REVERSE ORDER OF ACQUISITION,
+//SO TEARDOWN IS DETERMINISTIC. report() LISTS WHAT IS STILL ALIVE WITH THE SIZE OF EVERY
+//TEXTURE IT HOLDS AND AN ESTIMATE OF THE VIDEO MEMORY THEY TAKE.
+
+public class ResourceRegistry {
+
+    private static final class Entry {
+
+        final String name;
+        final Disposable resource;
+        final Array<Object> owners = new Array<>(false, 2); //ONCE PER REFERENCE
+
+        Entry(String name, Disposable resource)
+        {
+            this.name = name;
+            this.resource = resource;
+        }
+    }
+
+    private final Array<Entry> entries = new Array<>(); //IN ORDER OF CREATION
+
+    //STATISTICS
+
+    public int created = 0;
+    public int disposed = 0;
+
+    //SHARED FILE ASSETS (INTERNAL FILES), LOADED ON FIRST USE
+
+    public Texture texture(Object owner, String path)
+    {
+        Entry entry = find(path);
+        if (entry == null)
+        {
+            entry = create(path, new Texture(path));
+        }
+        entry.owners.add(owner);
+        return (Texture) entry.resource;
+    }
+
+    public TextureAtlas atlas(Object owner, String path)
+    {
+        Entry entry = find(path);
+        if (entry == null)
+        {
+            entry = create(path, new TextureAtlas(path));
+        }
+        entry.owners.add(owner);
+        return (TextureAtlas) entry.resource;
+    }
+
+    //A RESOURCE THE OWNER CREATED ITSELF, UNDER A NAME NO OTHER LIVE RESOURCE HAS
+
+    public <T extends Disposable> T add(Object owner, String name, T resource)
+    {
+        if (find(name) != null)
+        {
+            resource.dispose();
+            throw new GdxRuntimeException("A resource named " + name + " is already registered");
+        }
+        create(name, resource).owners.add(owner);
+        return resource;
+    }
+
+    //ONE MORE REFERENCE FOR owner TO A RESOURCE ALREADY REGISTERED
+
+    public Disposable retain(Object owner, String name)
+    {
+        Entry entry = find(name);
+        if (entry == null)
+        {
+            throw new GdxRuntimeException("No resource named " + name);
+        }
+        entry.owners.add(owner);
+        return entry.resource;
+    }
+
+    public void release(Object owner, String name)
+    {
+        Entry entry = find(name);
+        if (entry == null || !entry.owners.removeValue(owner, true))
+        {
+            throw new GdxRuntimeException(owner + " holds no reference to " + name);
+        }
+        if (entry.owners.size == 0)
+        {
+            dispose(entry);
+        }
+    }
+
+    public void releaseAll(Object owner)
+    {
+        for (int i = entries.size - 1; i >= 0; i--)
+        {
+            Entry entry = entries.get(i);
+            for (int o = entry.owners.size - 1; o >= 0; o--)
+            {
+                if (entry.owners.get(o) == owner) entry.owners.removeIndex(o);
+            }
+            if (entry.owners.size == 0)
+            {
+                dispose(entry);
+            }
+        }
+    }
+
+    public int getLiveCount()
+    {
+        return entries.size;
+    }
+
+    public int getReferenceCount(String name)
+    {
+        Entry entry = find(name);
+        return entry == null ? 0 : entry.owners.size;
+    }
+
+    public long estimateVideoMemory()
+    {
+        long bytes = 0;
+        ObjectSet<Texture> textures = new ObjectSet<>();
+        for (Entry entry : entries)
+        {
+            collectTextures(entry.resource, textures);
+        }
+        for (Texture texture : textures)
+        {
+            bytes += estimateBytes(texture);
+        }
+        return bytes;
+    }
+
+    //DEBUG REPORT, ONE LINE PER LIVE RESOURCE AND ONE PER TEXTURE IT HOLDS
+
+    public String report()
+    {
+        StringBuilder report = new StringBuilder();
+        ObjectSet<Texture> counted = new ObjectSet<>();
+        ObjectSet<Texture> textures = new ObjectSet<>();
+        long totalBytes = 0;
+
+        for (Entry entry : entries)
+        {
+            report.append(String.format(Locale.ROOT, "  %s (%s, %d reference%s)%n", entry.name,
+                    entry.resource.getClass().getSimpleName(), entry.owners.size, entry.owners.size == 1 ? "" : "s"));
+
+            textures.clear();
+            collectTextures(entry.resource, textures);
+            for (Texture texture : textures)
+            {
+                TextureData data = texture.getTextureData();
+                long bytes = estimateBytes(texture);
+                report.append(String.format(Locale.ROOT, "    texture %dx%d %s%s, %.1f KB%n", texture.getWidth(),
+                        texture.getHeight(), data.getFormat(), data.useMipMaps() ? " mipmapped" : "", bytes / 1024f));
+                if (counted.add(texture)) totalBytes += bytes;
+            }
+        }
+
+        return String.format(Locale.ROOT, "%d resources alive, %d textures, about %.1f KB of video memory (%d created, %d disposed)%n",
+                entries.size, counted.size, totalBytes / 1024f, created, disposed) + report;
+    }
+
+    //VIDEO MEMORY OF A width x height TEXTURE: BYTES PER PIXEL OF THE FORMAT, A THIRD MORE FOR MIPMAPS
+
+    public static long estimateBytes(int width, int height, Pixmap.Format format, boolean mipMaps)
+    {
+        int bytesPerPixel;
+        switch (format)
+        {
+            case Alpha:
+            case Intensity:
+                bytesPerPixel = 1;
+                break;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                bytesPerPixel = 2;
+                break;
+            case RGB888:
+                bytesPerPixel = 3;
+                break;
+            default:
+                bytesPerPixel = 4;
+                break;
+        }
+        long bytes = (long) width * height * bytesPerPixel;
+        return mipMaps ? bytes * 4 / 3 : bytes;
+    }
+
+    private static long estimateBytes(Texture texture)
+    {
+        TextureData data = texture.getTextureData();
+        return estimateBytes(texture.getWidth(), texture.getHeight(), data.getFormat(), data.useMipMaps());
+    }
+
+    private static void collectTextures(Disposable resource, ObjectSet<Texture> textures)
+    {
+        if (resource instanceof Texture)
+        {
+            textures.add((Texture) resource);
+        }
+        else if (resource instanceof TextureAtlas)
+        {
+            for (Texture texture : ((TextureAtlas) resource).getTextures())
+            {
+                textures.add(texture);
+            }
+        }
+        else if (resource instanceof BitmapFont)
+        {
+            for (TextureRegion region : ((BitmapFont) resource).getRegions())
+            {
+                textures.add(region.getTexture());
+            }
+        }
+    }
+
+    private Entry find(String name)
+    {
+        for (Entry entry : entries)
+        {
+            if (entry.name.equals(name)) return entry;
+        }
+        return null;
+    }
+
+    private Entry create(String name, Disposable resource)
+    {
+        Entry entry = new Entry(name, resource);
+        entries.add(entry);
+        created++;
+        return entry;
+    }
+
+    private void dispose(Entry entry)
+    {
+        entries.removeValue(entry, true);
+        entry.resource.dispose();
+        disposed++;
+    }
+}
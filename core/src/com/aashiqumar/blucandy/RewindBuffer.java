@@ -0,0 +1,407 @@
+package com.aashiqumar.blucandy;
+
+import java.nio.ByteBuffer;
+
+//BOUNDED HISTORY OF WORLD SNAPSHOTS, ONE PER TICK. EVERY keyframeInterval TICKS A FULL
+//SNAPSHOT IS STORED; THE TICKS BETWEEN ARE STORED AS THE XOR AGAINST THE PREVIOUS TICK WITH
+//RUNS OF ZERO BYTES SKIPPED, SO A TICK IS DECODED BY APPLYING THE DELTAS SINCE ITS KEYFRAME.
+//RECORDS LIVE IN ONE PREALLOCATED CIRCULAR BYTE ARENA; THE OLDEST RECORDS ARE DROPPED WHEN IT
+//(OR THE TICK INDEX) IS FULL. A KEYFRAME GOES WITH ITS WHOLE DELTA CHAIN, SO THE TICK INDEX
+//HAS ROOM FOR ONE CHAIN MORE THAN THE SECONDS ASKED FOR. A TICK WHOSE SNAPSHOT DOES NOT FIT
+//THE ARENA AT ALL IS NOT RECORDED, AND THE HISTORY BEFORE IT IS FORGOTTEN.
+
+public class RewindBuffer {
+
+    private static final byte KEYFRAME = 0;
+    private static final byte DELTA = 1;
+
+    private final int keyframeInterval;
+
+    //CIRCULAR ARENA HOLDING THE ENCODED RECORDS
+
+    private final byte[] arena;
+    private int writePosition = 0;
+
+    //RING OF RECORDS, OLDEST FIRST
+
+    private final long[] ticks;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] keyframeRecords; //INDEX INTO THE RING OF THE KEYFRAME A DELTA CHAIN STARTS AT
+    private int first = 0;
+    private int count = 0;
+    private long storedBytes = 0;
+    private long skippedTicks = 0;
+
+    //SCRATCH
+
+    private ByteBuffer snapshot;
+    private ByteBuffer previous;
+    private ByteBuffer decoded;
+    private int keyframeRecord = -1;
+
+    public RewindBuffer(float seconds, int keyframeInterval, int arenaBytes)
+    {
+        this.keyframeInterval = keyframeInterval;
+
+        int capacity = Math.max(1, (int) Math.ceil(seconds / GameWorld.TICK_DURATION)) + keyframeInterval;
+        ticks = new long[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        keyframeRecords = new int[capacity];
+        arena = new byte[arenaBytes];
+
+        snapshot = ByteBuffer.allocate(16 * 1024);
+        previous = ByteBuffer.allocate(16 * 1024);
+        decoded = ByteBuffer.allocate(16 * 1024);
+    }
+
+    public void record(GameWorld world)
+    {
+        snapshot.clear();
+        while (!WorldSnapshot.write(world, snapshot))
+        {
+            snapshot = ByteBuffer.allocate(snapshot.capacity() * 2);
+        }
+        snapshot.flip();
+
+        boolean isKeyframe = keyframeRecord < 0 || world.getTick() % keyframeInterval == 0;
+        int snapshotLength = snapshot.limit();
+
+        //A RECORD IS NEVER LONGER THAN A KEYFRAME: TYPE, LENGTH AND THE SNAPSHOT
+
+        int maxLength = 5 + snapshotLength;
+        if (maxLength > arena.length)
+        {
+            clear();
+            skippedTicks++;
+            return;
+        }
+        if (writePosition + maxLength > arena.length)
+        {
+            writePosition = 0;
+        }
+
+        int start = writePosition;
+        int length = isKeyframe ? writeKeyframe(start) : writeDelta(start, start + maxLength);
+        if (length < 0)
+        {
+            //THE TICK CHANGED TOO MUCH FOR A DELTA TO PAY OFF
+
+            length = writeKeyframe(start);
+            isKeyframe = true;
+        }
+
+        //DROP EVERY RECORD THE NEW ONE OVERWROTE, AND THE OLDEST ONE IF THE TICK RING IS FULL
+
+        while (count > 0 && (count == ticks.length || overlaps(first, start, maxLength)))
+        {
+            dropOldest();
+        }
+
+        if (!isKeyframe && keyframeRecord < 0)
+        {
+            //THE CHAIN THIS DELTA EXTENDS WAS JUST DROPPED: STORE A KEYFRAME INSTEAD
+
+            length = writeKeyframe(start);
+            isKeyframe = true;
+        }
+
+        int record = (first + count) % ticks.length;
+        ticks[record] = world.getTick();
+        offsets[record] = start;
+        lengths[record] = length;
+        keyframeRecords[record] = isKeyframe ? record : keyframeRecord;
+        count++;
+        storedBytes += length;
+
+        if (isKeyframe)
+        {
+            keyframeRecord = record;
+        }
+        writePosition = start + length;
+
+        if (previous.capacity() < snapshotLength)
+        {
+            previous = ByteBuffer.allocate(snapshot.capacity());
+        }
+        previous.clear();
+        previous.put(snapshot.array(), 0, snapshotLength);
+        previous.flip();
+    }
+
+    public long getOldestTick()
+    {
+        return count == 0 ? -1 : ticks[first];
+    }
+
+    public long getNewestTick()
+    {
+        return count == 0 ? -1 : ticks[(first + count - 1) % ticks.length];
+    }
+
+    //RESTORES THE WORLD TO THE GIVEN TICK AND FORGETS EVERYTHING RECORDED AFTER IT,
+    //SO THE SIMULATION CAN CONTINUE FROM THERE. RETURNS FALSE IF THE TICK IS NOT HELD.
+
+    public boolean restore(GameWorld world, long tick)
+    {
+        if (count == 0 || tick < getOldestTick() || tick > getNewestTick()) return false;
+
+        int position = (int) (tick - getOldestTick());
+        int record = (first + position) % ticks.length;
+        if (ticks[record] != tick) return false;
+
+        decode(record);
+        WorldSnapshot.read(world, decoded);
+
+        //TRUNCATE THE HISTORY AFTER THE RESTORED TICK
+
+        for (int i = position + 1; i < count; i++)
+        {
+            storedBytes -= lengths[(first + i) % ticks.length];
+        }
+        count = position + 1;
+        writePosition = offsets[record] + lengths[record];
+
+        keyframeRecord = keyframeRecords[record];
+        if (previous.capacity() < decoded.limit())
+        {
+            previous = ByteBuffer.allocate(decoded.capacity());
+        }
+        previous.clear();
+        previous.put(decoded.array(), 0, decoded.limit());
+        previous.flip();
+
+        return true;
+    }
+
+    //TICKS NOT RECORDED BECAUSE THEIR SNAPSHOT WAS LARGER THAN THE ARENA
+
+    public long getSkippedTicks()
+    {
+        return skippedTicks;
+    }
+
+    public float getSecondsHeld()
+    {
+        return count * GameWorld.TICK_DURATION;
+    }
+
+    public float getBytesPerSecond()
+    {
+        return count == 0 ? 0 : storedBytes / getSecondsHeld();
+    }
+
+    public String report()
+    {
+        return "rewind: " + count + " ticks (" + getSecondsHeld() + " s) in " + storedBytes + " bytes, "
+                + (int) getBytesPerSecond() + " bytes per second of history, arena " + arena.length + " bytes"
+                + (skippedTicks > 0 ? ", " + skippedTicks + " ticks too large to record" : "");
+    }
+
+    private void clear()
+    {
+        first = 0;
+        count = 0;
+        storedBytes = 0;
+        writePosition = 0;
+        keyframeRecord = -1;
+    }
+
+    private int writeKeyframe(int start)
+    {
+        int length = snapshot.limit();
+
+        arena[start] = KEYFRAME;
+        putInt(start + 1, length);
+        System.arraycopy(snapshot.array(), 0, arena, start + 5, length);
+
+        return 5 + length;
+    }
+
+    //DELTA: PAIRS OF (ZERO RUN, LITERAL RUN) OVER THE XOR WITH THE PREVIOUS TICK, AS VARINTS,
+    //EACH LITERAL RUN FOLLOWED BY ITS XORED BYTES. RETURNS -1 IF IT WOULD NOT END BEFORE limit.
+
+    private int writeDelta(int start, int limit)
+    {
+        byte[] current = snapshot.array();
+        byte[] base = previous.array();
+        int length = snapshot.limit();
+        int baseLength = previous.limit();
+
+        arena[start] = DELTA;
+        putInt(start + 1, length);
+        int out = start + 5;
+
+        int i = 0;
+        while (i < length)
+        {
+            int zeroStart = i;
+            while (i < length && xor(current, base, baseLength, i) == 0) i++;
+            int zeros = i - zeroStart;
+
+            int literalStart = i;
+            while (i < length && (xor(current, base, baseLength, i) != 0
+                    || (i + 1 < length && xor(current, base, baseLength, i + 1) != 0))) i++;
+            int literals = i - literalStart;
+
+            if (out + 10 + literals > limit) return -1;
+            out = putVarInt(out, zeros);
+            out = putVarInt(out, literals);
+            for (int j = literalStart; j < literalStart + literals; j++)
+            {
+                arena[out++] = xor(current, base, baseLength, j);
+            }
+        }
+
+        return out - start;
+    }
+
+    private void decode(int record)
+    {
+        //START FROM THE KEYFRAME AND APPLY EVERY DELTA UP TO THE RECORD
+
+        int keyframe = keyframeRecords[record];
+        int length = getInt(offsets[keyframe] + 1);
+        ensureDecodedCapacity(length);
+        System.arraycopy(arena, offsets[keyframe] + 5, decoded.array(), 0, length);
+
+        int r = keyframe;
+        while (r != record)
+        {
+            r = (r + 1) % ticks.length;
+            length = applyDelta(r, length);
+        }
+
+        decoded.clear();
+        decoded.limit(length);
+    }
+
+    private int applyDelta(int record, int baseLength)
+    {
+        int start = offsets[record];
+        int length = getInt(start + 1);
+        ensureDecodedCapacity(length);
+        byte[] out = decoded.array();
+
+        for (int i = baseLength; i < length; i++)
+        {
+            out[i] = 0;
+        }
+
+        int in = start + 5;
+        int end = start + lengths[record];
+        int i = 0;
+        while (in < end)
+        {
+            int zeros = getVarInt(in);
+            in = varIntEnd;
+            int literals = getVarInt(in);
+            in = varIntEnd;
+
+            i += zeros;
+            for (int j = 0; j < literals; j++)
+            {
+                out[i++] ^= arena[in++];
+            }
+        }
+
+        return length;
+    }
+
+    private void ensureDecodedCapacity(int length)
+    {
+        if (decoded.capacity() >= length) return;
+
+        ByteBuffer larger = ByteBuffer.allocate(length * 2);
+        System.arraycopy(decoded.array(), 0, larger.array(), 0, decoded.capacity());
+        decoded = larger;
+    }
+
+    private static byte xor(byte[] current, byte[] base, int baseLength, int i)
+    {
+        return (byte) (i < baseLength ? current[i] ^ base[i] : current[i]);
+    }
+
+    private boolean overlaps(int record, int start, int length)
+    {
+        int recordStart = offsets[record];
+        int recordEnd = recordStart + lengths[record];
+        return recordStart < start + length && start < recordEnd;
+    }
+
+    private void dropOldest()
+    {
+        storedBytes -= lengths[first];
+        if (keyframeRecord == first)
+        {
+            keyframeRecord = -1;
+        }
+        first = (first + 1) % ticks.length;
+        count--;
+
+        //DELTAS WHOSE KEYFRAME IS GONE CANNOT BE DECODED ANY MORE
+
+        while (count > 0 && keyframeRecords[first] != first && !holdsRecord(keyframeRecords[first]))
+        {
+            storedBytes -= lengths[first];
+            if (keyframeRecord == first)
+            {
+                keyframeRecord = -1;
+            }
+            first = (first + 1) % ticks.length;
+            count--;
+        }
+    }
+
+    private boolean holdsRecord(int record)
+    {
+        int position = (record - first + ticks.length) % ticks.length;
+        return position < count;
+    }
+
+    private void putInt(int position, int value)
+    {
+        arena[position] = (byte) (value >>> 24);
+        arena[position + 1] = (byte) (value >>> 16);
+        arena[position + 2] = (byte) (value >>> 8);
+        arena[position + 3] = (byte) value;
+    }
+
+    private int getInt(int position)
+    {
+        return (arena[position] & 0xFF) << 24 | (arena[position + 1] & 0xFF) << 16
+                | (arena[position + 2] & 0xFF) << 8 | (arena[position + 3] & 0xFF);
+    }
+
+    private int putVarInt(int position, int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            arena[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        arena[position++] = (byte) value;
+        return position;
+    }
+
+    private int varIntEnd;
+
+    private int getVarInt(int position)
+    {
+        int value = 0;
+        int shift = 0;
+        int b;
+
+        do
+        {
+            b = arena[position++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0);
+
+        varIntEnd = position;
+        return value;
+    }
+}
@@ -1,8 +1,9 @@
 package com.aashiqumar.blucandy;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
 abstract class Ship
 {
@@ -15,6 +16,7 @@ abstract class Ship
 
 
     Rectangle boundingBox;
+    CollisionMask collisionMask; //NULL TO COLLIDE ON THE WHOLE BOX
 
     //GRAPHICS
 
@@ -25,7 +27,15 @@ abstract class Ship
     float laserWidth, laserHeight;
     float laserMovementSpeed;
     float timeBetweenShots;
-    float timeSinceLastShot = 0;
+
+    //SPAWN ORDER, SO TIMERS DUE ON THE SAME TICK RUN IN A FIXED ORDER (0 FOR THE PLAYER)
+
+    int serial;
+
+    //NEXT SHOT, SCHEDULED ON THE WORLD'S TIMER WHEEL
+
+    long nextShotTick;
+    int shotTimer = TimerWheel.NONE;
 
     public Ship(float movementSpeed, int shield,  float width, float height, float xCenter,
                 float yCenter, float laserMovementSpeed, float laserWidth, float laserHeight,
@@ -43,28 +53,18 @@ abstract class Ship
 
     }
 
-    public void update(float delta)
-    {
-
-        timeSinceLastShot += delta;
-    }
-
-    public boolean canFireLaser ()
-    {
-        return (timeSinceLastShot - timeBetweenShots >= 0);
-
-
-    }
-
-    public  abstract Lasers[] fireLasers();
+    public  abstract void fireLasers(Array<Lasers> lasers, Pool<Lasers> laserPool);
 
     public boolean intersects(Rectangle otherRectangle)
     {
+        //BOXES FIRST, THE SPRITE'S SHAPE ONLY WHEN THEY OVERLAP
+
+        if (!boundingBox.overlaps(otherRectangle)) return false;
 
-        return boundingBox.overlaps(otherRectangle);
+        return collisionMask == null || collisionMask.overlaps(boundingBox, otherRectangle);
     }
 
-    public boolean hitAndCheckDestroy(Lasers laser)
+    public boolean hitAndCheckDestroy()
     {
         if (shield > 0)
         {
@@ -80,12 +80,14 @@ abstract class Ship
         boundingBox.setPosition(boundingBox.x + xChange, boundingBox.y + yChange);
     }
 
-    public void draw(Batch batch)
+    public void draw(RenderQueue renderQueue)
     {
-        batch.draw(shipTextureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+        int depth = RenderQueue.depthOf(boundingBox.y);
+
+        renderQueue.submit(RenderQueue.LAYER_SHIPS, depth, shipTextureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
         if(shield > 0)
         {
-            batch.draw(shieldTextureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+            renderQueue.submit(RenderQueue.LAYER_SHIELDS, depth, shieldTextureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
         }
     }
 }
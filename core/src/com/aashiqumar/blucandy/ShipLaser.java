@@ -1,10 +1,10 @@
 package com.aashiqumar.blucandy;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
 
-class Lasers {
+class Lasers implements Pool.Poolable {
 
     //POSITION AND DIMENSIONS
 
@@ -13,20 +13,37 @@ class Lasers {
     //LASER PHYSICAL CHARACTERISTICS
 
     float movementSpeed; //WORLD UNITS PER SECOND
+    int lodPendingTicks; //TICKS NOT YET STEPPED, SEE SimulationLod
 
     //GRAPHICS
 
     TextureRegion textureRegion;
 
+    public Lasers() {
+        this.boundingBox = new Rectangle();
+    }
+
     public Lasers(float xCenter, float yBottom, float width, float height, float movementSpeed, TextureRegion textureRegion) {
-        this.boundingBox = new Rectangle(xCenter - width / 2, yBottom - width / 2, width, height);
+        this();
+        set(xCenter, yBottom, width, height, movementSpeed, textureRegion);
+    }
+
+    public Lasers set(float xCenter, float yBottom, float width, float height, float movementSpeed, TextureRegion textureRegion) {
+        this.boundingBox.set(xCenter - width / 2, yBottom - width / 2, width, height);
         this.movementSpeed = movementSpeed;
         this.textureRegion = textureRegion;
+        this.lodPendingTicks = 0;
+        return this;
     }
 
-    public void draw(Batch batch1) {
-        batch1.draw(textureRegion, boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
+    @Override
+    public void reset() {
+        textureRegion = null;
+    }
 
+    public void draw(RenderQueue renderQueue) {
+        renderQueue.submit(RenderQueue.LAYER_LASERS, RenderQueue.depthOf(boundingBox.y), textureRegion,
+                boundingBox.x, boundingBox.y, boundingBox.width, boundingBox.height);
     }
 
 }
\ No newline at end of file
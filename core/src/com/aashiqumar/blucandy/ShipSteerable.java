@@ -0,0 +1,193 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.ai.steer.Steerable;
+import com.badlogic.gdx.ai.utils.Location;
+import com.badlogic.gdx.math.Vector2;
+
+//gdx-ai VIEW OF A SHIP: ITS CENTER AND VELOCITY IN WORLD UNITS, WITH ITS STEERING LIMITS.
+//THE POSITION IS COPIED FROM THE BOUNDING BOX ONCE PER TICK, SO EVERY SHIP STEERS
+//AGAINST THE SAME START-OF-TICK POSITIONS WHATEVER ORDER THE SHIPS MOVE IN. SHIPS DO NOT
+//ROTATE, THE ANGULAR LIMITS ARE ONLY KEPT FOR BEHAVIORS THAT READ THEM.
+
+class ShipSteerable implements Steerable<Vector2> {
+
+    final Ship ship;
+    final Vector2 position = new Vector2();
+    final Vector2 linearVelocity = new Vector2();
+
+    private float maxLinearSpeed, maxLinearAcceleration;
+    private float maxAngularSpeed, maxAngularAcceleration;
+    private float zeroLinearSpeedThreshold = 0.001f;
+    private float orientation;
+    private boolean tagged;
+
+    ShipSteerable(Ship ship, float maxLinearSpeed, float maxLinearAcceleration)
+    {
+        this.ship = ship;
+        this.maxLinearSpeed = maxLinearSpeed;
+        this.maxLinearAcceleration = maxLinearAcceleration;
+        syncPosition();
+    }
+
+    void syncPosition()
+    {
+        ship.boundingBox.getCenter(position);
+    }
+
+    @Override
+    public Vector2 getLinearVelocity() {
+        return linearVelocity;
+    }
+
+    @Override
+    public float getAngularVelocity() {
+        return 0;
+    }
+
+    @Override
+    public float getBoundingRadius() {
+        return ship.boundingBox.width / 2;
+    }
+
+    @Override
+    public boolean isTagged() {
+        return tagged;
+    }
+
+    @Override
+    public void setTagged(boolean tagged) {
+        this.tagged = tagged;
+    }
+
+    @Override
+    public Vector2 getPosition() {
+        return position;
+    }
+
+    @Override
+    public float getOrientation() {
+        return orientation;
+    }
+
+    @Override
+    public void setOrientation(float orientation) {
+        this.orientation = orientation;
+    }
+
+    @Override
+    public float vectorToAngle(Vector2 vector) {
+        return toAngle(vector);
+    }
+
+    @Override
+    public Vector2 angleToVector(Vector2 outVector, float angle) {
+        return toVector(outVector, angle);
+    }
+
+    @Override
+    public Location<Vector2> newLocation() {
+        return new PointLocation();
+    }
+
+    @Override
+    public float getZeroLinearSpeedThreshold() {
+        return zeroLinearSpeedThreshold;
+    }
+
+    @Override
+    public void setZeroLinearSpeedThreshold(float value) {
+        this.zeroLinearSpeedThreshold = value;
+    }
+
+    @Override
+    public float getMaxLinearSpeed() {
+        return maxLinearSpeed;
+    }
+
+    @Override
+    public void setMaxLinearSpeed(float maxLinearSpeed) {
+        this.maxLinearSpeed = maxLinearSpeed;
+    }
+
+    @Override
+    public float getMaxLinearAcceleration() {
+        return maxLinearAcceleration;
+    }
+
+    @Override
+    public void setMaxLinearAcceleration(float maxLinearAcceleration) {
+        this.maxLinearAcceleration = maxLinearAcceleration;
+    }
+
+    @Override
+    public float getMaxAngularSpeed() {
+        return maxAngularSpeed;
+    }
+
+    @Override
+    public void setMaxAngularSpeed(float maxAngularSpeed) {
+        this.maxAngularSpeed = maxAngularSpeed;
+    }
+
+    @Override
+    public float getMaxAngularAcceleration() {
+        return maxAngularAcceleration;
+    }
+
+    @Override
+    public void setMaxAngularAcceleration(float maxAngularAcceleration) {
+        this.maxAngularAcceleration = maxAngularAcceleration;
+    }
+
+    //ANGLE 0 POINTS UP (+Y), GROWING COUNTERCLOCKWISE
+
+    static float toAngle(Vector2 vector)
+    {
+        return (float) Math.atan2(-vector.x, vector.y);
+    }
+
+    static Vector2 toVector(Vector2 outVector, float angle)
+    {
+        outVector.x = -(float) Math.sin(angle);
+        outVector.y = (float) Math.cos(angle);
+        return outVector;
+    }
+
+    //A BARE POINT AND ORIENTATION, FOR TARGETS AND FORMATION SLOTS BUILT BY BEHAVIORS
+
+    static class PointLocation implements Location<Vector2> {
+
+        final Vector2 position = new Vector2();
+        float orientation;
+
+        @Override
+        public Vector2 getPosition() {
+            return position;
+        }
+
+        @Override
+        public float getOrientation() {
+            return orientation;
+        }
+
+        @Override
+        public void setOrientation(float orientation) {
+            this.orientation = orientation;
+        }
+
+        @Override
+        public float vectorToAngle(Vector2 vector) {
+            return toAngle(vector);
+        }
+
+        @Override
+        public Vector2 angleToVector(Vector2 outVector, float angle) {
+            return toVector(outVector, angle);
+        }
+
+        @Override
+        public Location<Vector2> newLocation() {
+            return new PointLocation();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+//UPDATE LEVEL OF DETAIL. ENEMIES AND LASERS THAT ARE OFF SCREEN, FAR FROM THE PLAYER AND
+//CANNOT REACH ANYTHING THEY COLLIDE WITH BEFORE THEIR NEXT UPDATE ARE MOVED EVERY 2ND OR
+//4TH TICK, BY THE TIME THEY MISSED. ON SCREEN EVERYTHING IS STEPPED EVERY TICK: NOTHING
+//INTERPOLATES THE DRAWN POSITIONS, SO A SKIPPED TICK THERE IS VISIBLE AS STUTTER. THE REACH
+//TEST USES THE HIGHEST PLAYER LASER AND ENEMY IN VERTICAL COLUMNS OF THE WORLD, SINCE
+//LASERS ONLY MOVE VERTICALLY. COLLISIONS ARE STILL TESTED EVERY TICK AGAINST THE CURRENT
+//POSITIONS, AND A SKIPPED STEP (AT MOST 8 TICKS, AT THE LOWEST QUALITY) IS SHORTER THAN ANY SHIP.
+//
+//MISSILES AND THE BOSS ARE DELIBERATELY STEPPED EVERY TICK: A MISSILE TURNS TOWARDS ITS TARGET
+//ON EACH TICK, SO A LONGER STEP WOULD CHANGE ITS PATH RATHER THAN ONLY DELAY IT, AND THERE
+//ARE ONLY EVER A FEW MISSILES AND ONE BOSS, SO SKIPPING THEM WOULD SAVE NOTHING MEASURABLE.
+
+class SimulationLod {
+
+    private static final float COLUMN_WIDTH = 8;
+    private static final float NEAR_PLAYER_DISTANCE = 32;
+
+    private final int baseMaxInterval;
+    private int maxInterval;
+    private final float worldWidth, worldHeight;
+
+    //HIGHEST TOP EDGE OF A PLAYER LASER / ENEMY SHIP IN EACH COLUMN, THIS TICK
+
+    private final float[] playerLaserTops;
+    private final float[] enemyTops;
+
+    private Rectangle player;
+    private float playerSpeed, enemySpeed, playerLaserSpeed;
+
+    //STATISTICS
+
+    long updates = 0;
+    long skippedUpdates = 0;
+
+    SimulationLod(int maxInterval, float worldWidth, float worldHeight)
+    {
+        baseMaxInterval = Math.max(1, maxInterval);
+        this.maxInterval = baseMaxInterval;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+
+        int columns = (int) Math.ceil(worldWidth / COLUMN_WIDTH);
+        playerLaserTops = new float[columns];
+        enemyTops = new float[columns];
+    }
+
+    void prepare(PlayerShip playerShip, Array<EnemyShip> enemyShipList, Array<Lasers> playerLaserList,
+                 float enemySpeed, float playerLaserSpeed)
+    {
+        player = playerShip.boundingBox;
+        playerSpeed = playerShip.movementSpeed;
+        this.enemySpeed = enemySpeed;
+        this.playerLaserSpeed = playerLaserSpeed;
+
+        if (maxInterval == 1) return;
+
+        for (int c = 0; c < playerLaserTops.length; c++)
+        {
+            playerLaserTops[c] = Float.NEGATIVE_INFINITY;
+            enemyTops[c] = Float.NEGATIVE_INFINITY;
+        }
+
+        for (int i = 0; i < playerLaserList.size; i++)
+        {
+            raise(playerLaserTops, playerLaserList.get(i).boundingBox, 0);
+        }
+        for (int i = 0; i < enemyShipList.size; i++)
+        {
+            raise(enemyTops, enemyShipList.get(i).boundingBox, 0);
+        }
+    }
+
+    //LOWER QUALITY LEVELS LET FAR AWAY ENTITIES SKIP MORE TICKS (1 FOR THE CONFIGURED INTERVAL)
+
+    void setIntervalScale(int scale)
+    {
+        maxInterval = baseMaxInterval == 1 ? 1 : baseMaxInterval * scale;
+    }
+
+    //COUNTS THE TICK AND RETURNS THE NUMBER OF TICKS TO STEP THE ENTITY BY, 0 TO SKIP IT
+
+    int step(int pendingTicks, int interval)
+    {
+        if (pendingTicks >= interval)
+        {
+            updates++;
+            return pendingTicks;
+        }
+        skippedUpdates++;
+        return 0;
+    }
+
+    int enemyInterval(EnemyShip enemyShip)
+    {
+        Rectangle box = enemyShip.boundingBox;
+        int interval = startingInterval(box);
+
+        //PLAYER LASERS BELOW MUST NOT BE ABLE TO REACH IT BEFORE ITS NEXT UPDATE
+
+        for (; interval > 1; interval /= 2)
+        {
+            float time = interval * GameWorld.TICK_DURATION;
+            float laserTop = highest(playerLaserTops, box, enemySpeed * time);
+            if (box.y - laserTop > (playerLaserSpeed + enemySpeed) * time) break;
+        }
+        return interval;
+    }
+
+    int playerLaserInterval(Lasers laser)
+    {
+        Rectangle box = laser.boundingBox;
+        int interval = startingInterval(box);
+
+        //NO ENEMY MAY BE ABLE TO MOVE INTO ITS PATH BEFORE ITS NEXT UPDATE
+
+        for (; interval > 1; interval /= 2)
+        {
+            float time = interval * GameWorld.TICK_DURATION;
+            float enemyTop = highest(enemyTops, box, enemySpeed * time);
+            if (box.y - enemyTop > enemySpeed * time) break;
+        }
+        return interval;
+    }
+
+    int enemyLaserInterval(Lasers laser)
+    {
+        Rectangle box = laser.boundingBox;
+        int interval = startingInterval(box);
+
+        //IT MUST NOT BE ABLE TO MEET THE PLAYER BEFORE ITS NEXT UPDATE
+
+        for (; interval > 1; interval /= 2)
+        {
+            float time = interval * GameWorld.TICK_DURATION;
+            float above = box.y - (player.y + player.height);
+            float below = player.y - (box.y + box.height);
+            float beside = Math.max(player.x - (box.x + box.width), box.x - (player.x + player.width));
+
+            if (above > (laser.movementSpeed + playerSpeed) * time
+                    || below > playerSpeed * time
+                    || beside > playerSpeed * time) break;
+        }
+        return interval;
+    }
+
+    private int startingInterval(Rectangle box)
+    {
+        if (maxInterval == 1) return 1;
+
+        float dx = box.x + box.width / 2 - (player.x + player.width / 2);
+        float dy = box.y + box.height / 2 - (player.y + player.height / 2);
+        if (dx * dx + dy * dy < NEAR_PLAYER_DISTANCE * NEAR_PLAYER_DISTANCE) return 1;
+
+        boolean onScreen = box.x < worldWidth && box.x + box.width > 0
+                && box.y < worldHeight && box.y + box.height > 0;
+        return onScreen ? 1 : maxInterval;
+    }
+
+    private void raise(float[] tops, Rectangle box, float reach)
+    {
+        int first = column(box.x - reach);
+        int last = column(box.x + box.width + reach);
+        for (int c = first; c <= last; c++)
+        {
+            tops[c] = Math.max(tops[c], box.y + box.height);
+        }
+    }
+
+    private float highest(float[] tops, Rectangle box, float reach)
+    {
+        int first = column(box.x - reach);
+        int last = column(box.x + box.width + reach);
+        float highest = Float.NEGATIVE_INFINITY;
+        for (int c = first; c <= last; c++)
+        {
+            highest = Math.max(highest, tops[c]);
+        }
+        return highest;
+    }
+
+    private int column(float x)
+    {
+        return Math.min(Math.max((int) (x / COLUMN_WIDTH), 0), playerLaserTops.length - 1);
+    }
+}
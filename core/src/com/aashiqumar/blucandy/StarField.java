@@ -0,0 +1,94 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+
+//SEEDED PROCEDURAL STAR FIELD FOR THE PARALLAX BACKGROUND. EACH LAYER IS A FEW HUNDRED
+//STARS RENDERED INTO ITS OWN STRIP OF ONE SMALL TEXTURE AT STARTUP, REPLACING THE FOUR
+//1080x1920 STARSCAPE IMAGES THAT USED TO FILL MOST OF images.atlas
+
+class StarField {
+
+    static final int LAYERS = 4;
+    static final int LAYER_WIDTH = 128;
+    static final int LAYER_HEIGHT = 256;
+
+    //FARTHEST LAYER FIRST; ONLY THE FARTHEST ONE IS OPAQUE
+
+    private static final int BACKGROUND_COLOR = 0x3a2e3fff;
+    private static final int[] STAR_COUNTS = {110, 160, 120, 10};
+    private static final int[] STAR_SIZES = {1, 1, 1, 2};
+    private static final float[] MIN_ALPHA = {0.25f, 0.15f, 0.35f, 0.8f};
+    private static final float[] MAX_ALPHA = {0.6f, 0.4f, 0.7f, 1f};
+
+    static Pixmap generate(long seed)
+    {
+        RandomXS128 random = new RandomXS128(seed);
+        Pixmap pixmap = new Pixmap(LAYER_WIDTH * LAYERS, LAYER_HEIGHT, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+
+        pixmap.setColor(0);
+        pixmap.fill();
+        pixmap.setColor(BACKGROUND_COLOR);
+        pixmap.fillRectangle(0, 0, LAYER_WIDTH, LAYER_HEIGHT);
+
+        Color background = new Color(BACKGROUND_COLOR);
+        Color color = new Color();
+
+        for (int layer = 0; layer < LAYERS; layer++)
+        {
+            int size = STAR_SIZES[layer];
+
+            for (int star = 0; star < STAR_COUNTS[layer]; star++)
+            {
+                //STARS STAY INSIDE THEIR STRIP HORIZONTALLY, BUT MAY WRAP VERTICALLY
+
+                int x = layer * LAYER_WIDTH + random.nextInt(LAYER_WIDTH - size + 1);
+                int y = random.nextInt(LAYER_HEIGHT);
+                float alpha = MIN_ALPHA[layer] + random.nextFloat() * (MAX_ALPHA[layer] - MIN_ALPHA[layer]);
+
+                //MOSTLY WHITE, SOME SLIGHTLY BLUE OR YELLOW
+
+                float tint = random.nextFloat() * 0.3f - 0.15f;
+                float starR = 1 - Math.max(tint, 0);
+                float starG = 1 - Math.abs(tint) / 2;
+                float starB = 1 + Math.min(tint, 0);
+
+                //THE OPAQUE LAYER GETS ITS STARS PRE-BLENDED OVER ITS BACKGROUND
+
+                if (layer == 0)
+                {
+                    color.set(background.r, background.g, background.b, 1).lerp(starR, starG, starB, 1, alpha);
+                }
+                else
+                {
+                    color.set(starR, starG, starB, alpha);
+                }
+                pixmap.setColor(color);
+
+                for (int dy = 0; dy < size; dy++)
+                {
+                    for (int dx = 0; dx < size; dx++)
+                    {
+                        pixmap.drawPixel(x + dx, (y + dy) % LAYER_HEIGHT);
+                    }
+                }
+            }
+        }
+
+        return pixmap;
+    }
+
+    static TextureRegion[] split(Texture texture)
+    {
+        TextureRegion[] layers = new TextureRegion[LAYERS];
+        for (int layer = 0; layer < LAYERS; layer++)
+        {
+            layers[layer] = new TextureRegion(texture, layer * LAYER_WIDTH, 0, LAYER_WIDTH, LAYER_HEIGHT);
+        }
+        return layers;
+    }
+}
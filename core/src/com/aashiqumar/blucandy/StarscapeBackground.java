@@ -0,0 +1,165 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+//PARALLAX STARSCAPE DRAWN AS ONE OPAQUE FULL-SCREEN QUAD. THE FRAGMENT SHADER WRAPS
+//EACH LAYER'S SCROLL OFFSET INSIDE ITS OWN ATLAS REGION AND BLENDS THE LAYERS ITSELF,
+//INSTEAD OF EIGHT BLENDED SCREEN-SIZED QUADS. IF THE SHADER DOES NOT COMPILE, THE
+//LAYERS ARE DRAWN THE OLD WAY.
+
+class StarscapeBackground implements Disposable {
+
+    static final int MAX_LAYERS = 4;
+
+    private static final String VERTEX_SHADER =
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+            "uniform mat4 u_projTrans;\n" +
+            "varying vec2 v_texCoords;\n" +
+            "void main() {\n" +
+            "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+            "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+            "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "#ifdef GL_ES\n" +
+            "precision mediump float;\n" +
+            "#endif\n" +
+            "varying vec2 v_texCoords;\n" +
+            "uniform sampler2D u_texture;\n" +
+            "uniform vec4 u_regions[" + MAX_LAYERS + "];\n" +
+            "uniform float u_offsets[" + MAX_LAYERS + "];\n" +
+            "uniform float u_layerCount;\n" +
+            "void main() {\n" +
+            "    vec3 color = vec3(0.0);\n" +
+            "    for (int i = 0; i < " + MAX_LAYERS + "; i++) {\n" +
+            "        if (float(i) < u_layerCount) {\n" +
+            "            vec4 region = u_regions[i];\n" +
+            "            float v = fract(v_texCoords.y + u_offsets[i]);\n" +
+            "            vec4 texel = texture2D(u_texture, vec2(mix(region.x, region.z, v_texCoords.x), mix(region.w, region.y, v)));\n" +
+            "            color = mix(color, texel.rgb, texel.a);\n" +
+            "        }\n" +
+            "    }\n" +
+            "    gl_FragColor = vec4(color, 1.0);\n" +
+            "}\n";
+
+    private final TextureRegion[] layers;
+    private final float[] scrollingSpeeds; //WORLD UNITS PER SECOND
+    private final float[] offsets;
+    private final float[] regions;
+    private final float[] normalizedOffsets;
+    private final float width, height;
+
+    private ShaderProgram shader;
+    private int layerCount;
+
+    StarscapeBackground(TextureRegion[] layers, float[] scrollingSpeeds, float width, float height)
+    {
+        this.layers = layers;
+        this.scrollingSpeeds = scrollingSpeeds;
+        this.width = width;
+        this.height = height;
+
+        layerCount = layers.length;
+        offsets = new float[layers.length];
+        normalizedOffsets = new float[MAX_LAYERS];
+        regions = new float[MAX_LAYERS * 4];
+
+        for (int layer = 0; layer < layers.length; layer++)
+        {
+            regions[layer * 4] = layers[layer].getU();
+            regions[layer * 4 + 1] = layers[layer].getV();
+            regions[layer * 4 + 2] = layers[layer].getU2();
+            regions[layer * 4 + 3] = layers[layer].getV2();
+        }
+
+        //THE SINGLE-PASS SHADER SAMPLES EVERY LAYER FROM ONE TEXTURE
+
+        boolean sharedTexture = layers.length <= MAX_LAYERS;
+        for (int layer = 1; layer < layers.length; layer++)
+        {
+            sharedTexture &= layers[layer].getTexture() == layers[0].getTexture();
+        }
+
+        if (sharedTexture)
+        {
+            shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if (!shader.isCompiled())
+            {
+                Gdx.app.error("StarscapeBackground", "Falling back to two quads per layer: " + shader.getLog());
+                shader.dispose();
+                shader = null;
+            }
+        }
+    }
+
+    //FEWER LAYERS DRAWS ONLY THE FARTHEST ONES
+
+    void setLayerCount(int layerCount)
+    {
+        this.layerCount = Math.max(1, Math.min(layerCount, layers.length));
+    }
+
+    int getLayerCount()
+    {
+        return layerCount;
+    }
+
+    void update(float delta)
+    {
+        for (int layer = 0; layer < offsets.length; layer++)
+        {
+            offsets[layer] += delta * scrollingSpeeds[layer];
+
+            if (offsets[layer] > height)
+            {
+                offsets[layer] -= height;
+            }
+        }
+    }
+
+    void draw(Batch batch)
+    {
+        if (shader == null)
+        {
+            for (int layer = 0; layer < layerCount; layer++)
+            {
+                batch.draw(layers[layer], 0, -offsets[layer], width, height);
+                batch.draw(layers[layer], 0, -offsets[layer] + height, width, height);
+            }
+            return;
+        }
+
+        for (int layer = 0; layer < layerCount; layer++)
+        {
+            normalizedOffsets[layer] = offsets[layer] / height;
+        }
+
+        //THE SHADER OUTPUTS OPAQUE PIXELS, SO NO BLENDING FOR THIS QUAD
+
+        Texture texture = layers[0].getTexture();
+        batch.disableBlending();
+        batch.setShader(shader);
+        shader.setUniform4fv("u_regions", regions, 0, regions.length);
+        shader.setUniform1fv("u_offsets", normalizedOffsets, 0, normalizedOffsets.length);
+        shader.setUniformf("u_layerCount", layerCount);
+        batch.draw(texture, 0, 0, width, height, 0, 0, 1, 1);
+        batch.setShader(null);
+        batch.enableBlending();
+    }
+
+    @Override
+    public void dispose()
+    {
+        if (shader != null)
+        {
+            shader.dispose();
+            shader = null;
+        }
+    }
+}
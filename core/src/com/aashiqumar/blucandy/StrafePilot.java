@@ -0,0 +1,20 @@
+package com.aashiqumar.blucandy;
+
+//SCRIPTED PILOT: SWEEPS LEFT AND RIGHT ALONG THE BOTTOM OF THE SCREEN
+
+public class StrafePilot implements Pilot {
+
+    private boolean movingRight = true;
+
+    @Override
+    public void fly(GameWorld world, GameInput input)
+    {
+        float x = world.getPlayerX();
+
+        if (x < GameWorld.WORLD_WIDTH * 0.15f) movingRight = true;
+        else if (x > GameWorld.WORLD_WIDTH * 0.85f) movingRight = false;
+
+        input.clear();
+        input.keys = movingRight ? GameInput.KEY_RIGHT : GameInput.KEY_LEFT;
+    }
+}
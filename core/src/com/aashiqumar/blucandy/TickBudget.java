@@ -0,0 +1,53 @@
+package com.aashiqumar.blucandy;
+
+//SPAWN BACK-PRESSURE FROM THE HOST: AN EXPONENTIAL AVERAGE OF HOW LONG THE SIMULATION TICKS
+//TAKE (ABOUT THE LAST 20), AGAINST A BUDGET. SPAWNS ARE HELD WHILE THE AVERAGE IS OVER IT
+//AND RELEASED ONCE IT IS BACK UNDER RELEASE_FRACTION OF IT. THE DECISION REACHES THE WORLD
+//AS GameInput.holdSpawns, SO A RECORDED SESSION REPLAYS THE SAME WAY ON ANY MACHINE.
+
+public class TickBudget {
+
+    private static final float SMOOTHING = 0.05f;
+    private static final float RELEASE_FRACTION = 0.75f;
+
+    private final float budgetSeconds;
+    private float averageSeconds = 0;
+    private boolean holding = false;
+
+    //STATISTICS
+
+    public long heldTicks = 0;
+
+    public TickBudget(float budgetSeconds)
+    {
+        this.budgetSeconds = budgetSeconds;
+    }
+
+    //CALLED AFTER EVERY TICK WITH THE TIME IT TOOK. RETURNS WHETHER THE NEXT TICKS HOLD SPAWNS.
+
+    public boolean update(float tickSeconds)
+    {
+        averageSeconds += (tickSeconds - averageSeconds) * SMOOTHING;
+
+        if (averageSeconds > budgetSeconds)
+        {
+            holding = true;
+        }
+        else if (averageSeconds < budgetSeconds * RELEASE_FRACTION)
+        {
+            holding = false;
+        }
+        if (holding) heldTicks++;
+        return holding;
+    }
+
+    public boolean isHolding()
+    {
+        return holding;
+    }
+
+    public float getAverageSeconds()
+    {
+        return averageSeconds;
+    }
+}
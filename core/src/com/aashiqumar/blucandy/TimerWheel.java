@@ -0,0 +1,235 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+//HIERARCHICAL TIMER WHEEL KEYED BY SIMULATION TICK. LEVEL 0 HAS ONE SLOT PER TICK, EACH
+//HIGHER LEVEL ONE SLOT PER FULL TURN OF THE LEVEL BELOW; WHEN A LOWER LEVEL WRAPS, THE
+//NEXT SLOT OF THE LEVEL ABOVE IS CASCADED DOWN. SCHEDULING, CANCELLING AND ADVANCING ONE
+//TICK ARE O(1) PLUS THE TIMERS THAT ARE DUE OR CASCADED, WHATEVER THE NUMBER OF TIMERS.
+//TIMERS ARE INT HANDLES INTO PARALLEL ARRAYS, SO THE STEADY STATE DOES NOT ALLOCATE.
+
+class TimerWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS); //ABOUT 77 HOURS AT 60 TICKS PER SECOND
+
+    static final int NONE = -1;
+
+    //SLOT HEADS, LEVEL BY LEVEL
+
+    private final int[] heads = new int[LEVELS * SLOTS];
+
+    //TIMERS
+
+    private long[] deadlines;
+    private int[] kinds;
+    private Object[] targets;
+    private int[] next, previous;
+    private int[] slots; //SLOT THE TIMER IS LINKED INTO, NONE IF IT IS DUE OR FREE
+    private int freeList = NONE;
+    private int used = 0;
+    private int size = 0;
+
+    private long now;
+
+    TimerWheel(int capacity, long now)
+    {
+        deadlines = new long[capacity];
+        kinds = new int[capacity];
+        targets = new Object[capacity];
+        next = new int[capacity];
+        previous = new int[capacity];
+        slots = new int[capacity];
+        clear(now);
+    }
+
+    //DROPS EVERY TIMER; THE NEXT CALL TO advance MUST BE FOR THE GIVEN TICK
+
+    void clear(long now)
+    {
+        for (int i = 0; i < heads.length; i++)
+        {
+            heads[i] = NONE;
+        }
+        for (int i = 0; i < used; i++)
+        {
+            targets[i] = null;
+        }
+        freeList = NONE;
+        used = 0;
+        size = 0;
+        this.now = now;
+    }
+
+    int schedule(long deadline, int kind, T target)
+    {
+        int timer;
+        if (freeList != NONE)
+        {
+            timer = freeList;
+            freeList = next[timer];
+        }
+        else
+        {
+            if (used == deadlines.length)
+            {
+                grow();
+            }
+            timer = used++;
+        }
+
+        kinds[timer] = kind;
+        targets[timer] = target;
+        size++;
+        link(timer, deadline);
+        return timer;
+    }
+
+    //MOVES A LINKED OR DUE TIMER TO A NEW DEADLINE, KEEPING ITS HANDLE
+
+    void reschedule(int timer, long deadline)
+    {
+        unlink(timer);
+        link(timer, deadline);
+    }
+
+    void cancel(int timer)
+    {
+        unlink(timer);
+        targets[timer] = null;
+        next[timer] = freeList;
+        freeList = timer;
+        size--;
+    }
+
+    long getDeadline(int timer)
+    {
+        return deadlines[timer];
+    }
+
+    int getKind(int timer)
+    {
+        return kinds[timer];
+    }
+
+    @SuppressWarnings("unchecked")
+    T getTarget(int timer)
+    {
+        return (T) targets[timer];
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    //ADDS THE HANDLES OF EVERY TIMER DUE AT OR BEFORE THE GIVEN TICK TO due. DUE TIMERS ARE
+    //UNLINKED BUT KEEP THEIR HANDLE UNTIL THEY ARE RESCHEDULED OR CANCELLED.
+
+    void advance(long tick, IntArray due)
+    {
+        while (now <= tick)
+        {
+            //CASCADE EVERY LEVEL WHOSE LOWER LEVEL JUST WRAPPED
+
+            for (int level = 1; level < LEVELS; level++)
+            {
+                int shift = SLOT_BITS * level;
+                if ((now & ((1L << shift) - 1)) != 0) break;
+
+                int slot = level * SLOTS + (int) ((now >>> shift) & SLOT_MASK);
+                int timer = heads[slot];
+                heads[slot] = NONE;
+                while (timer != NONE)
+                {
+                    int following = next[timer];
+                    slots[timer] = NONE;
+                    link(timer, deadlines[timer]);
+                    timer = following;
+                }
+            }
+
+            int slot = (int) (now & SLOT_MASK);
+            int timer = heads[slot];
+            heads[slot] = NONE;
+            while (timer != NONE)
+            {
+                int following = next[timer];
+                slots[timer] = NONE;
+                due.add(timer);
+                timer = following;
+            }
+
+            now++;
+        }
+    }
+
+    private void link(int timer, long deadline)
+    {
+        deadlines[timer] = deadline;
+
+        long delta = Math.max(deadline - now, 0);
+        long slotTick = Math.max(deadline, now);
+        int level = 0;
+        if (delta >= RANGE)
+        {
+            //TOO FAR AHEAD: PARK IT IN THE LAST TOP LEVEL SLOT, IT IS RELINKED WHEN THAT CASCADES
+
+            level = LEVELS - 1;
+            slotTick = now + RANGE - 1;
+        }
+        else
+        {
+            while (delta >= 1L << (SLOT_BITS * (level + 1)))
+            {
+                level++;
+            }
+        }
+
+        int slot = level * SLOTS + (int) ((slotTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        slots[timer] = slot;
+        previous[timer] = NONE;
+        next[timer] = heads[slot];
+        if (heads[slot] != NONE)
+        {
+            previous[heads[slot]] = timer;
+        }
+        heads[slot] = timer;
+    }
+
+    private void unlink(int timer)
+    {
+        int slot = slots[timer];
+        if (slot == NONE) return;
+
+        if (previous[timer] != NONE)
+        {
+            next[previous[timer]] = next[timer];
+        }
+        else
+        {
+            heads[slot] = next[timer];
+        }
+        if (next[timer] != NONE)
+        {
+            previous[next[timer]] = previous[timer];
+        }
+        slots[timer] = NONE;
+    }
+
+    private void grow()
+    {
+        int capacity = deadlines.length * 2;
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+    }
+}
@@ -0,0 +1,334 @@
+package com.aashiqumar.blucandy;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+//COMPACT BINARY COPY OF THE WHOLE SIMULATION STATE (SHIPS, LASERS, EXPLOSIONS, TIMER
+//DEADLINES, SCORE AND RNG STATE), WRITTEN INTO A CALLER-OWNED BUFFER. THE WORLD MUST BE RESTORED
+//INTO A GameWorld CREATED WITH THE SAME GameConfig.
+
+public class WorldSnapshot {
+
+    static final int MAGIC = 0x42435753; // "BCWS"
+    static final int VERSION = 9;
+
+    private static final int HEADER_BYTES = 4 + 4 + 8 * 7 + 4 * 9 + 4 * 3 + 1;
+    private static final int SHIP_BYTES = 4 * 4 + 8;
+    private static final int ENEMY_BYTES = SHIP_BYTES + 4 + 8 + 4 * 2 + 1 + 2 + 4 * 3 + 4 * 2;
+    private static final int BOSS_BYTES = SHIP_BYTES + 4 + 4 + 8 + 1 + BossShip.HITBOXES.getPartCount() * 4;
+    private static final int LASER_BYTES = 4 * 5 + 1;
+    private static final int MISSILE_BYTES = 4 * 8;
+    private static final int EXPLOSION_BYTES = 4 * 6;
+
+    public static int sizeOf(GameWorld world)
+    {
+        return HEADER_BYTES + SHIP_BYTES + 4
+                + 4 + world.enemyShipList.size * ENEMY_BYTES
+                + 1 + (world.bossActive ? BOSS_BYTES : 0)
+                + 8 + (world.playerlaserlist.size + world.enemylaserlist.size) * LASER_BYTES
+                + 4 + world.missileList.size * MISSILE_BYTES
+                + 4 + world.explosionList.size * EXPLOSION_BYTES;
+    }
+
+    //RETURNS FALSE (LEAVING THE BUFFER POSITION UNDEFINED) IF THE BUFFER IS TOO SMALL
+
+    public static boolean write(GameWorld world, ByteBuffer buffer)
+    {
+        try
+        {
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+
+            buffer.putLong(world.getSeed());
+            buffer.putLong(world.tick);
+            buffer.putLong(world.random.getState(0));
+            buffer.putLong(world.random.getState(1));
+
+            buffer.putLong(world.nextSpawnTick);
+            buffer.putLong(world.nextMissileTick);
+            buffer.putLong(world.nextBeamTick);
+            buffer.putInt(world.nextSerial);
+            buffer.putInt(world.waveRemaining);
+            buffer.putInt(world.wavesStarted);
+            buffer.putInt(world.wavePath);
+            buffer.put((byte) (world.waveMirrored ? 1 : 0));
+            buffer.putFloat(world.waveOriginX);
+            buffer.putInt(world.Score);
+            buffer.putInt(world.playerDeaths);
+            buffer.putInt(world.enemiesDestroyed);
+            buffer.putInt(world.peakEnemies);
+            buffer.putInt(world.peakLasers);
+            buffer.putInt(world.droppedSpawns);
+            buffer.putInt(world.droppedShots);
+
+            writeShip(world.playerShip, buffer);
+            buffer.putInt(world.playerShip.lives);
+
+            buffer.putInt(world.enemyShipList.size);
+            for (int i = 0; i < world.enemyShipList.size; i++)
+            {
+                EnemyShip enemyShip = world.enemyShipList.get(i);
+                writeShip(enemyShip, buffer);
+                buffer.putInt(enemyShip.serial);
+                buffer.putLong(enemyShip.nextDirectionChangeTick);
+                buffer.putFloat(enemyShip.directionVector.x);
+                buffer.putFloat(enemyShip.directionVector.y);
+                buffer.put((byte) enemyShip.lodPendingTicks);
+                buffer.put((byte) enemyShip.path);
+                buffer.put((byte) (enemyShip.pathMirrored ? 1 : 0));
+                buffer.putFloat(enemyShip.pathDistance);
+                buffer.putFloat(enemyShip.pathOriginX);
+                buffer.putFloat(enemyShip.pathOriginY);
+                buffer.putFloat(enemyShip.steerable.linearVelocity.x);
+                buffer.putFloat(enemyShip.steerable.linearVelocity.y);
+            }
+
+            buffer.put((byte) (world.bossActive ? 1 : 0));
+            if (world.bossActive)
+            {
+                BossShip bossShip = world.bossShip;
+                writeShip(bossShip, buffer);
+                buffer.putInt(bossShip.serial);
+                buffer.putFloat(bossShip.directionX);
+                buffer.putLong(bossShip.liveParts);
+                buffer.put((byte) bossShip.partShields.length);
+                for (int partShield : bossShip.partShields)
+                {
+                    buffer.putInt(partShield);
+                }
+            }
+
+            writeLasers(world.playerlaserlist, buffer);
+            writeLasers(world.enemylaserlist, buffer);
+
+            buffer.putInt(world.missileList.size);
+            for (int i = 0; i < world.missileList.size; i++)
+            {
+                Missile missile = world.missileList.get(i);
+                buffer.putFloat(missile.boundingBox.x);
+                buffer.putFloat(missile.boundingBox.y);
+                buffer.putFloat(missile.boundingBox.width);
+                buffer.putFloat(missile.boundingBox.height);
+                buffer.putFloat(missile.directionX);
+                buffer.putFloat(missile.directionY);
+                buffer.putFloat(missile.movementSpeed);
+                buffer.putFloat(missile.age);
+            }
+
+            buffer.putInt(world.explosionList.size);
+            for (int i = 0; i < world.explosionList.size; i++)
+            {
+                Explosion explosion = world.explosionList.get(i);
+                buffer.putFloat(explosion.boundingBox.x);
+                buffer.putFloat(explosion.boundingBox.y);
+                buffer.putFloat(explosion.boundingBox.width);
+                buffer.putFloat(explosion.boundingBox.height);
+                buffer.putFloat(explosion.totalAnimationTime);
+                buffer.putFloat(explosion.explosionTimer);
+            }
+
+            return true;
+        }
+        catch (BufferOverflowException e)
+        {
+            return false;
+        }
+    }
+
+    //THE SEED OF THE SNAPSHOT AT THE BUFFER POSITION, TO CREATE THE WORLD TO RESTORE INTO
+
+    public static long peekSeed(ByteBuffer buffer)
+    {
+        return buffer.getLong(buffer.position() + 8);
+    }
+
+    public static void read(GameWorld world, ByteBuffer buffer)
+    {
+        if (buffer.getInt() != MAGIC)
+        {
+            throw new GdxRuntimeException("Not a world snapshot");
+        }
+
+        int version = buffer.getInt();
+        if (version != VERSION)
+        {
+            throw new GdxRuntimeException("Unsupported world snapshot version: " + version);
+        }
+
+        long seed = buffer.getLong();
+        if (seed != world.getSeed())
+        {
+            throw new GdxRuntimeException("World snapshot belongs to a world with another seed");
+        }
+
+        world.tick = buffer.getLong();
+        long state0 = buffer.getLong();
+        long state1 = buffer.getLong();
+        world.random.setState(state0, state1);
+
+        world.nextSpawnTick = buffer.getLong();
+        world.nextMissileTick = buffer.getLong();
+        world.nextBeamTick = buffer.getLong();
+        world.nextSerial = buffer.getInt();
+        world.waveRemaining = buffer.getInt();
+        world.wavesStarted = buffer.getInt();
+        world.wavePath = buffer.getInt();
+        world.waveMirrored = buffer.get() != 0;
+        world.waveOriginX = buffer.getFloat();
+        world.Score = buffer.getInt();
+        world.playerDeaths = buffer.getInt();
+        world.enemiesDestroyed = buffer.getInt();
+        world.peakEnemies = buffer.getInt();
+        world.peakLasers = buffer.getInt();
+        world.droppedSpawns = buffer.getInt();
+        world.droppedShots = buffer.getInt();
+
+        readShip(world.playerShip, buffer);
+        world.playerShip.lives = buffer.getInt();
+
+        world.enemyShipPool.freeAll(world.enemyShipList);
+        world.enemyShipList.clear();
+
+        int enemies = buffer.getInt();
+        for (int i = 0; i < enemies; i++)
+        {
+            EnemyShip enemyShip = world.enemyShipPool.obtain();
+            readShip(enemyShip, buffer);
+            enemyShip.destroyed = false; //THE POOLED SHIP MAY HAVE BEEN KILLED BEFORE, EVERY SAVED ONE IS ALIVE
+            enemyShip.serial = buffer.getInt();
+            enemyShip.nextDirectionChangeTick = buffer.getLong();
+            enemyShip.directionVector.x = buffer.getFloat();
+            enemyShip.directionVector.y = buffer.getFloat();
+            enemyShip.lodPendingTicks = buffer.get();
+            enemyShip.path = buffer.get();
+            enemyShip.pathMirrored = buffer.get() != 0;
+            enemyShip.pathDistance = buffer.getFloat();
+            enemyShip.pathOriginX = buffer.getFloat();
+            enemyShip.pathOriginY = buffer.getFloat();
+            float velocityX = buffer.getFloat();
+            float velocityY = buffer.getFloat();
+            enemyShip.steerable.linearVelocity.set(velocityX, velocityY);
+            world.enemyShipList.add(enemyShip);
+        }
+
+        world.bossActive = buffer.get() != 0;
+        if (world.bossActive)
+        {
+            BossShip bossShip = world.bossShip;
+            readShip(bossShip, buffer);
+            bossShip.serial = buffer.getInt();
+            bossShip.directionX = buffer.getFloat();
+            bossShip.liveParts = buffer.getLong();
+            int parts = buffer.get();
+            if (parts != bossShip.partShields.length)
+            {
+                throw new GdxRuntimeException("World snapshot has a boss with " + parts + " parts");
+            }
+            for (int i = 0; i < parts; i++)
+            {
+                bossShip.partShields[i] = buffer.getInt();
+            }
+        }
+
+        readLasers(world, world.playerlaserlist, world.playerLaserTextureRegion, buffer);
+        readLasers(world, world.enemylaserlist, world.enemyLaserTextureRegion, buffer);
+
+        world.missilePool.freeAll(world.missileList);
+        world.missileList.clear();
+
+        int missiles = buffer.getInt();
+        for (int i = 0; i < missiles; i++)
+        {
+            Missile missile = world.missilePool.obtain();
+            float x = buffer.getFloat();
+            float y = buffer.getFloat();
+            float width = buffer.getFloat();
+            float height = buffer.getFloat();
+            missile.set(0, 0, width, height, 0, world.playerLaserTextureRegion);
+            missile.boundingBox.setPosition(x, y);
+            missile.directionX = buffer.getFloat();
+            missile.directionY = buffer.getFloat();
+            missile.movementSpeed = buffer.getFloat();
+            missile.age = buffer.getFloat();
+            world.missileList.add(missile);
+        }
+
+        world.explosionPool.freeAll(world.explosionList);
+        world.explosionList.clear();
+
+        int explosions = buffer.getInt();
+        for (int i = 0; i < explosions; i++)
+        {
+            Explosion explosion = world.explosionPool.obtain();
+            float x = buffer.getFloat();
+            float y = buffer.getFloat();
+            float width = buffer.getFloat();
+            float height = buffer.getFloat();
+            explosion.boundingBox.set(x, y, width, height);
+            explosion.set(world.explosionFrames, explosion.boundingBox, buffer.getFloat());
+            explosion.explosionTimer = buffer.getFloat();
+            world.explosionList.add(explosion);
+        }
+
+        world.rebuildTimers();
+    }
+
+    private static void writeShip(Ship ship, ByteBuffer buffer)
+    {
+        buffer.putFloat(ship.boundingBox.x);
+        buffer.putFloat(ship.boundingBox.y);
+        buffer.putInt(ship.shield);
+        buffer.putLong(ship.nextShotTick);
+        buffer.putFloat(ship.movementSpeed);
+    }
+
+    private static void readShip(Ship ship, ByteBuffer buffer)
+    {
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        ship.boundingBox.setPosition(x, y);
+        ship.shield = buffer.getInt();
+        ship.nextShotTick = buffer.getLong();
+        ship.movementSpeed = buffer.getFloat();
+    }
+
+    private static void writeLasers(Array<Lasers> lasers, ByteBuffer buffer)
+    {
+        buffer.putInt(lasers.size);
+        for (int i = 0; i < lasers.size; i++)
+        {
+            Lasers laser = lasers.get(i);
+            buffer.putFloat(laser.boundingBox.x);
+            buffer.putFloat(laser.boundingBox.y);
+            buffer.putFloat(laser.boundingBox.width);
+            buffer.putFloat(laser.boundingBox.height);
+            buffer.putFloat(laser.movementSpeed);
+            buffer.put((byte) laser.lodPendingTicks);
+        }
+    }
+
+    private static void readLasers(GameWorld world, Array<Lasers> lasers,
+                                   TextureRegion textureRegion, ByteBuffer buffer)
+    {
+        world.laserPool.freeAll(lasers);
+        lasers.clear();
+
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++)
+        {
+            Lasers laser = world.laserPool.obtain();
+            laser.boundingBox.x = buffer.getFloat();
+            laser.boundingBox.y = buffer.getFloat();
+            laser.boundingBox.width = buffer.getFloat();
+            laser.boundingBox.height = buffer.getFloat();
+            laser.movementSpeed = buffer.getFloat();
+            laser.lodPendingTicks = buffer.get();
+            laser.textureRegion = textureRegion;
+            lasers.add(laser);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.AutoPilot;
+import com.aashiqumar.blucandy.GameInput;
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.Pilot;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+//RUNS THE HEADLESS GAME LOOP AND CHECKS THAT STEADY-STATE TICKS ALLOCATE NOTHING,
+//USING THE PER-THREAD ALLOCATION COUNTER OF THE HOTSPOT ThreadMXBean
+//USAGE: AllocationHarness [--warmup-ticks N] [--ticks N] [--seed S]
+//RUN IT WITH -Xint (AS THE GRADLE TASK DOES): UNDER THE JIT, DEOPTIMIZATION EVENTS
+//SOMETIMES ALLOCATE A FEW HUNDRED BYTES ON THE THREAD THAT ARE NOT THE GAME'S
+
+public class AllocationHarness {
+	public static void main (String[] arg) {
+		int warmupTicks = 60 * 60 * 5;
+		int ticks = 60 * 60 * 10;
+		long seed = 1;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--warmup-ticks": warmupTicks = Integer.parseInt(arg[++i]); break;
+				case "--ticks": ticks = Integer.parseInt(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if (!threads.isThreadAllocatedMemorySupported()) {
+			System.err.println("Thread allocation counters are not supported by this JVM");
+			System.exit(2);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+		long threadId = Thread.currentThread().getId();
+
+		GameWorld world = new GameWorld(seed, LoadedConfig.create(), null, null);
+		Pilot pilot = new AutoPilot();
+		GameInput input = new GameInput();
+
+		//WARMUP: LET POOLS AND ARRAYS GROW TO THEIR WORKING SIZE AND THE JIT SETTLE
+
+		for (int t = 0; t < warmupTicks; t++) {
+			pilot.fly(world, input);
+			world.update(input);
+		}
+
+		//THE COUNTER QUERY ITSELF MAY ALLOCATE, SO MEASURE IT WITH AN EMPTY BLOCK FIRST
+
+		long overhead = Long.MAX_VALUE;
+		for (int i = 0; i < 10; i++) {
+			long before = threads.getThreadAllocatedBytes(threadId);
+			long after = threads.getThreadAllocatedBytes(threadId);
+			overhead = Math.min(overhead, after - before);
+		}
+
+		int allocatingTicks = 0;
+		long allocatedBytes = 0;
+
+		for (int t = 0; t < ticks; t++) {
+			long before = threads.getThreadAllocatedBytes(threadId);
+			pilot.fly(world, input);
+			world.update(input);
+			long bytes = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+			if (bytes > 0) {
+				if (allocatingTicks < 10) System.err.println("tick " + (warmupTicks + t) + " allocated " + bytes + " bytes");
+				allocatingTicks++;
+				allocatedBytes += bytes;
+			}
+		}
+
+		System.out.printf(Locale.ROOT, "%d ticks after %d warmup ticks: %d bytes allocated in %d ticks (%.3f bytes/tick), %d enemies, %d lasers%n",
+				ticks, warmupTicks, allocatedBytes, allocatingTicks, allocatedBytes / (float) ticks,
+				world.getEnemyCount(), world.getLaserCount());
+
+		if (allocatedBytes > 0) {
+			System.err.println("FAIL: the steady-state tick allocates");
+			System.exit(1);
+		}
+
+		System.out.println("PASS");
+	}
+}
@@ -0,0 +1,212 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.GameConfig;
+import com.aashiqumar.blucandy.GameInput;
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.Pilot;
+import com.aashiqumar.blucandy.RandomPilot;
+import com.aashiqumar.blucandy.StrafePilot;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//RUNS MANY INDEPENDENT HEADLESS GAMES ACROSS ALL CORES AND SWEEPS A GRID OF GameConfig VALUES
+//USAGE: BalanceFarm [--games N] [--minutes M] [--threads T] [--pilot random|strafe] [--seed S]
+//                   [--out stats.csv] [--params] [name=v1,v2,...]...
+//A PARAMETER WITH ONE VALUE IS SET FOR EVERY GAME, ONE WITH SEVERAL IS SWEPT; --params LISTS THE NAMES
+//EACH GAME ENDS WHEN THE PLAYER IS FIRST DESTROYED OR THE TIME LIMIT IS REACHED
+
+public class BalanceFarm {
+
+	private static class GameResult {
+		float survivalSeconds;
+		int score;
+		int enemiesDestroyed;
+		int peakEnemies;
+		int peakLasers;
+	}
+
+	private static class GameTask implements Callable<GameResult> {
+		private final GameConfig config;
+		private final long seed;
+		private final String pilotName;
+		private final long maxTicks;
+
+		GameTask(GameConfig config, long seed, String pilotName, long maxTicks) {
+			this.config = config;
+			this.seed = seed;
+			this.pilotName = pilotName;
+			this.maxTicks = maxTicks;
+		}
+
+		@Override
+		public GameResult call() {
+			GameWorld world = new GameWorld(seed, config, null, null);
+			Pilot pilot = createPilot(pilotName, seed);
+			GameInput input = new GameInput();
+
+			while (world.getTick() < maxTicks && world.getPlayerDeaths() == 0) {
+				pilot.fly(world, input);
+				world.update(input);
+			}
+
+			GameResult result = new GameResult();
+			result.survivalSeconds = world.getTick() * GameWorld.TICK_DURATION;
+			result.score = world.getScore();
+			result.enemiesDestroyed = world.getEnemiesDestroyed();
+			result.peakEnemies = world.getPeakEnemies();
+			result.peakLasers = world.getPeakLasers();
+			return result;
+		}
+	}
+
+	static Pilot createPilot(String name, long seed) {
+		switch (name) {
+			case "random": return new RandomPilot(seed);
+			case "strafe": return new StrafePilot();
+			default: throw new IllegalArgumentException("Unknown pilot: " + name);
+		}
+	}
+
+	public static void main (String[] arg) throws IOException, InterruptedException, ExecutionException {
+		int games = 1000;
+		float minutes = 5;
+		int threads = Runtime.getRuntime().availableProcessors();
+		String pilotName = "random";
+		long baseSeed = 1;
+		String out = "balance.csv";
+		List<String> gridNames = new ArrayList<>();
+		List<float[]> gridValues = new ArrayList<>();
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--games": games = Integer.parseInt(arg[++i]); break;
+				case "--minutes": minutes = Float.parseFloat(arg[++i]); break;
+				case "--threads": threads = Integer.parseInt(arg[++i]); break;
+				case "--pilot": pilotName = arg[++i]; break;
+				case "--seed": baseSeed = Long.parseLong(arg[++i]); break;
+				case "--out": out = arg[++i]; break;
+				case "--params":
+					for (String name : GameConfig.NAMES) System.out.println(name);
+					return;
+				default:
+					String[] parameter = arg[i].split("=");
+					if (parameter.length != 2 || !Arrays.asList(GameConfig.NAMES).contains(parameter[0])) {
+						throw new IllegalArgumentException("Expected name=v1,v2,... with a name from --params, got " + arg[i]);
+					}
+					String[] values = parameter[1].split(",");
+					float[] parsed = new float[values.length];
+					for (int v = 0; v < values.length; v++) parsed[v] = Float.parseFloat(values[v]);
+					gridNames.add(parameter[0]);
+					gridValues.add(parsed);
+			}
+		}
+
+		createPilot(pilotName, 0);
+		long maxTicks = (long) (minutes * 60 / GameWorld.TICK_DURATION);
+
+		//FIXED PARAMETERS GO INTO THE BASE CONFIG, EVERY GRID POINT IS A COPY OF IT
+
+		GameConfig base = new GameConfig();
+		for (int p = 0; p < gridNames.size(); p++) {
+			if (gridValues.get(p).length == 1) base.set(gridNames.get(p), gridValues.get(p)[0]);
+		}
+
+		//ENUMERATE THE GRID POINTS
+
+		List<GameConfig> configs = new ArrayList<>();
+		List<float[]> points = new ArrayList<>();
+		int[] index = new int[gridNames.size()];
+		while (true) {
+			GameConfig config = base.copy();
+			float[] point = new float[index.length];
+			for (int p = 0; p < index.length; p++) {
+				point[p] = gridValues.get(p)[index[p]];
+				if (gridValues.get(p).length > 1) config.set(gridNames.get(p), point[p]);
+			}
+			configs.add(config);
+			points.add(point);
+
+			int p = 0;
+			while (p < index.length && ++index[p] == gridValues.get(p).length) {
+				index[p] = 0;
+				p++;
+			}
+			if (p == index.length) break;
+		}
+
+		//RUN EVERY GAME OF EVERY GRID POINT ON ONE SHARED POOL
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long start = System.nanoTime();
+
+		double simulatedSeconds = 0;
+
+		//A GAME THAT THROWS RETHROWS FROM get(); THE POOL'S THREADS MUST NOT KEEP THE JVM ALIVE
+		try {
+			List<List<Future<GameResult>>> futures = new ArrayList<>();
+			for (int c = 0; c < configs.size(); c++) {
+				List<Future<GameResult>> configFutures = new ArrayList<>();
+				for (int g = 0; g < games; g++) {
+					long seed = baseSeed + (long) c * games + g;
+					configFutures.add(executor.submit(new GameTask(configs.get(c), seed, pilotName, maxTicks)));
+				}
+				futures.add(configFutures);
+			}
+
+			PrintWriter writer = new PrintWriter(new FileWriter(out));
+			StringBuilder header = new StringBuilder();
+			for (String name : gridNames) header.append(name).append(',');
+			header.append("games,survivalMean,survivalMin,survivalMax,survivedFullRun,scoreMean,scoreMax,enemiesDestroyedMean,peakEnemiesMean,peakEnemiesMax,peakLasersMean,peakLasersMax");
+			writer.println(header);
+
+			for (int c = 0; c < configs.size(); c++) {
+				double survivalSum = 0, scoreSum = 0, destroyedSum = 0, peakEnemiesSum = 0, peakLasersSum = 0;
+				float survivalMin = Float.MAX_VALUE, survivalMax = 0;
+				int scoreMax = 0, peakEnemiesMax = 0, peakLasersMax = 0, survivedFullRun = 0;
+
+				for (Future<GameResult> future : futures.get(c)) {
+					GameResult result = future.get();
+					survivalSum += result.survivalSeconds;
+					survivalMin = Math.min(survivalMin, result.survivalSeconds);
+					survivalMax = Math.max(survivalMax, result.survivalSeconds);
+					if (result.survivalSeconds >= minutes * 60) survivedFullRun++;
+					scoreSum += result.score;
+					scoreMax = Math.max(scoreMax, result.score);
+					destroyedSum += result.enemiesDestroyed;
+					peakEnemiesSum += result.peakEnemies;
+					peakEnemiesMax = Math.max(peakEnemiesMax, result.peakEnemies);
+					peakLasersSum += result.peakLasers;
+					peakLasersMax = Math.max(peakLasersMax, result.peakLasers);
+				}
+				simulatedSeconds += survivalSum;
+
+				StringBuilder row = new StringBuilder();
+				for (float value : points.get(c)) row.append(value).append(',');
+				row.append(String.format(Locale.ROOT, "%d,%.2f,%.2f,%.2f,%d,%.1f,%d,%.1f,%.1f,%d,%.1f,%d",
+						games, survivalSum / games, survivalMin, survivalMax, survivedFullRun,
+						scoreSum / games, scoreMax, destroyedSum / games,
+						peakEnemiesSum / games, peakEnemiesMax, peakLasersSum / games, peakLasersMax));
+				writer.println(row);
+			}
+
+			writer.close();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		double wallSeconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf(Locale.ROOT, "%d games on %d threads in %.1f s, %.0fx real time, results in %s%n",
+				configs.size() * games, threads, wallSeconds, simulatedSeconds / wallSeconds, out);
+	}
+}
@@ -0,0 +1,66 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.CollisionMask;
+import com.aashiqumar.blucandy.CollisionMaskData;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Locale;
+
+//COST OF A SHIP-LASER COLLISION TEST WITH AND WITHOUT THE COLLISION MASK NARROW PHASE,
+//AND HOW MANY BOX HITS THE MASK TURNS INTO MISSES. LASERS OF THE GAME'S SIZES ARE PLACED
+//AT RANDOM AROUND A 10x10 SHIP SO THAT ABOUT HALF OF THEM OVERLAP ITS BOX.
+//USAGE: CollisionMaskBenchmark [--tests N] [--seed S]
+
+public class CollisionMaskBenchmark {
+	public static void main (String[] arg) {
+		int tests = 1000000;
+		long seed = 1;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--tests": tests = Integer.parseInt(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		System.out.println("mask,laser,boxHits,maskHits,rejected,boxNs,maskNs");
+		run("enemy", CollisionMaskData.ENEMY_SHIP, "player", 0.4f, 4, tests, seed);
+		run("player", CollisionMaskData.PLAYER_SHIP, "enemy", 0.9f, 4, tests, seed);
+	}
+
+	private static void run (String maskName, CollisionMask mask, String laserName, float laserWidth, float laserHeight,
+		int tests, long seed) {
+		RandomXS128 random = new RandomXS128(seed);
+		Rectangle box = new Rectangle(31, 59, 10, 10);
+
+		Rectangle[] lasers = new Rectangle[tests];
+		for (int i = 0; i < tests; i++) {
+			lasers[i] = new Rectangle(box.x - 6 + random.nextFloat() * 20, box.y - 9 + random.nextFloat() * 22, laserWidth, laserHeight);
+		}
+
+		//RUN BOTH FIVE TIMES, THE FIRST ROUNDS WARM UP THE JIT
+
+		long boxNanos = 0, maskNanos = 0;
+		int boxHits = 0, maskHits = 0;
+		for (int round = 0; round < 5; round++) {
+			boxHits = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < tests; i++) {
+				if (box.overlaps(lasers[i])) boxHits++;
+			}
+			boxNanos = System.nanoTime() - start;
+
+			maskHits = 0;
+			start = System.nanoTime();
+			for (int i = 0; i < tests; i++) {
+				if (box.overlaps(lasers[i]) && mask.overlaps(box, lasers[i])) maskHits++;
+			}
+			maskNanos = System.nanoTime() - start;
+		}
+
+		System.out.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f%%,%.2f,%.2f%n", maskName, laserName, boxHits, maskHits,
+			100f * (boxHits - maskHits) / boxHits, (double) boxNanos / tests, (double) maskNanos / tests);
+	}
+}
@@ -0,0 +1,100 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.CollisionMask;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+//BUILDS THE SHIPS' COLLISION MASKS FROM THE ALPHA OF THEIR ATLAS REGIONS AND WRITES THEM
+//AS CollisionMaskData. RUN IT AGAIN WHENEVER THE SHIP SPRITES CHANGE.
+//USAGE: CollisionMaskGenerator [--assets DIR] [--out FILE] [--alpha A]
+
+public class CollisionMaskGenerator {
+	//REGION NAME, CONSTANT NAME
+	private static final String[][] MASKS = {
+		{"playerShip2_orange", "PLAYER_SHIP"},
+		{"enemyRed1", "ENEMY_SHIP"}
+	};
+
+	public static void main (String[] arg) throws IOException {
+		String assets = "../android/assets";
+		String out = "../core/src/com/aashiqumar/blucandy/CollisionMaskData.java";
+		int alphaThreshold = 128;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--assets": assets = arg[++i]; break;
+				case "--out": out = arg[++i]; break;
+				case "--alpha": alphaThreshold = Integer.parseInt(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		GdxNativesLoader.load();
+		FileHandle assetsDir = new FileHandle(new File(assets));
+		TextureAtlasData atlas = new TextureAtlasData(assetsDir.child("images.atlas"), assetsDir, false);
+
+		try (PrintWriter writer = new PrintWriter(out, "UTF-8")) {
+			writer.println("package com.aashiqumar.blucandy;");
+			writer.println();
+			writer.println("//GENERATED BY CollisionMaskGenerator FROM THE ALPHA OF images.atlas, DO NOT EDIT");
+			writer.println();
+			writer.println("public class CollisionMaskData {");
+
+			for (String[] mask : MASKS) {
+				long[] rows = build(atlas, mask[0], alphaThreshold);
+				CollisionMask collisionMask = new CollisionMask(rows);
+				System.out.printf(Locale.ROOT, "%s: %.1f%% of the box%n", mask[0], collisionMask.coverage() * 100);
+
+				writer.println();
+				writer.println("    public static final CollisionMask " + mask[1] + " = new CollisionMask(new long[] {");
+				for (int r = 0; r < rows.length; r += 4) {
+					StringBuilder line = new StringBuilder("           ");
+					for (int i = r; i < r + 4; i++) {
+						line.append(String.format(Locale.ROOT, " 0x%016XL", rows[i]));
+						if (i < rows.length - 1) line.append(',');
+					}
+					writer.println(line);
+				}
+				writer.println("    }); //" + mask[0]);
+			}
+			writer.println("}");
+		}
+		System.out.println("wrote " + out);
+	}
+
+	private static long[] build (TextureAtlasData atlas, String name, int alphaThreshold) {
+		for (TextureAtlasData.Region region : atlas.getRegions()) {
+			if (!region.name.equals(name)) continue;
+			if (region.rotate) throw new GdxRuntimeException("Rotated region not supported: " + name);
+
+			Pixmap pixmap = new Pixmap(region.page.textureFile);
+			try {
+				long[] rows = new long[CollisionMask.SIZE];
+
+				//PIXMAP ROWS GO DOWN FROM THE TOP, MASK ROWS GO UP FROM THE BOTTOM
+
+				for (int py = 0; py < region.height; py++) {
+					int row = (region.height - 1 - py) * CollisionMask.SIZE / region.height;
+					for (int px = 0; px < region.width; px++) {
+						int alpha = pixmap.getPixel(region.left + px, region.top + py) & 0xFF;
+						if (alpha >= alphaThreshold) {
+							rows[row] |= 1L << (px * CollisionMask.SIZE / region.width);
+						}
+					}
+				}
+				return rows;
+			} finally {
+				pixmap.dispose();
+			}
+		}
+		throw new GdxRuntimeException("Region not found: " + name);
+	}
+}
@@ -5,11 +5,29 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.aashiqumar.blucandy.BCapp;
 
 public class DesktopLauncher {
+	private static final int BACKGROUND_FPS = 10;
+
 	public static void main (String[] arg) {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 
 		config.height = 640;
 		config.width = 360;
-		new LwjglApplication(new BCapp(), config);
+
+		boolean autopilot = false;
+		boolean debug = false;
+		for (String argument : arg) {
+			if (argument.equals("--autopilot")) autopilot = true;
+			if (argument.equals("--debug")) debug = true;
+		}
+
+		//60 FPS IN FRONT. MINIMIZED, OR UNFOCUSED WHEN SOMEONE IS PLAYING, THE GAME PAUSES; THE
+		//LOOP THEN WAKES AT BACKGROUND_FPS AT MOST INSTEAD OF SPINNING. THE AUTOPILOT KEEPS
+		//FLYING IN AN UNFOCUSED WINDOW, AT THE BACKGROUND RATE.
+		config.foregroundFPS = 60;
+		config.backgroundFPS = BACKGROUND_FPS;
+		config.pauseWhenMinimized = true;
+		config.pauseWhenBackground = !autopilot;
+
+		new LwjglApplication(new BCapp(autopilot, debug), config);
 	}
 }
@@ -0,0 +1,102 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.HitboxHierarchy;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Locale;
+
+//COST OF FINDING THE PART OF A MULTI-PART SHIP HIT BY A LASER THROUGH ITS HitboxHierarchy
+//AGAINST TESTING EVERY PART, AS THE NUMBER OF PARTS GROWS. PARTS TILE A 36x18 SHIP (THE
+//BOSS'S SIZE) WITH GAPS BETWEEN THEM; LASERS OF THE PLAYER'S SIZE LAND ANYWHERE ON IT.
+//THE SAME FEW THOUSAND LASERS ARE TESTED OVER AND OVER, SO THEY STAY IN THE CACHE LIKE THE
+//LASERS OF A TICK DO. ALSO CHECKS THAT BOTH FIND THE SAME PART FOR EVERY LASER.
+//USAGE: HitboxBenchmark [--tests N] [--seed S] [--parts 4,8,...]
+
+public class HitboxBenchmark {
+	private static final float WIDTH = 36, HEIGHT = 18;
+	private static final int LASERS = 4096;
+
+	public static void main (String[] arg) {
+		int tests = 2000000;
+		long seed = 1;
+		String partCounts = "4,8,16,32,64";
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--tests": tests = Integer.parseInt(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--parts": partCounts = arg[++i]; break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		System.out.println("parts,hierarchyNs,linearNs,hierarchyBoxTests,linearBoxTests,hitRate");
+
+		for (String count : partCounts.split(",")) {
+			int parts = Integer.parseInt(count.trim());
+			RandomXS128 random = new RandomXS128(seed);
+
+			//TILE THE SHIP WITH A GRID OF CELLS, ONE PART IN EACH, SHRUNK BY A RANDOM MARGIN
+
+			int columns = (int) Math.ceil(Math.sqrt(parts * 2)), rows = (int) Math.ceil((float) parts / columns);
+			float cellWidth = WIDTH / columns, cellHeight = HEIGHT / rows;
+			float[] boxes = new float[parts * 4];
+			for (int p = 0; p < parts; p++) {
+				float margin = random.nextFloat() * 0.25f;
+				boxes[p * 4] = (p % columns + margin) * cellWidth;
+				boxes[p * 4 + 1] = (p / columns + margin) * cellHeight;
+				boxes[p * 4 + 2] = (1 - 2 * margin) * cellWidth;
+				boxes[p * 4 + 3] = (1 - 2 * margin) * cellHeight;
+			}
+			HitboxHierarchy hitboxes = new HitboxHierarchy(boxes);
+			long live = hitboxes.allParts();
+
+			Rectangle[] lasers = new Rectangle[LASERS];
+			for (int i = 0; i < LASERS; i++) {
+				lasers[i] = new Rectangle(10 + random.nextFloat() * WIDTH, 20 + random.nextFloat() * HEIGHT, 0.4f, 4);
+			}
+
+			//RUN BOTH FIVE TIMES, THE FIRST ROUNDS WARM UP THE JIT. TIMED WITHOUT COUNTING, LIKE THE GAME.
+
+			long hierarchyNanos = 0, linearNanos = 0;
+			int hits = 0;
+			long sink = 0;
+			for (int round = 0; round < 5; round++) {
+				hits = 0;
+				long start = System.nanoTime();
+				for (int i = 0; i < tests; i++) {
+					int part = hitboxes.firstHit(10, 20, lasers[i & (LASERS - 1)], live);
+					if (part >= 0) hits++;
+					sink += part;
+				}
+				hierarchyNanos = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < tests; i++) {
+					sink += hitboxes.firstHitLinear(10, 20, lasers[i & (LASERS - 1)], live, null);
+				}
+				linearNanos = System.nanoTime() - start;
+			}
+
+			//BOX TESTS PER LASER, COUNTED IN A SEPARATE PASS THAT ALSO CHECKS BOTH AGREE
+
+			HitboxHierarchy.Stats hierarchyStats = new HitboxHierarchy.Stats();
+			HitboxHierarchy.Stats linearStats = new HitboxHierarchy.Stats();
+			for (int i = 0; i < LASERS; i++) {
+				int part = hitboxes.firstHit(10, 20, lasers[i], live, hierarchyStats);
+				int expected = hitboxes.firstHitLinear(10, 20, lasers[i], live, linearStats);
+				if (part != expected) {
+					System.err.println("FAIL: laser " + i + " hits part " + part + " through the hierarchy but part "
+						+ expected + " when testing every part, with " + parts + " parts");
+					System.exit(1);
+				}
+			}
+
+			System.out.printf(Locale.ROOT, "%d,%.1f,%.1f,%.1f,%.1f,%.2f%n", parts, (double) hierarchyNanos / tests,
+				(double) linearNanos / tests, (double) hierarchyStats.nodeTests / LASERS, (double) linearStats.nodeTests / LASERS,
+				(float) hits / tests);
+			if (sink == 42) System.out.print("");
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.GameConfig;
+
+//THE GAME CONFIG THE CHECK HARNESSES RUN: BOTH PLAYER WEAPONS AND THE UPDATE LEVEL OF DETAIL
+//ON, SO THEIR CODE IS COVERED, AND SPAWNS FAST ENOUGH THAT THE AUTOPILOT'S WORLD STAYS AT THE
+//ENTITY BUDGETS. OVER 10 MINUTES OF SEED 1 IT HOLDS 37 OF THE 40 ENEMIES AND 298 OF THE 300
+//ENEMY LASERS ON AVERAGE; THE DEFAULT GAME HOLDS 2 ENEMIES AND 40 LASERS.
+
+final class LoadedConfig {
+	static final float SPAWN_INTERVAL = 0.25f;
+
+	private LoadedConfig () {
+	}
+
+	static GameConfig create () {
+		GameConfig config = new GameConfig();
+		config.playerMissiles = true;
+		config.playerBeam = true;
+		config.lodMaxInterval = 4;
+		config.timeBetweenEnemySpawns = SPAWN_INTERVAL;
+		return config;
+	}
+}
@@ -0,0 +1,82 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.ParticleEngine;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Locale;
+
+//CPU COST OF THE PARTICLE ENGINE PER FRAME AT A STEADY LIVE COUNT: EMITTING THE PARTICLES
+//THAT DIED, UPDATING ALL OF THEM AND WRITING THEIR VERTICES (WHAT draw HANDS TO THE BATCH,
+//WITHOUT THE GPU UPLOAD). ALSO SHOWS THE BUDGET CUTTING EMISSIONS UNDER SLOW FRAMES.
+//USAGE: ParticleBenchmark [--frames N] [--seed S] [--counts 1000,10000,...]
+
+public class ParticleBenchmark {
+	private static final float FRAME = 1 / 60f;
+
+	public static void main (String[] arg) {
+		int frames = 600;
+		long seed = 1;
+		String counts = "1000,10000,100000";
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--frames": frames = Integer.parseInt(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--counts": counts = arg[++i]; break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		System.out.println("particles,emitUsPer10k,updateUsPer10k,verticesUsPer10k,totalUsPerFrame");
+
+		for (String count : counts.split(",")) {
+			int n = Integer.parseInt(count.trim());
+			ParticleEngine particles = new ParticleEngine(seed, new int[] {n, 0, 0});
+
+			//RUN EVERYTHING THREE TIMES, THE FIRST ROUNDS WARM UP THE JIT
+
+			long emitNanos = 0, updateNanos = 0, vertexNanos = 0, particleFrames = 0;
+			long sink = 0;
+
+			for (int round = 0; round < 3; round++) {
+				particles.clear();
+				emitNanos = updateNanos = vertexNanos = particleFrames = 0;
+
+				for (int frame = 0; frame < frames; frame++) {
+					long start = System.nanoTime();
+					particles.emit(ParticleEngine.DEBRIS, 36, 64, 0, 1, MathUtils.PI, n - particles.getLiveCount());
+					long emitted = System.nanoTime();
+					particles.update(FRAME);
+					long updated = System.nanoTime();
+					sink += particles.fillVertices(ParticleEngine.DEBRIS);
+					long filled = System.nanoTime();
+
+					emitNanos += emitted - start;
+					updateNanos += updated - emitted;
+					vertexNanos += filled - updated;
+					particleFrames += particles.getLiveCount();
+				}
+			}
+
+			double per10k = 10000.0 / particleFrames;
+			System.out.printf(Locale.ROOT, "%d,%.1f,%.1f,%.1f,%.1f%n", n, emitNanos * per10k / 1e3, updateNanos * per10k / 1e3,
+					vertexNanos * per10k / 1e3, (emitNanos + updateNanos + vertexNanos) / 1e3 / frames);
+			if (sink == 42) System.out.print("");
+		}
+
+		//BUDGET: FRAMES REPORTED OVER BUDGET SHRINK WHAT MAY BE EMITTED, FAST ONES LET IT RECOVER
+
+		ParticleEngine particles = new ParticleEngine(seed, ParticleEngine.DEFAULT_CAPACITIES);
+		System.out.println("frame,frameMs,budget,live,dropped");
+		for (int frame = 0; frame < 240; frame++) {
+			float frameSeconds = frame >= 60 && frame < 120 ? 0.020f : 0.008f;
+			particles.emit(ParticleEngine.DEBRIS, 36, 64, 0, 1, MathUtils.PI, 200);
+			particles.update(FRAME);
+			particles.updateBudget(frameSeconds, 0.012f);
+			if (frame % 30 == 29) {
+				System.out.printf(Locale.ROOT, "%d,%.0f,%.2f,%d,%d%n", frame, frameSeconds * 1e3, particles.getBudget(),
+						particles.getLiveCount(), particles.dropped);
+			}
+		}
+	}
+}
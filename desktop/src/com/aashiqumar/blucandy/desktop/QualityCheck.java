@@ -0,0 +1,113 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.AutoPilot;
+import com.aashiqumar.blucandy.GameConfig;
+import com.aashiqumar.blucandy.GameInput;
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.Pilot;
+import com.aashiqumar.blucandy.QualityGovernor;
+import com.aashiqumar.blucandy.ReplayPlayer;
+import com.aashiqumar.blucandy.ReplayRecorder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+//CHECK OF QualityGovernor: FEEDS IT A SCRIPTED FRAME TIME TRACE (FAST, SLOW, RIGHT AT THE
+//BUDGET, FAST AGAIN) AND FAILS IF IT DOES NOT STEP DOWN UNDER LOAD, CHANGES LEVEL NEAR THE
+//BUDGET OR DOES NOT RECOVER. THEN CHECKS THAT A SESSION WHOSE QUALITY CHANGES REPLAYS TO THE
+//SAME STATE, AND REPORTS THE SIMULATION COST AND SCORE AT EACH LEVEL.
+//USAGE: QualityCheck [--seed S] [--ticks N] [--budget-ms MS]
+
+public class QualityCheck {
+	public static void main (String[] arg) throws IOException {
+		long seed = 1;
+		int ticks = 60 * 60 * 5;
+		float budgetMs = 12;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--ticks": ticks = Integer.parseInt(arg[++i]); break;
+				case "--budget-ms": budgetMs = Float.parseFloat(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		boolean failed = false;
+
+		//GOVERNOR: FRAME MS PER PHASE, AND THE LEVEL EXPECTED AT ITS END
+
+		float[][] phases = {
+			{600, budgetMs * 0.6f, 0},
+			{600, budgetMs * 1.8f, QualityGovernor.LEVELS - 1},
+			{600, budgetMs * 0.95f, QualityGovernor.LEVELS - 1},
+			{1800, budgetMs * 0.4f, 0}
+		};
+		QualityGovernor governor = new QualityGovernor(budgetMs / 1000);
+		int frame = 0;
+		for (float[] phase : phases) {
+			int changesBefore = governor.adjustments;
+			for (int f = 0; f < phase[0]; f++, frame++) {
+				if (governor.update(phase[1] / 1000)) System.out.println(governor.getLastAdjustment());
+			}
+			System.out.printf(Locale.ROOT, "%d frames at %.1f ms: level %d after %d adjustments%n",
+					(int) phase[0], phase[1], governor.getLevel(), governor.adjustments - changesBefore);
+			if (governor.getLevel() != (int) phase[2]) {
+				System.err.println("FAIL: level " + governor.getLevel() + " at frame " + frame + ", expected " + (int) phase[2]);
+				failed = true;
+			}
+		}
+
+		//REPLAY: THE LEVEL CHANGES EVERY 20 SECONDS AND IS RECORDED WITH THE INPUT
+
+		GameConfig config = LoadedConfig.create();
+		GameWorld world = new GameWorld(seed, config, null, null);
+		Pilot pilot = new AutoPilot();
+		GameInput input = new GameInput();
+		ByteArrayOutputStream recording = new ByteArrayOutputStream();
+		ReplayRecorder recorder = new ReplayRecorder(recording, seed);
+		for (int t = 0; t < ticks; t++) {
+			pilot.fly(world, input);
+			input.quality = t / 1200 % QualityGovernor.LEVELS;
+			recorder.record(input);
+			world.update(input);
+		}
+		recorder.close(world.stateHash());
+
+		GameWorld replayed = new ReplayPlayer(new ByteArrayInputStream(recording.toByteArray())).play(config);
+		if (replayed.stateHash() != world.stateHash()) {
+			System.err.println("FAIL: replay with quality changes diverged: " + Long.toHexString(replayed.stateHash())
+					+ " != " + Long.toHexString(world.stateHash()));
+			failed = true;
+		} else {
+			System.out.println("replay with quality changes: identical after " + ticks + " ticks");
+		}
+
+		//COST PER LEVEL, TWO RUNS EACH, THE FIRST WARMS UP THE JIT
+
+		System.out.println("level,usPerTick,lodSkippedPercent,score,enemiesDestroyed");
+		for (int level = 0; level < QualityGovernor.LEVELS; level++) {
+			for (int run = 0; run < 2; run++) {
+				world = new GameWorld(seed, config, null, null);
+				pilot = new AutoPilot();
+				long start = System.nanoTime();
+				for (int t = 0; t < ticks; t++) {
+					pilot.fly(world, input);
+					input.quality = level;
+					world.update(input);
+				}
+				long elapsed = System.nanoTime() - start;
+				if (run == 0) continue;
+
+				long updates = world.getLodUpdates(), skipped = world.getLodSkippedUpdates();
+				System.out.printf(Locale.ROOT, "%d,%.2f,%.1f,%d,%d%n", level, elapsed / 1e3 / ticks,
+						100.0 * skipped / Math.max(1, updates + skipped), world.getScore(), world.getEnemiesDestroyed());
+			}
+		}
+
+		if (failed) System.exit(1);
+		System.out.println("PASS");
+	}
+}
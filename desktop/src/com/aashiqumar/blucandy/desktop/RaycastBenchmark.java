@@ -0,0 +1,128 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.RayGrid;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.util.Locale;
+
+//COST OF THE BEAM'S FIRST-HIT RAY QUERY THROUGH THE RayGrid AGAINST TESTING THE RAY
+//AGAINST EVERY ENEMY BOX, IN THE 72x128 WORLD WITH THE GAME'S 8-UNIT CELLS AND 10x10
+//ENEMIES. RAYS START ANYWHERE IN THE WORLD AND GO IN ANY DIRECTION, AS FAR AS THE BEAM'S
+//RANGE. ALSO CHECKS THAT EVERY GRID ANSWER HITS AT THE SAME DISTANCE AS THE LINEAR SCAN.
+//USAGE: RaycastBenchmark [--rays N] [--seed S] [--counts 100,1000,...] [--range R]
+
+public class RaycastBenchmark {
+	private static final float CELL_SIZE = 8;
+	private static final float ENEMY_SIZE = 10;
+
+	public static void main (String[] arg) {
+		int rays = 20000;
+		long seed = 1;
+		String counts = "100,1000,10000";
+		float range = 80;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--rays": rays = Integer.parseInt(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--counts": counts = arg[++i]; break;
+				case "--range": range = Float.parseFloat(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		float width = GameWorld.WORLD_WIDTH, height = GameWorld.WORLD_HEIGHT;
+		System.out.println("enemies,buildUs,gridNs,linearNs,hitRate");
+
+		for (String count : counts.split(",")) {
+			int n = Integer.parseInt(count.trim());
+			RandomXS128 random = new RandomXS128(seed);
+
+			float[] xs = new float[n], ys = new float[n];
+			Integer[] items = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				xs[i] = random.nextFloat() * (width - ENEMY_SIZE);
+				ys[i] = random.nextFloat() * (height - ENEMY_SIZE);
+				items[i] = i;
+			}
+
+			float[] rayXs = new float[rays], rayYs = new float[rays], rayDxs = new float[rays], rayDys = new float[rays];
+			for (int r = 0; r < rays; r++) {
+				rayXs[r] = random.nextFloat() * width;
+				rayYs[r] = random.nextFloat() * height;
+				float angle = random.nextFloat() * MathUtils.PI2;
+				rayDxs[r] = (float) Math.cos(angle);
+				rayDys[r] = (float) Math.sin(angle);
+			}
+
+			RayGrid<Integer> grid = new RayGrid<>(CELL_SIZE, width, height, Math.max(n, 1));
+
+			//RUN EVERYTHING THREE TIMES, THE FIRST ROUNDS WARM UP THE JIT
+
+			long buildNanos = 0, gridNanos = 0, linearNanos = 0;
+			int hits = 0;
+			long sink = 0;
+
+			for (int round = 0; round < 3; round++) {
+				long start = System.nanoTime();
+				grid.clear();
+				for (int i = 0; i < n; i++) grid.add(items[i], xs[i], ys[i], ENEMY_SIZE, ENEMY_SIZE);
+				grid.build();
+				buildNanos = System.nanoTime() - start;
+
+				hits = 0;
+				start = System.nanoTime();
+				for (int r = 0; r < rays; r++) {
+					Integer hit = grid.raycast(rayXs[r], rayYs[r], rayDxs[r], rayDys[r], range);
+					if (hit != null) {
+						hits++;
+						sink += hit;
+					}
+				}
+				gridNanos = System.nanoTime() - start;
+
+				int linearRays = Math.max(1, rays / Math.max(1, n / 1000));
+				start = System.nanoTime();
+				for (int r = 0; r < linearRays; r++) {
+					float distance = linearRaycast(xs, ys, rayXs[r], rayYs[r], rayDxs[r], rayDys[r], range);
+					if (round == 2) {
+						Integer hit = grid.raycast(rayXs[r], rayYs[r], rayDxs[r], rayDys[r], range);
+						float gridDistance = hit == null ? Float.POSITIVE_INFINITY : grid.getHitDistance();
+						if (gridDistance != distance) {
+							System.err.println("FAIL: ray " + r + " hits at " + gridDistance + " through the grid but at "
+									+ distance + " in a linear scan, with " + n + " enemies");
+							System.exit(1);
+						}
+					}
+					sink += (long) distance;
+				}
+				linearNanos = (System.nanoTime() - start) * rays / linearRays;
+			}
+
+			System.out.printf(Locale.ROOT, "%d,%.1f,%.0f,%.0f,%.2f%n", n, buildNanos / 1e3,
+					(double) gridNanos / rays, (double) linearNanos / rays, (float) hits / rays);
+			if (sink == 42) System.out.print("");
+		}
+	}
+
+	//SAME SLAB TEST AS THE GRID, AGAINST EVERY BOX
+
+	private static float linearRaycast (float[] xs, float[] ys, float x, float y, float dx, float dy, float range) {
+		float inverseX = 1 / dx, inverseY = 1 / dy;
+		float best = Float.POSITIVE_INFINITY;
+		for (int i = 0; i < xs.length; i++) {
+			float near = 0, far = range;
+			float t1 = (xs[i] - x) * inverseX, t2 = (xs[i] + ENEMY_SIZE - x) * inverseX;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+			t1 = (ys[i] - y) * inverseY;
+			t2 = (ys[i] + ENEMY_SIZE - y) * inverseY;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+			if (near <= far && near < best) best = near;
+		}
+		return best;
+	}
+}
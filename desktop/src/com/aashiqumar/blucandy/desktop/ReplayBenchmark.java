@@ -0,0 +1,53 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.ReplayPlayer;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+//RE-RUNS A RECORDED SESSION WITHOUT GRAPHICS, AS A PERFORMANCE REGRESSION SCENARIO. FAILS IF
+//A RUN DOES NOT MATCH THE STATE RECORDED IN THE FILE'S CHECKPOINTS AND TRAILER, OR THE FIRST RUN.
+//USAGE: ReplayBenchmark <replay file> [runs]
+
+public class ReplayBenchmark {
+	public static void main (String[] arg) throws IOException {
+		if (arg.length < 1) {
+			System.err.println("usage: ReplayBenchmark <replay file> [runs]");
+			System.exit(2);
+		}
+
+		String file = arg[0];
+		int runs = arg.length > 1 ? Integer.parseInt(arg[1]) : 5;
+
+		long expectedHash = 0;
+
+		for (int run = 0; run < runs; run++) {
+			long start = System.nanoTime();
+			ReplayPlayer player = new ReplayPlayer(new FileInputStream(file));
+			GameWorld world;
+			try {
+				world = player.play();
+			} catch (GdxRuntimeException e) {
+				System.err.println("Replay diverged on run " + run + ": " + e.getMessage());
+				System.exit(1);
+				return;
+			}
+			long elapsed = System.nanoTime() - start;
+
+			long hash = world.stateHash();
+			if (run == 0) {
+				expectedHash = hash;
+			} else if (hash != expectedHash) {
+				System.err.println("Replay diverged on run " + run + ": " + Long.toHexString(hash) + " != " + Long.toHexString(expectedHash));
+				System.exit(1);
+			}
+
+			System.out.printf("run %d: %d ticks in %.2f ms (%.1f us/tick), score %d, state %s, %d recorded states matched%s%n",
+					run, world.getTick(), elapsed / 1e6, elapsed / 1e3 / Math.max(1, world.getTick()),
+					world.getScore(), Long.toHexString(hash), player.getCheckedStates(),
+					player.isCutOff() ? ", recording cut off" : "");
+		}
+	}
+}
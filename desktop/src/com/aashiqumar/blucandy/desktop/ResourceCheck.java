@@ -0,0 +1,103 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.ResourceRegistry;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+//CHECK OF ResourceRegistry WITHOUT A GL CONTEXT: TWO OWNERS SHARE, RETAIN AND RELEASE
+//STAND-IN RESOURCES, AND IT FAILS IF A RESOURCE IS DISPOSED WHILE STILL REFERENCED, TWICE,
+//OUT OF REVERSE ORDER, OR IS STILL ALIVE AFTER BOTH OWNERS RELEASED EVERYTHING. ALSO CHECKS
+//THE VIDEO MEMORY ESTIMATE OF A FEW TEXTURE SIZES.
+//USAGE: ResourceCheck
+
+public class ResourceCheck {
+	private static final Array<String> disposals = new Array<>();
+	private static boolean failed = false;
+
+	private static class Resource implements Disposable {
+		final String name;
+		boolean disposed = false;
+
+		Resource (String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void dispose () {
+			if (disposed) fail(name + " disposed twice");
+			disposed = true;
+			disposals.add(name);
+		}
+	}
+
+	public static void main (String[] arg) {
+		ResourceRegistry registry = new ResourceRegistry();
+		Object screen = "screen", overlay = "overlay";
+
+		//ACQUISITION: THE SCREEN CREATES, THE OVERLAY SHARES ONE OF THEM
+
+		Resource atlas = registry.add(screen, "atlas", new Resource("atlas"));
+		Resource batch = registry.add(screen, "batch", new Resource("batch"));
+		Resource generator = registry.add(screen, "generator", new Resource("generator"));
+		Resource font = registry.add(screen, "font", new Resource("font"));
+		registry.retain(overlay, "atlas");
+		registry.retain(overlay, "atlas");
+		Resource overlayBatch = registry.add(overlay, "overlayBatch", new Resource("overlayBatch"));
+
+		expect(registry.getLiveCount() == 5, "5 live resources, got " + registry.getLiveCount());
+		expect(registry.getReferenceCount("atlas") == 3, "atlas has 3 references, got " + registry.getReferenceCount("atlas"));
+
+		try {
+			registry.add(overlay, "batch", new Resource("duplicate"));
+			fail("a duplicate name was accepted");
+		} catch (GdxRuntimeException expected) {
+			expect(disposals.contains("duplicate", false), "the rejected duplicate was not disposed");
+			disposals.clear();
+		}
+		try {
+			registry.release(overlay, "font");
+			fail("an owner released a reference it does not hold");
+		} catch (GdxRuntimeException expected) {
+		}
+
+		//RELEASE: THE LAST REFERENCE DISPOSES RIGHT AWAY
+
+		registry.release(screen, "generator");
+		expect(generator.disposed, "generator not disposed on its last release");
+
+		//TEARDOWN: THE SCREEN GOES FIRST, THE SHARED ATLAS STAYS FOR THE OVERLAY
+
+		registry.releaseAll(screen);
+		expect(disposals.toString(",").equals("generator,font,batch"), "screen teardown order " + disposals);
+		expect(!atlas.disposed, "atlas disposed while the overlay still holds it");
+		expect(registry.getReferenceCount("atlas") == 2, "atlas has 2 references, got " + registry.getReferenceCount("atlas"));
+
+		registry.releaseAll(overlay);
+		expect(atlas.disposed && overlayBatch.disposed && batch.disposed && font.disposed, "a resource was never disposed");
+		expect(disposals.toString(",").equals("generator,font,batch,overlayBatch,atlas"), "overlay teardown order " + disposals);
+		expect(registry.getLiveCount() == 0, "resources left after releaseAll:\n" + registry.report());
+		expect(registry.created == registry.disposed, registry.created + " created, " + registry.disposed + " disposed");
+		System.out.print(registry.report());
+
+		//VIDEO MEMORY ESTIMATE
+
+		expect(ResourceRegistry.estimateBytes(1024, 1024, Pixmap.Format.RGBA8888, false) == 4 << 20, "1024x1024 RGBA8888");
+		expect(ResourceRegistry.estimateBytes(256, 256, Pixmap.Format.RGB565, false) == 128 << 10, "256x256 RGB565");
+		expect(ResourceRegistry.estimateBytes(512, 512, Pixmap.Format.Alpha, true) == (1 << 18) * 4 / 3, "512x512 Alpha mipmapped");
+		expect(ResourceRegistry.estimateBytes(100, 10, Pixmap.Format.RGB888, false) == 3000, "100x10 RGB888");
+
+		if (failed) System.exit(1);
+		System.out.println("PASS");
+	}
+
+	private static void expect (boolean condition, String message) {
+		if (!condition) fail(message);
+	}
+
+	private static void fail (String message) {
+		System.err.println("FAIL: " + message);
+		failed = true;
+	}
+}
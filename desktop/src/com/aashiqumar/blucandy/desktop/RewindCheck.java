@@ -0,0 +1,136 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.AutoPilot;
+import com.aashiqumar.blucandy.GameConfig;
+import com.aashiqumar.blucandy.GameInput;
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.Pilot;
+import com.aashiqumar.blucandy.RewindBuffer;
+
+import java.util.Locale;
+
+//CHECK OF RewindBuffer: EVERY TICK STILL HELD MUST RESTORE TO THE STATE THE WORLD HAD AT THAT
+//TICK, AND A WORLD CONTINUED FROM A RESTORED TICK MUST MATCH THE ORIGINAL RUN. RESTORES GO
+//INTO THE WORLD THAT RECORDED THE HISTORY, LIKE THE REWIND KEY, SO STATE LEFT ON ITS POOLED
+//SHIPS AND LASERS BY EARLIER KILLS WOULD SHOW UP AS A MISMATCH. RUNS THE DEFAULT GAME, WHICH
+//MUST KEEP ALL THE SECONDS ASKED FOR, AND THE LOADED WORLD, WHICH MAY BE LIMITED BY THE ARENA,
+//BOTH WITH THE ARENA SIZE OF GameScreen BY DEFAULT; THEN AN ARENA SMALLER THAN ONE SNAPSHOT,
+//WHICH MUST SKIP TICKS RATHER THAN THROW. ALSO REPORTS THE MEMORY COST PER SECOND OF HISTORY
+//AND THE RECORD AND RESTORE TIMES.
+//USAGE: RewindCheck [--seed S] [--ticks N] [--seconds S] [--keyframe-interval K] [--arena-kb KB]
+
+public class RewindCheck {
+	public static void main (String[] arg) {
+		long seed = 1;
+		int ticks = 60 * 60 * 3;
+		float seconds = 30;
+		int keyframeInterval = 30;
+		int arenaKilobytes = 1024; //GameScreen.REWIND_ARENA_BYTES
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--ticks": ticks = Integer.parseInt(arg[++i]); break;
+				case "--seconds": seconds = Float.parseFloat(arg[++i]); break;
+				case "--keyframe-interval": keyframeInterval = Integer.parseInt(arg[++i]); break;
+				case "--arena-kb": arenaKilobytes = Integer.parseInt(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		check("default game", new GameConfig(), seed, ticks, new RewindBuffer(seconds, keyframeInterval, arenaKilobytes * 1024), seconds);
+		check("loaded world", LoadedConfig.create(), seed, ticks, new RewindBuffer(seconds, keyframeInterval, arenaKilobytes * 1024), 0);
+
+		//AN ARENA TOO SMALL FOR ANY SNAPSHOT HOLDS NOTHING
+
+		GameWorld world = new GameWorld(seed, null, null);
+		RewindBuffer tooSmall = new RewindBuffer(seconds, keyframeInterval, 64);
+		for (int t = 0; t < 600; t++) {
+			world.update(new GameInput());
+			tooSmall.record(world);
+		}
+		System.out.println("64 byte arena: " + tooSmall.report());
+		if (tooSmall.getSkippedTicks() != 600 || tooSmall.getNewestTick() != -1) {
+			System.err.println("FAIL: a 64 byte arena held a tick or did not count the ticks it skipped");
+			System.exit(1);
+		}
+
+		System.out.println("PASS");
+	}
+
+	//RECORDS ticks TICKS OF ONE WORLD AND CHECKS EVERY TICK HELD. minSeconds: HISTORY THE BUFFER
+	//MUST STILL HOLD AT THE END
+
+	private static void check (String label, GameConfig config, long seed, int ticks, RewindBuffer rewindBuffer, float minSeconds) {
+		GameWorld world = new GameWorld(seed, config, null, null);
+		Pilot pilot = new AutoPilot();
+		GameInput input = new GameInput();
+		long[] hashes = new long[ticks + 1];
+
+		hashes[0] = world.stateHash();
+		rewindBuffer.record(world);
+
+		long recordNanos = 0;
+		for (int t = 1; t <= ticks; t++) {
+			pilot.fly(world, input);
+			world.update(input);
+			hashes[t] = world.stateHash();
+
+			long start = System.nanoTime();
+			rewindBuffer.record(world);
+			recordNanos += System.nanoTime() - start;
+		}
+
+		System.out.println(label + ": " + rewindBuffer.report());
+
+		long oldest = rewindBuffer.getOldestTick();
+		long newest = rewindBuffer.getNewestTick();
+		if (newest != ticks) {
+			System.err.println("FAIL: newest tick held is " + newest + ", expected " + ticks);
+			System.exit(1);
+		}
+
+		if (rewindBuffer.getSecondsHeld() < minSeconds) {
+			System.err.println("FAIL: " + rewindBuffer.getSecondsHeld() + " s held, expected " + minSeconds);
+			System.exit(1);
+		}
+
+		if (world.getEnemiesDestroyed() == 0) {
+			System.err.println("FAIL: no enemy was destroyed, the pooled ships were never reused");
+			System.exit(1);
+		}
+
+		//WALK BACKWARDS THROUGH THE WHOLE HISTORY, LIKE HOLDING THE REWIND KEY
+
+		GameWorld restored = world;
+		long restoreNanos = 0;
+		for (long t = newest; t >= oldest; t--) {
+			long start = System.nanoTime();
+			boolean held = rewindBuffer.restore(restored, t);
+			restoreNanos += System.nanoTime() - start;
+
+			if (!held || restored.stateHash() != hashes[(int) t]) {
+				System.err.println("FAIL: tick " + t + (held ? " restored to a different state" : " is not held"));
+				System.exit(1);
+			}
+		}
+
+		//CONTINUE FROM THE OLDEST TICK; THE RUN MUST REPEAT ITSELF
+
+		for (long t = oldest + 1; t <= ticks; t++) {
+			pilot.fly(restored, input);
+			restored.update(input);
+			rewindBuffer.record(restored);
+
+			if (restored.stateHash() != hashes[(int) t]) {
+				System.err.println("FAIL: rewound world diverged at tick " + t);
+				System.exit(1);
+			}
+		}
+
+		long restores = newest - oldest + 1;
+		System.out.printf(Locale.ROOT, "record %.1f us per tick, restore %.1f us per tick%n",
+				recordNanos / 1e3 / ticks, restoreNanos / 1e3 / restores);
+		System.out.println(restores + " ticks restored exactly and replayed from tick " + oldest);
+	}
+}
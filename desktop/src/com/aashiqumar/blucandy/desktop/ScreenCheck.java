@@ -0,0 +1,231 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.BCapp;
+import com.aashiqumar.blucandy.ReplayPlayer;
+import com.aashiqumar.blucandy.ResourceRegistry;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+
+//RUNS THE REAL GAME SCREEN ON THE HEADLESS BACKEND WITH A STUB GL, THROUGH THE SAME EXIT AS
+//THE DESKTOP AND ANDROID BACKENDS (pause, THEN dispose), AND FAILS IF:
+//  A RESOURCE THE SCREEN TOOK FROM THE REGISTRY (ATLAS, TEXTURES, BATCH, FONT, BACKGROUND
+//  SHADER) IS STILL ALIVE AFTER THE APP IS DISPOSED, OR ANY GL TEXTURE, BUFFER, SHADER OR
+//  PROGRAM IS, REGISTERED OR NOT
+//  A NORMAL EXIT LEAVES A WORLD SNAPSHOT BEHIND, OR ITS REPLAY IS NOT COMPLETE AND VERIFIED
+//  THE NEXT LAUNCH IS NOT A FRESH, RECORDED GAME
+//  A SESSION KILLED WHILE PAUSED (SNAPSHOT LEFT IN PLACE) IS NOT RESUMED ON THE NEXT LAUNCH
+//LOCAL FILES GO TO THE WORKING DIRECTORY, THE GRADLE TASK RUNS IN ITS OWN.
+//USAGE: ScreenCheck [--frames N]
+
+public class ScreenCheck {
+	//GameScreen.REPLAY_FILE AND GameScreen.SNAPSHOT_FILE
+	private static final File REPLAY_FILE = new File("last_session.replay");
+	private static final File SNAPSHOT_FILE = new File("world.snapshot");
+
+	private static boolean failed = false;
+
+	//GL OBJECTS CREATED AND NOT YET DELETED, BY KIND
+	private static final String[] GL_OBJECTS = {"Texture", "Buffer", "Framebuffer", "Renderbuffer", "Shader", "Program"};
+	private static final ObjectSet<String> liveGLObjects = new ObjectSet<>();
+	private static int nextGLName = 1;
+
+	public static void main (String[] arg) throws Exception {
+		int frames = 60;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--frames": frames = Integer.parseInt(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		REPLAY_FILE.delete();
+		SNAPSHOT_FILE.delete();
+
+		//NORMAL EXIT, TWICE: EACH LAUNCH IS A NEW GAME WITH ITS OWN RECORDING
+
+		run(frames, false);
+		expect(!SNAPSHOT_FILE.exists(), "the world snapshot survived a normal exit");
+		long firstSeed = checkReplay("first session");
+
+		run(frames, false);
+		expect(!SNAPSHOT_FILE.exists(), "the world snapshot survived a normal exit");
+		long secondSeed = checkReplay("second session");
+		expect(secondSeed != firstSeed, "the second launch did not start a new game");
+
+		//KILLED WHILE PAUSED: THE NEXT LAUNCH RESUMES THE WORLD AND DOES NOT RECORD
+
+		run(frames, true);
+		expect(SNAPSHOT_FILE.exists(), "no world snapshot after a session killed while paused");
+		long killedSeed = checkReplay("killed session");
+		long killedReplayLength = REPLAY_FILE.length();
+
+		run(frames, false);
+		expect(!SNAPSHOT_FILE.exists(), "the world snapshot survived the resumed session");
+		expect(REPLAY_FILE.length() == killedReplayLength && checkReplay("resumed session") == killedSeed,
+				"the resumed session started a new recording");
+
+		if (failed) System.exit(1);
+		System.out.println("PASS");
+	}
+
+	//ONE LAUNCH OF THE GAME FOR frames FRAMES. killed: THE SNAPSHOT WRITTEN BY pause IS PUT
+	//BACK AFTER dispose, AS IF THE PROCESS HAD BEEN KILLED WHILE PAUSED.
+
+	private static void run (final int frames, final boolean killed) throws Exception {
+		Gdx.gl = Gdx.gl20 = stubGL();
+
+		final BCapp app = new BCapp(false, false);
+		final CountDownLatch exited = new CountDownLatch(1);
+		final Throwable[] error = new Throwable[1];
+		final byte[][] snapshot = new byte[1][];
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = 1 / 60f;
+
+		new HeadlessApplication(new ApplicationListener() {
+			int frame = 0;
+
+			@Override
+			public void create () {
+				try {
+					app.create();
+				} catch (Throwable t) {
+					error[0] = t;
+					Gdx.app.exit();
+				}
+			}
+
+			@Override
+			public void render () {
+				if (error[0] != null) return;
+				try {
+					app.render();
+				} catch (Throwable t) {
+					error[0] = t;
+				}
+				if (++frame == frames || error[0] != null) Gdx.app.exit();
+			}
+
+			@Override
+			public void resize (int width, int height) {
+			}
+
+			@Override
+			public void pause () {
+				if (error[0] != null) return;
+				app.pause();
+				if (killed && SNAPSHOT_FILE.exists()) {
+					try {
+						snapshot[0] = Files.readAllBytes(SNAPSHOT_FILE.toPath());
+					} catch (IOException e) {
+						error[0] = e;
+					}
+				}
+			}
+
+			@Override
+			public void resume () {
+				app.resume();
+			}
+
+			@Override
+			public void dispose () {
+				try {
+					if (error[0] == null) {
+						app.dispose();
+						checkResources(app.getResources());
+						expect(liveGLObjects.size == 0, "GL objects left after dispose: " + liveGLObjects);
+					}
+					if (snapshot[0] != null) Files.write(SNAPSHOT_FILE.toPath(), snapshot[0]);
+				} catch (Throwable t) {
+					error[0] = t;
+				} finally {
+					exited.countDown();
+				}
+			}
+		}, config);
+
+		exited.await();
+		if (error[0] != null) throw new IllegalStateException("The game failed", error[0]);
+	}
+
+	private static void checkResources (ResourceRegistry resources) {
+		System.out.println(resources.created + " resources created, " + resources.disposed + " disposed");
+		expect(resources.created > 0, "the screen took no resources from the registry");
+		expect(resources.getLiveCount() == 0, "resources left after dispose:\n" + resources.report());
+	}
+
+	//THE RECORDING MUST BE COMPLETE AND REPLAY TO THE STATES RECORDED IN IT. RETURNS ITS SEED.
+
+	private static long checkReplay (String session) throws IOException {
+		if (!REPLAY_FILE.exists()) {
+			fail(session + ": no replay recorded");
+			return 0;
+		}
+		ReplayPlayer player = new ReplayPlayer(new FileInputStream(REPLAY_FILE));
+		long ticks = player.play().getTick();
+		System.out.println(session + ": replay of seed " + player.getSeed() + ", " + ticks + " ticks, "
+				+ player.getCheckedStates() + " recorded states matched");
+		expect(!player.isCutOff() && player.getCheckedStates() > 0, session + ": replay incomplete");
+		return player.getSeed();
+	}
+
+	//GL THAT ACCEPTS EVERYTHING: OBJECTS GET NEW NAMES AND ARE TRACKED UNTIL DELETED, SHADERS
+	//COMPILE AND LINK, THE REST IS 0
+
+	private static GL20 stubGL () {
+		liveGLObjects.clear();
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class}, new InvocationHandler() {
+			@Override
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				String name = method.getName();
+				if ((name.equals("glGetShaderiv") && (Integer) args[1] == GL20.GL_COMPILE_STATUS)
+						|| (name.equals("glGetProgramiv") && (Integer) args[1] == GL20.GL_LINK_STATUS)) {
+					((IntBuffer) args[2]).put(0, 1);
+				}
+
+				for (String kind : GL_OBJECTS) {
+					if (name.equals("glGen" + kind) || name.equals("glCreate" + kind)) {
+						int glName = nextGLName++;
+						liveGLObjects.add(kind + " " + glName);
+						return glName;
+					}
+					if (name.equals("glDelete" + kind)) {
+						if (!liveGLObjects.remove(kind + " " + args[0])) fail("deleted " + kind + " " + args[0] + " twice or never created");
+						return null;
+					}
+				}
+
+				Class<?> type = method.getReturnType();
+				if (type == int.class) return 0;
+				if (type == boolean.class) return false;
+				if (type == String.class) return "";
+				return null;
+			}
+		});
+	}
+
+	private static void expect (boolean condition, String message) {
+		if (!condition) fail(message);
+	}
+
+	private static void fail (String message) {
+		System.err.println("FAIL: " + message);
+		failed = true;
+	}
+}
@@ -0,0 +1,85 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.AutoPilot;
+import com.aashiqumar.blucandy.GameConfig;
+import com.aashiqumar.blucandy.GameInput;
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.Pilot;
+import com.aashiqumar.blucandy.WorldSnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+//ROUND-TRIP CHECK OF WorldSnapshot: A WORLD RESTORED FROM A SNAPSHOT MUST CONTINUE EXACTLY
+//LIKE THE UNINTERRUPTED RUN. ALSO REPORTS THE SNAPSHOT SIZE AND ENCODE/DECODE TIME.
+//USAGE: SnapshotCheck [--seed S] [--snapshot-tick N] [--ticks N]
+
+public class SnapshotCheck {
+	public static void main (String[] arg) {
+		long seed = 1;
+		int snapshotTick = 60 * 60 * 3;
+		int ticks = 60 * 60 * 6;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--snapshot-tick": snapshotTick = Integer.parseInt(arg[++i]); break;
+				case "--ticks": ticks = Integer.parseInt(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		GameConfig config = LoadedConfig.create();
+		GameWorld uninterrupted = new GameWorld(seed, config, null, null);
+		Pilot pilot = new AutoPilot();
+		GameInput input = new GameInput();
+
+		for (int t = 0; t < snapshotTick; t++) {
+			pilot.fly(uninterrupted, input);
+			uninterrupted.update(input);
+		}
+
+		//ENCODE A FEW TIMES TO GET PAST THE JIT, THEN TIME IT
+
+		ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+		long encodeNanos = Long.MAX_VALUE;
+		for (int i = 0; i < 1000; i++) {
+			buffer.clear();
+			long start = System.nanoTime();
+			if (!WorldSnapshot.write(uninterrupted, buffer)) {
+				System.err.println("FAIL: snapshot does not fit in " + buffer.capacity() + " bytes");
+				System.exit(1);
+			}
+			encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+		}
+		int bytes = buffer.position();
+		int estimate = WorldSnapshot.sizeOf(uninterrupted);
+		buffer.flip();
+
+		long start = System.nanoTime();
+		GameWorld restored = new GameWorld(WorldSnapshot.peekSeed(buffer), config, null, null);
+		WorldSnapshot.read(restored, buffer);
+		long decodeNanos = System.nanoTime() - start;
+
+		if (restored.stateHash() != uninterrupted.stateHash()) {
+			System.err.println("FAIL: restored world differs right after restore");
+			System.exit(1);
+		}
+
+		for (int t = snapshotTick; t < ticks; t++) {
+			pilot.fly(uninterrupted, input);
+			uninterrupted.update(input);
+			pilot.fly(restored, input);
+			restored.update(input);
+
+			if (restored.stateHash() != uninterrupted.stateHash()) {
+				System.err.println("FAIL: restored world diverged at tick " + t);
+				System.exit(1);
+			}
+		}
+
+		System.out.printf(Locale.ROOT, "snapshot at tick %d: %d bytes (size estimate %d), encoded in %.1f us, world created and restored in %.1f us%n",
+				snapshotTick, bytes, estimate, encodeNanos / 1e3, decodeNanos / 1e3);
+		System.out.println("PASS: identical for " + (ticks - snapshotTick) + " ticks after restore");
+	}
+}
@@ -0,0 +1,140 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.AutoPilot;
+import com.aashiqumar.blucandy.GameConfig;
+import com.aashiqumar.blucandy.GameEvents;
+import com.aashiqumar.blucandy.GameInput;
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.Pilot;
+import com.aashiqumar.blucandy.TickBudget;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+
+//RUNS THE GAME HEADLESS UNDER THE AUTOPILOT FOR A LONG SIMULATED SESSION AND FAILS
+//(EXIT CODE 1) IF ENTITY COUNTS, HEAP AFTER GC OR TICK TIME PERCENTILES DRIFT. THE WORLD IS
+//LoadedConfig'S, AT THE ENTITY BUDGETS; --spawn-interval CHANGES ITS SPAWN RATE AND
+//--tick-budget-us TURNS ON THE SPAWN BACK-PRESSURE.
+//USAGE: SoakTest [--hours H] [--seed S] [--max-enemies N] [--max-lasers N]
+//                [--max-heap-growth-mb MB] [--max-p99-growth RATIO]
+//                [--spawn-interval S] [--tick-budget-us US]
+
+public class SoakTest {
+	private static final float WINDOW_SECONDS = 60;
+
+	public static void main (String[] arg) {
+		float hours = 2;
+		long seed = 1;
+		int maxEnemies = 50;
+		int maxLasers = 500;
+		float maxHeapGrowthMb = 8;
+		float maxP99Growth = 2f;
+		GameConfig config = LoadedConfig.create();
+		float tickBudgetMicros = 0;
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--hours": hours = Float.parseFloat(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--max-enemies": maxEnemies = Integer.parseInt(arg[++i]); break;
+				case "--max-lasers": maxLasers = Integer.parseInt(arg[++i]); break;
+				case "--max-heap-growth-mb": maxHeapGrowthMb = Float.parseFloat(arg[++i]); break;
+				case "--max-p99-growth": maxP99Growth = Float.parseFloat(arg[++i]); break;
+				case "--spawn-interval": config.timeBetweenEnemySpawns = Float.parseFloat(arg[++i]); break;
+				case "--tick-budget-us": tickBudgetMicros = Float.parseFloat(arg[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		GameWorld world = new GameWorld(seed, config, null, null);
+		TickBudget tickBudget = tickBudgetMicros > 0 ? new TickBudget(tickBudgetMicros / 1e6f) : null;
+		Pilot pilot = new AutoPilot();
+		GameInput input = new GameInput();
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+		//TELEMETRY: EVENTS BY TYPE, FROM THE WORLD'S EVENT BUS
+		final long[] eventCounts = new long[4];
+		world.getEvents().subscribe(new GameEvents.Listener() {
+			@Override
+			public void onEvent (GameEvents events, int event) {
+				eventCounts[Integer.numberOfTrailingZeros(events.getType(event))]++;
+			}
+		}, GameEvents.ALL);
+
+		int ticksPerWindow = (int) (WINDOW_SECONDS / GameWorld.TICK_DURATION);
+		//AT LEAST ONE WINDOW COMPARED AGAINST THE BASELINE, SEE BELOW
+		int windows = Math.max(3, (int) (hours * 3600 / WINDOW_SECONDS));
+		long[] tickNanos = new long[ticksPerWindow];
+
+		long baselineHeap = 0, baselineP99 = 0;
+		boolean failed = false;
+
+		System.out.println("window,simMinutes,enemies,lasers,explosions,heapAfterGcKb,p50us,p99us,maxus,score");
+
+		for (int window = 0; window < windows; window++) {
+			for (int t = 0; t < ticksPerWindow; t++) {
+				long start = System.nanoTime();
+				pilot.fly(world, input);
+				input.holdSpawns = tickBudget != null && tickBudget.isHolding();
+				world.update(input);
+				tickNanos[t] = System.nanoTime() - start;
+				if (tickBudget != null) tickBudget.update(tickNanos[t] / 1e9f);
+			}
+
+			System.gc();
+			long heap = memory.getHeapMemoryUsage().getUsed();
+
+			Arrays.sort(tickNanos);
+			long p50 = tickNanos[ticksPerWindow / 2];
+			long p99 = tickNanos[(int) (ticksPerWindow * 0.99f)];
+			long max = tickNanos[ticksPerWindow - 1];
+
+			System.out.printf(Locale.ROOT, "%d,%.0f,%d,%d,%d,%d,%.1f,%.1f,%.1f,%d%n",
+					window, world.getTick() * GameWorld.TICK_DURATION / 60,
+					world.getEnemyCount(), world.getLaserCount(), world.getExplosionCount(),
+					heap / 1024, p50 / 1e3, p99 / 1e3, max / 1e3, world.getScore());
+
+			//WINDOW 0 IS WARMUP (JIT, LISTS GROWING TO THEIR WORKING SIZE) AND IS NOT CHECKED FOR DRIFT.
+			//WINDOW 1 IS THE BASELINE, EVERY LATER WINDOW IS COMPARED TO IT.
+
+			if (window == 1) {
+				baselineHeap = heap;
+				baselineP99 = p99;
+			}
+
+			if (world.getEnemyCount() > maxEnemies) {
+				System.err.println("FAIL: " + world.getEnemyCount() + " enemies alive, limit " + maxEnemies);
+				failed = true;
+			}
+			if (world.getLaserCount() > maxLasers) {
+				System.err.println("FAIL: " + world.getLaserCount() + " lasers alive, limit " + maxLasers);
+				failed = true;
+			}
+			if (window > 1 && heap - baselineHeap > maxHeapGrowthMb * 1024 * 1024) {
+				System.err.printf(Locale.ROOT, "FAIL: heap after GC grew %.1f MB since warmup, limit %.1f MB%n",
+						(heap - baselineHeap) / 1048576f, maxHeapGrowthMb);
+				failed = true;
+			}
+			if (window > 1 && p99 > baselineP99 * maxP99Growth) {
+				System.err.printf(Locale.ROOT, "FAIL: p99 tick time %.1f us is over %.1fx the warmup p99 of %.1f us%n",
+						p99 / 1e3, maxP99Growth, baselineP99 / 1e3);
+				failed = true;
+			}
+
+			if (failed) System.exit(1);
+		}
+
+		long updates = world.getLodUpdates();
+		long skipped = world.getLodSkippedUpdates();
+		System.out.printf(Locale.ROOT, "level of detail: %d entity updates, %d skipped (%.1f%%)%n",
+				updates, skipped, 100.0 * skipped / Math.max(1, updates + skipped));
+		System.out.printf(Locale.ROOT, "events: %d hit, %d destroyed, %d fired, %d spawned (%d early drains)%n",
+				eventCounts[0], eventCounts[1], eventCounts[2], eventCounts[3], world.getEvents().earlyDrains);
+		System.out.printf(Locale.ROOT, "budgets: peak %d enemies, peak %d lasers, %d spawns and %d enemy shots dropped%s%n",
+				world.getPeakEnemies(), world.getPeakLasers(), world.getDroppedSpawns(), world.getDroppedShots(),
+				tickBudget == null ? "" : String.format(Locale.ROOT, ", spawns held on %d ticks", tickBudget.heldTicks));
+		System.out.println("PASS");
+	}
+}
@@ -0,0 +1,127 @@
+package com.aashiqumar.blucandy.desktop;
+
+import com.aashiqumar.blucandy.GameWorld;
+import com.aashiqumar.blucandy.KdTree;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Locale;
+
+//COST OF THE KdTree USED FOR MISSILE TARGETING AS THE NUMBER OF ENEMIES GROWS: BUILD TIME,
+//NEAREST, 8-NEAREST AND RADIUS QUERIES, AGAINST A LINEAR SCAN FOR THE NEAREST. POINTS ARE
+//SPREAD OVER A SQUARE WHOSE AREA GROWS WITH THEIR NUMBER, SO THE DENSITY STAYS THAT OF A
+//FULL SCREEN OF ENEMIES. ALSO CHECKS EVERY NEAREST ANSWER AGAINST THE LINEAR SCAN.
+//USAGE: SpatialIndexBenchmark [--queries N] [--seed S] [--counts 100,1000,...]
+
+public class SpatialIndexBenchmark {
+	public static void main (String[] arg) {
+		int queries = 20000;
+		long seed = 1;
+		String counts = "100,1000,10000,100000";
+
+		for (int i = 0; i < arg.length; i++) {
+			switch (arg[i]) {
+				case "--queries": queries = Integer.parseInt(arg[++i]); break;
+				case "--seed": seed = Long.parseLong(arg[++i]); break;
+				case "--counts": counts = arg[++i]; break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg[i]);
+			}
+		}
+
+		System.out.println("enemies,buildUs,nearestNs,nearest8Ns,radiusNs,linearNearestNs");
+
+		for (String count : counts.split(",")) {
+			int n = Integer.parseInt(count.trim());
+			RandomXS128 random = new RandomXS128(seed);
+
+			//ABOUT 40 ENEMIES PER SCREEN, LIKE A BUSY GAME
+
+			float side = (float) Math.sqrt(n / 40f * GameWorld.WORLD_WIDTH * GameWorld.WORLD_HEIGHT);
+			float[] xs = new float[n], ys = new float[n];
+			Integer[] items = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				xs[i] = random.nextFloat() * side;
+				ys[i] = random.nextFloat() * side;
+				items[i] = i;
+			}
+
+			KdTree<Integer> tree = new KdTree<>(n);
+			float[] queryXs = new float[queries], queryYs = new float[queries];
+			for (int q = 0; q < queries; q++) {
+				queryXs[q] = random.nextFloat() * side;
+				queryYs[q] = random.nextFloat() * side;
+			}
+
+			//RUN EVERYTHING TWICE, THE FIRST ROUND WARMS UP THE JIT
+
+			long buildNanos = 0, nearestNanos = 0, nearest8Nanos = 0, radiusNanos = 0, linearNanos = 0;
+			long sink = 0;
+			Array<Integer> out = new Array<>(false, 64);
+
+			for (int round = 0; round < 2; round++) {
+				long start = System.nanoTime();
+				tree.clear();
+				for (int i = 0; i < n; i++) tree.add(items[i], xs[i], ys[i]);
+				tree.build();
+				buildNanos = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int q = 0; q < queries; q++) {
+					Integer nearest = tree.nearest(queryXs[q], queryYs[q], Float.MAX_VALUE / 2, null);
+					sink += nearest;
+				}
+				nearestNanos = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int q = 0; q < queries; q++) {
+					out.clear();
+					sink += tree.nearest(queryXs[q], queryYs[q], 8, out);
+				}
+				nearest8Nanos = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int q = 0; q < queries; q++) {
+					out.clear();
+					sink += tree.within(queryXs[q], queryYs[q], 10, out);
+				}
+				radiusNanos = System.nanoTime() - start;
+
+				int linearQueries = Math.max(1, queries / Math.max(1, n / 1000));
+				start = System.nanoTime();
+				for (int q = 0; q < linearQueries; q++) {
+					int nearest = linearNearest(xs, ys, queryXs[q], queryYs[q]);
+					if (round == 1 && !sameDistance(xs, ys, queryXs[q], queryYs[q], nearest, tree.nearest(queryXs[q], queryYs[q], Float.MAX_VALUE / 2, null))) {
+						System.err.println("FAIL: nearest query disagrees with a linear scan at " + n + " enemies");
+						System.exit(1);
+					}
+					sink += nearest;
+				}
+				linearNanos = (System.nanoTime() - start) * queries / linearQueries;
+			}
+
+			System.out.printf(Locale.ROOT, "%d,%.1f,%.0f,%.0f,%.0f,%.0f%n", n, buildNanos / 1e3,
+					(double) nearestNanos / queries, (double) nearest8Nanos / queries,
+					(double) radiusNanos / queries, (double) linearNanos / queries);
+			if (sink == 42) System.out.print("");
+		}
+	}
+
+	private static int linearNearest (float[] xs, float[] ys, float x, float y) {
+		int best = -1;
+		float bestDistance = Float.MAX_VALUE;
+		for (int i = 0; i < xs.length; i++) {
+			float dx = xs[i] - x, dy = ys[i] - y;
+			float distance = dx * dx + dy * dy;
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private static boolean sameDistance (float[] xs, float[] ys, float x, float y, int a, int b) {
+		float dax = xs[a] - x, day = ys[a] - y, dbx = xs[b] - x, dby = ys[b] - y;
+		return dax * dax + day * day == dbx * dbx + dby * dby;
+	}
+}